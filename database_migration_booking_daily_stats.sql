@@ -0,0 +1,83 @@
+-- =====================================================
+-- Database Migration for Booking Daily Stats
+-- =====================================================
+-- `booking_daily_stats` keeps one row per (court_id, stat_date, status) with the number
+-- of bookings, their revenue and booked minutes. Booking writes append their changes to
+-- `booking_stat_deltas` in the same transaction, and the application folds those into the
+-- rollup in batches. The owner/admin/statistics dashboards read from it instead of scanning `bookings`.
+-- The application also backfills an empty table at startup; this script does it up front.
+-- Run this script on your booking-service database
+
+USE `booking-service`;
+
+-- 1. Create booking_daily_stats table
+CREATE TABLE IF NOT EXISTS `booking_daily_stats` (
+    `id` BIGINT NOT NULL AUTO_INCREMENT,
+    `court_id` BIGINT NOT NULL,
+    `stat_date` DATE NOT NULL COMMENT 'Ngày đặt sân (booking_date)',
+    `status` VARCHAR(255) NOT NULL,
+    `booking_count` BIGINT NOT NULL DEFAULT 0,
+    `revenue` DOUBLE NOT NULL DEFAULT 0,
+    `booked_minutes` BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uk_daily_stats_court_date_status` (`court_id`, `stat_date`, `status`),
+    KEY `idx_daily_stats_date` (`stat_date`)
+);
+
+-- 2. Create booking_stat_deltas table (pending changes not yet folded into the rollup)
+CREATE TABLE IF NOT EXISTS `booking_stat_deltas` (
+    `id` BIGINT NOT NULL AUTO_INCREMENT,
+    `court_id` BIGINT NOT NULL,
+    `stat_date` DATE NOT NULL,
+    `status` VARCHAR(255) NOT NULL,
+    `booking_count` BIGINT NOT NULL,
+    `revenue` DOUBLE NOT NULL,
+    `booked_minutes` BIGINT NOT NULL,
+    PRIMARY KEY (`id`),
+    KEY `idx_stat_deltas_date` (`stat_date`)
+);
+
+-- 3. Backfill from existing bookings
+-- An end_time of 00:00 means midnight
+-- pending deltas are already reflected in `bookings`, so they go too
+DELETE FROM `booking_stat_deltas`;
+DELETE FROM `booking_daily_stats`;
+
+INSERT INTO `booking_daily_stats`
+    (`court_id`, `stat_date`, `status`, `booking_count`, `revenue`, `booked_minutes`)
+SELECT b.`court_id`, b.`booking_date`, b.`status`, COUNT(*), COALESCE(SUM(b.`price`), 0),
+       COALESCE(SUM((CASE WHEN b.`end_time` = '00:00:00' THEN 86400 ELSE TIME_TO_SEC(b.`end_time`) END
+                     - TIME_TO_SEC(b.`start_time`)) DIV 60), 0)
+FROM `bookings` b
+WHERE b.`court_id` IS NOT NULL
+  AND b.`booking_date` IS NOT NULL
+  AND b.`status` IS NOT NULL
+GROUP BY b.`court_id`, b.`booking_date`, b.`status`;
+
+-- =====================================================
+-- Verification Queries
+-- =====================================================
+-- Run these to verify the migration was successful:
+
+-- Check booking_daily_stats table structure
+DESCRIBE `booking_daily_stats`;
+
+-- Days whose rollup disagrees with the bookings table (should return no rows)
+SELECT b.`booking_date`, b.`status`, COUNT(*) AS `bookings`, s.`booking_count`
+FROM `bookings` b
+LEFT JOIN (
+    SELECT `stat_date`, `status`, SUM(`booking_count`) AS `booking_count`
+    FROM `booking_daily_stats`
+    GROUP BY `stat_date`, `status`
+) s ON s.`stat_date` = b.`booking_date` AND s.`status` = b.`status`
+WHERE b.`court_id` IS NOT NULL
+GROUP BY b.`booking_date`, b.`status`, s.`booking_count`
+HAVING COUNT(*) <> COALESCE(s.`booking_count`, 0);
+
+-- =====================================================
+-- Rollback Script (if needed)
+-- =====================================================
+-- Uncomment and run if you need to rollback the migration:
+
+-- DROP TABLE `booking_stat_deltas`;
+-- DROP TABLE `booking_daily_stats`;
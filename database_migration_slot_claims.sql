@@ -0,0 +1,70 @@
+-- =====================================================
+-- Database Migration for Booking Slot Claims
+-- =====================================================
+-- Every active booking claims its discrete 30-minute slots in `booking_slot_claims`.
+-- The unique key (court_id, booking_date, slot_index) replaces the PESSIMISTIC_WRITE
+-- range lock in createBooking: a double booking now fails as a duplicate key.
+-- Run this script on your booking-service database (MySQL 8+, uses WITH RECURSIVE)
+
+USE `booking-service`;
+
+-- 1. Create booking_slot_claims table
+CREATE TABLE IF NOT EXISTS `booking_slot_claims` (
+    `id` BIGINT NOT NULL AUTO_INCREMENT,
+    `booking_id` BIGINT NOT NULL COMMENT 'Booking đang giữ slot',
+    `court_id` BIGINT NOT NULL,
+    `booking_date` DATE NOT NULL,
+    `slot_index` INT NOT NULL COMMENT 'Chỉ số slot 30 phút trong ngày (0 = 00:00-00:30, 47 = 23:30-24:00)',
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uk_slot_claim_court_date_slot` (`court_id`, `booking_date`, `slot_index`),
+    KEY `idx_slot_claim_booking` (`booking_id`),
+    CONSTRAINT `fk_slot_claim_booking` FOREIGN KEY (`booking_id`) REFERENCES `bookings` (`id`) ON DELETE CASCADE
+);
+
+-- 2. Backfill claims from existing active bookings
+-- A booking claims every slot it touches: [floor(start / 30min), ceil(end / 30min))
+-- An end_time of 00:00 means midnight
+INSERT IGNORE INTO `booking_slot_claims` (`booking_id`, `court_id`, `booking_date`, `slot_index`)
+WITH RECURSIVE `slots` (`n`) AS (
+    SELECT 0
+    UNION ALL
+    SELECT `n` + 1 FROM `slots` WHERE `n` < 47
+)
+SELECT b.`id`, b.`court_id`, b.`booking_date`, s.`n`
+FROM `bookings` b
+JOIN `slots` s
+  ON s.`n` >= FLOOR(TIME_TO_SEC(b.`start_time`) / 1800)
+ AND s.`n` < CASE WHEN b.`end_time` = '00:00:00' THEN 48
+                  ELSE CEIL(TIME_TO_SEC(b.`end_time`) / 1800) END
+WHERE b.`status` != 'CANCELLED'
+  AND b.`court_id` IS NOT NULL
+  AND b.`booking_date` IS NOT NULL
+  AND b.`start_time` IS NOT NULL
+  AND b.`end_time` IS NOT NULL
+ORDER BY b.`court_id`, b.`booking_date`, s.`n`, b.`created_at`;
+
+-- =====================================================
+-- Verification Queries
+-- =====================================================
+-- Run these to verify the migration was successful:
+
+-- Check booking_slot_claims table structure
+DESCRIBE `booking_slot_claims`;
+
+-- Active bookings that could not claim all of their slots
+-- (they already overlapped another booking before this migration)
+SELECT b.`id`, b.`court_id`, b.`booking_date`, b.`start_time`, b.`end_time`
+FROM `bookings` b
+LEFT JOIN `booking_slot_claims` c ON c.`booking_id` = b.`id`
+WHERE b.`status` != 'CANCELLED'
+GROUP BY b.`id`, b.`court_id`, b.`booking_date`, b.`start_time`, b.`end_time`
+HAVING COUNT(c.`id`) < CEIL(TIME_TO_SEC(TIMEDIFF(
+        CASE WHEN b.`end_time` = '00:00:00' THEN '24:00:00' ELSE b.`end_time` END,
+        b.`start_time`)) / 1800);
+
+-- =====================================================
+-- Rollback Script (if needed)
+-- =====================================================
+-- Uncomment and run if you need to rollback the migration:
+
+-- DROP TABLE `booking_slot_claims`;
@@ -11,7 +11,8 @@ import org.springframework.scheduling.annotation.Scheduled;
 
 /**
  * Scheduled job to automatically clean up expired bookings
- * Runs every 1 minute to delete bookings with:
+ * Holds are normally released on time by PaymentHoldExpiryService;
+ * this sweep runs every 5 minutes as a safety net and deletes bookings with:
  * - status = 'PAYING'
  * - created_at < (current time - 5 minutes)
  * 
@@ -33,12 +34,12 @@ public class BookingCleanupScheduler {
     BookingService bookingService;
 
     /**
-     * Scheduled task that runs every 1 minute (60000ms)
+     * Scheduled task that runs every 5 minutes (300000ms)
      * Deletes all bookings that:
      * 1. Have status = 'PAYING'
      * 2. Were created more than 5 minutes ago
      */
-    @Scheduled(fixedRate = 60000) // Run every 1 minute
+    @Scheduled(fixedRate = 300000) // Run every 5 minutes
     public void cleanupExpiredBookings() {
         try {
             log.debug("Running scheduled cleanup of expired bookings...");
@@ -0,0 +1,59 @@
+package com.example.booking_service.configuration;
+
+import com.example.booking_service.service.bulkhead.BulkheadRegistry;
+import com.example.booking_service.service.bulkhead.Workload;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Workload bulkheads: per-workload concurrency limits (BulkheadFilter) and,
+ * unless booking.bulkheads.partition-pools is false, one Hikari pool per workload.
+ * Request handlers run on virtual threads (spring.threads.virtual.enabled), so the
+ * limits here, not the Tomcat thread count, decide how much work runs at once.
+ */
+@Configuration
+@EnableConfigurationProperties(BulkheadProperties.class)
+@Slf4j
+public class BulkheadConfig {
+
+    @Bean
+    public FilterRegistrationBean<BulkheadFilter> bulkheadFilter(BulkheadRegistry bulkheadRegistry,
+                                                                 ObjectMapper objectMapper) {
+        FilterRegistrationBean<BulkheadFilter> registration =
+                new FilterRegistrationBean<>(new BulkheadFilter(bulkheadRegistry, objectMapper));
+        // after Spring Security, so unauthenticated requests never take a slot
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "booking.bulkheads", name = "partition-pools", matchIfMissing = true)
+    public DataSource dataSource(DataSourceProperties dataSourceProperties, BulkheadProperties properties) {
+        Map<Workload, HikariDataSource> pools = new EnumMap<>(Workload.class);
+        for (Workload workload : Workload.values()) {
+            BulkheadProperties.Partition partition = properties.getPartitions()
+                    .getOrDefault(workload.getKey(), new BulkheadProperties.Partition());
+            HikariDataSource pool = dataSourceProperties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .build();
+            pool.setPoolName("pool-" + workload.getKey());
+            pool.setMaximumPoolSize(partition.getPoolSize());
+            pool.setMinimumIdle(Math.min(2, partition.getPoolSize()));
+            pools.put(workload, pool);
+            log.info("Connection pool {} sized {}", pool.getPoolName(), partition.getPoolSize());
+        }
+        return new WorkloadRoutingDataSource(pools);
+    }
+}
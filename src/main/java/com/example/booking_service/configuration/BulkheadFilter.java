@@ -0,0 +1,82 @@
+package com.example.booking_service.configuration;
+
+import com.example.booking_service.dto.request.ApiResponse;
+import com.example.booking_service.exception.ErrorCode;
+import com.example.booking_service.service.bulkhead.Bulkhead;
+import com.example.booking_service.service.bulkhead.BulkheadRegistry;
+import com.example.booking_service.service.bulkhead.Workload;
+import com.example.booking_service.service.bulkhead.WorkloadContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Classifies each request into a workload, binds it to the thread for the routing DataSource
+ * and admits it through the workload's bulkhead. Rejected requests get 503.
+ */
+@Slf4j
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    private final BulkheadRegistry bulkheadRegistry;
+    private final ObjectMapper objectMapper;
+
+    public BulkheadFilter(BulkheadRegistry bulkheadRegistry, ObjectMapper objectMapper) {
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Workload workload = Workload.classify(request.getMethod(), request.getServletPath());
+        Bulkhead bulkhead = bulkheadRegistry.get(workload);
+
+        WorkloadContext.set(workload);
+        try {
+            if (bulkhead == null) {
+                chain.doFilter(request, response);
+                return;
+            }
+
+            boolean admitted;
+            try {
+                admitted = bulkhead.tryAcquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                admitted = false;
+            }
+            if (!admitted) {
+                log.warn("Bulkhead {} rejected {} {}", workload.getKey(), request.getMethod(), request.getServletPath());
+                reject(response);
+                return;
+            }
+
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                bulkhead.release();
+            }
+        } finally {
+            WorkloadContext.clear();
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        ErrorCode errorCode = ErrorCode.SERVER_BUSY;
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.getWriter().write(objectMapper.writeValueAsString(ApiResponse.builder()
+                .code(errorCode.getCode())
+                .message(errorCode.getMessage())
+                .build()));
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.booking_service.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "booking.bulkheads")
+public class BulkheadProperties {
+
+    /**
+     * Give each workload its own connection pool (routing DataSource).
+     */
+    private boolean partitionPools = true;
+
+    /**
+     * Limits per workload key: booking-write, catalog-read, dashboard, chatbot and default.
+     */
+    private Map<String, Partition> partitions = new LinkedHashMap<>();
+
+    public boolean isPartitionPools() {
+        return partitionPools;
+    }
+
+    public void setPartitionPools(boolean partitionPools) {
+        this.partitionPools = partitionPools;
+    }
+
+    public Map<String, Partition> getPartitions() {
+        return partitions;
+    }
+
+    public void setPartitions(Map<String, Partition> partitions) {
+        this.partitions = partitions;
+    }
+
+    public static class Partition {
+
+        /**
+         * Requests of the workload served at the same time.
+         */
+        private int maxConcurrent = 100;
+
+        /**
+         * How long a request over the limit may wait for a slot before it is rejected.
+         */
+        private long maxWaitMs = 0;
+
+        /**
+         * Maximum connections in the workload's pool.
+         */
+        private int poolSize = 5;
+
+        public int getMaxConcurrent() {
+            return maxConcurrent;
+        }
+
+        public void setMaxConcurrent(int maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+
+        public long getMaxWaitMs() {
+            return maxWaitMs;
+        }
+
+        public void setMaxWaitMs(long maxWaitMs) {
+            this.maxWaitMs = maxWaitMs;
+        }
+
+        public int getPoolSize() {
+            return poolSize;
+        }
+
+        public void setPoolSize(int poolSize) {
+            this.poolSize = poolSize;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.booking_service.configuration;
+
+import com.example.booking_service.dto.response.AdminDashboardResponse;
+import com.example.booking_service.service.bulkhead.Workload;
+import com.example.booking_service.service.bulkhead.WorkloadExecutor;
+import com.example.booking_service.util.SnapshotCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Snapshot caches for dashboards that many admins keep open with auto-refresh
+ */
+@Configuration
+public class DashboardSnapshotConfig {
+
+    /**
+     * Admin dashboard overviews keyed by (startDate, endDate, period), refreshed on the dashboard pool
+     */
+    @Bean
+    public SnapshotCache<List<Object>, AdminDashboardResponse> adminDashboardSnapshots(
+            WorkloadExecutor workloadExecutor,
+            @Value("${booking.dashboard-snapshots.refresh-after-ms:30000}") long refreshAfterMillis,
+            @Value("${booking.dashboard-snapshots.expire-after-ms:600000}") long expireAfterMillis,
+            @Value("${booking.dashboard-snapshots.max-entries:64}") int maxEntries) {
+        return new SnapshotCache<>("admin-dashboard",
+                Duration.ofMillis(refreshAfterMillis),
+                Duration.ofMillis(expireAfterMillis),
+                maxEntries,
+                workloadExecutor.forWorkload(Workload.DASHBOARD),
+                // a response with sections past their deadline is never served to other admins
+                response -> response.getPartialSections() == null || response.getPartialSections().isEmpty());
+    }
+}
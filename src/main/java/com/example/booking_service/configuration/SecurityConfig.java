@@ -37,7 +37,8 @@ public class SecurityConfig {
             "/courts/search",
             "/files/**",  // Allow public access to uploaded files (images)
             "/uploads/**",  // Allow public access to uploads folder (for payment QR codes, etc)
-            "/chatbot/**"
+            "/chatbot/**",
+            "/ws/**"  // STOMP endpoint for live availability updates
     };
 
     @Value("${jwt.signerKey}")
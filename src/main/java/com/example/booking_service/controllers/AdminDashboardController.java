@@ -9,6 +9,14 @@ import com.example.booking_service.exception.AppException;
 import com.example.booking_service.exception.ErrorCode;
 import com.example.booking_service.repository.UserRepository;
 import com.example.booking_service.service.AdminDashboardService;
+import com.example.booking_service.service.bulkhead.Bulkhead;
+import com.example.booking_service.service.bulkhead.BulkheadRegistry;
+import com.example.booking_service.service.expiry.PaymentHoldExpiryService;
+import com.example.booking_service.service.export.BookingExportService;
+import com.example.booking_service.service.stats.BookingColumnStore;
+import com.example.booking_service.service.stats.BookingDailyStatsService;
+import com.example.booking_service.util.RequestCoalescer;
+import com.example.booking_service.util.SnapshotCache;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
@@ -17,11 +25,14 @@ import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @RestController
@@ -32,6 +43,13 @@ public class AdminDashboardController {
 
     AdminDashboardService adminDashboardService;
     UserRepository userRepository;
+    BulkheadRegistry bulkheadRegistry;
+    BookingDailyStatsService bookingDailyStatsService;
+    BookingColumnStore bookingColumnStore;
+    BookingExportService bookingExportService;
+    PaymentHoldExpiryService paymentHoldExpiryService;
+    SnapshotCache<List<Object>, AdminDashboardResponse> adminDashboardSnapshots;
+    RequestCoalescer requestCoalescer;
 
     @GetMapping("/overview")
     public ApiResponse<AdminDashboardResponse> getDashboardOverview(
@@ -63,6 +81,105 @@ public class AdminDashboardController {
                 .build();
     }
 
+    /**
+     * Concurrency, queueing and rejection counters of the workload bulkheads
+     */
+    @GetMapping("/bulkheads")
+    public ApiResponse<List<Bulkhead.Snapshot>> getBulkheadStats() {
+        checkAdminRole();
+        return ApiResponse.<List<Bulkhead.Snapshot>>builder()
+                .result(bulkheadRegistry.snapshots())
+                .build();
+    }
+
+    /**
+     * Hit, stale-hit, miss and refresh counters of the overview snapshot cache
+     */
+    @GetMapping("/snapshots")
+    public ApiResponse<SnapshotCache.Stats> getSnapshotStats() {
+        checkAdminRole();
+        return ApiResponse.<SnapshotCache.Stats>builder()
+                .result(adminDashboardSnapshots.stats())
+                .build();
+    }
+
+    /**
+     * Calls, shared results and timeouts of each coalesced read since startup
+     */
+    @GetMapping("/coalescing")
+    public ApiResponse<Map<String, RequestCoalescer.Stats>> getCoalescingStats() {
+        checkAdminRole();
+        return ApiResponse.<Map<String, RequestCoalescer.Stats>>builder()
+                .result(requestCoalescer.stats())
+                .build();
+    }
+
+    /**
+     * Rebuild the daily booking rollup from the bookings table; without dates every booking date is rebuilt
+     */
+    @PostMapping("/stats/rebuild")
+    public ApiResponse<Integer> rebuildDailyStats(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        checkAdminRole();
+
+        int rows;
+        if (startDate == null && endDate == null) {
+            rows = bookingDailyStatsService.rebuildAll();
+        } else if (startDate == null || endDate == null || endDate.isBefore(startDate)) {
+            throw new AppException(ErrorCode.INVALID_STATUS);
+        } else {
+            rows = bookingDailyStatsService.rebuild(startDate, endDate);
+        }
+        return ApiResponse.<Integer>builder()
+                .result(rows)
+                .build();
+    }
+
+    /**
+     * Size and load state of the in-memory columnar booking store behind the statistics page
+     */
+    @GetMapping("/analytics-store")
+    public ApiResponse<BookingColumnStore.Stats> getAnalyticsStoreStats() {
+        checkAdminRole();
+        return ApiResponse.<BookingColumnStore.Stats>builder()
+                .result(bookingColumnStore.stats())
+                .build();
+    }
+
+    /**
+     * Reload the columnar booking store from the bookings table
+     */
+    @PostMapping("/analytics-store/reload")
+    public ApiResponse<Integer> reloadAnalyticsStore() {
+        checkAdminRole();
+        return ApiResponse.<Integer>builder()
+                .result(bookingColumnStore.reload())
+                .build();
+    }
+
+    /**
+     * Throughput and heap usage of booking exports since startup
+     */
+    @GetMapping("/exports")
+    public ApiResponse<BookingExportService.Stats> getExportStats() {
+        checkAdminRole();
+        return ApiResponse.<BookingExportService.Stats>builder()
+                .result(bookingExportService.stats())
+                .build();
+    }
+
+    /**
+     * Pending payment holds and how late expired ones were released
+     */
+    @GetMapping("/payment-holds")
+    public ApiResponse<PaymentHoldExpiryService.Stats> getPaymentHoldStats() {
+        checkAdminRole();
+        return ApiResponse.<PaymentHoldExpiryService.Stats>builder()
+                .result(paymentHoldExpiryService.stats())
+                .build();
+    }
+
     private void checkAdminRole() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
@@ -1,24 +1,43 @@
 package com.example.booking_service.controllers;
 
 import com.example.booking_service.dto.request.ApiResponse;
+import com.example.booking_service.dto.request.BookingQuoteRequest;
 import com.example.booking_service.dto.request.CreateBookingRequest;
 import com.example.booking_service.dto.request.UpdateBookingStatusRequest;
 import com.example.booking_service.dto.response.BookingByDateResponse;
+import com.example.booking_service.dto.response.BookingGridResponse;
 import com.example.booking_service.dto.response.BookingDetailResponse;
 import com.example.booking_service.dto.response.BookingListResponse;
+import com.example.booking_service.dto.response.BookingQuoteResponse;
 import com.example.booking_service.dto.response.CancelExpiredResponse;
+import com.example.booking_service.dto.response.CompactBookingCalendarResponse;
 import com.example.booking_service.dto.response.ConfirmPaymentResponse;
 import com.example.booking_service.dto.response.CreateBookingResponse;
 import com.example.booking_service.dto.response.PaymentInfoResponse;
 import com.example.booking_service.dto.response.UpdateBookingStatusResponse;
 import com.example.booking_service.dto.response.UserBookingHistoryResponse;
+import com.example.booking_service.enums.ExportFormat;
+import com.example.booking_service.exception.AppException;
+import com.example.booking_service.exception.ErrorCode;
 import com.example.booking_service.service.BookingService;
+import com.example.booking_service.service.availability.CalendarVersions;
+import com.example.booking_service.service.export.BookingExportService;
+import com.example.booking_service.service.idempotency.IdempotencyService;
+import com.example.booking_service.service.lanes.BookingWriteLanes;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -29,7 +48,13 @@ import java.util.List;
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class BookingController {
 
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     BookingService bookingService;
+    CalendarVersions calendarVersions;
+    IdempotencyService idempotencyService;
+    BookingWriteLanes bookingWriteLanes;
+    BookingExportService bookingExportService;
 
     @GetMapping
     public ApiResponse<BookingListResponse> getBookings(
@@ -50,6 +75,32 @@ public class BookingController {
                 .build();
     }
 
+    /**
+     * All bookings matching the list filters as one CSV or NDJSON download, streamed without paging.
+     * Admins may export any owner's bookings; an approved owner only ever gets their own.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate booking_date,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) Long owner_id,
+            @RequestParam(required = false) Long court_group_id,
+            HttpServletRequest request) {
+
+        ExportFormat exportFormat = ExportFormat.fromValue(format);
+        BookingExportService.Export body = bookingExportService.export(
+                exportFormat, status, booking_date, search, owner_id, court_group_id);
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(body, body.asyncInterceptor());
+
+        String filename = "bookings-" + LocalDate.now() + "." + exportFormat.getValue();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
     @GetMapping("/{bookingId}")
     public ApiResponse<BookingDetailResponse> getBookingById(@PathVariable Long bookingId) {
         BookingDetailResponse response = bookingService.getBookingById(bookingId);
@@ -81,22 +132,89 @@ public class BookingController {
     @GetMapping("/{courtGroupId}/data")
     public ApiResponse<BookingByDateResponse> getBookingDataByDate(
             @PathVariable Long courtGroupId,
-            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") String date) {
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") String date,
+            WebRequest webRequest) {
         LocalDate bookingDate = LocalDate.parse(date);
-        BookingByDateResponse response = bookingService.getBookingDataByDate(courtGroupId, bookingDate);
+        // 304 straight from the in-memory version stamp when nothing changed
+        String etag = calendarVersions.dayETag(courtGroupId, bookingDate, "full");
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        BookingByDateResponse response = bookingService.getBookingDataByDate(courtGroupId, bookingDate, etag);
         return ApiResponse.<BookingByDateResponse>builder()
                 .result(response)
                 .build();
     }
 
+    /**
+     * Compact bitmask form of the calendar, chosen with ?format=compact
+     * or Accept: application/vnd.booking.compact+json
+     */
+    @GetMapping(value = "/{courtGroupId}/data", params = "format=compact")
+    public ApiResponse<CompactBookingCalendarResponse> getCompactBookingDataByDate(
+            @PathVariable Long courtGroupId,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") String date,
+            WebRequest webRequest) {
+        LocalDate bookingDate = LocalDate.parse(date);
+        String etag = calendarVersions.dayETag(courtGroupId, bookingDate, "compact");
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        CompactBookingCalendarResponse response = bookingService.getCompactBookingDataByDate(courtGroupId, bookingDate, etag);
+        return ApiResponse.<CompactBookingCalendarResponse>builder()
+                .result(response)
+                .build();
+    }
+
+    @GetMapping(value = "/{courtGroupId}/data", produces = CompactBookingCalendarResponse.MEDIA_TYPE)
+    public ApiResponse<CompactBookingCalendarResponse> getCompactBookingDataByDateForMediaType(
+            @PathVariable Long courtGroupId,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") String date,
+            WebRequest webRequest) {
+        return getCompactBookingDataByDate(courtGroupId, date, webRequest);
+    }
+
+    /**
+     * Availability grid of a court group for [from, to] (at most 31 days)
+     * GET /api/bookings/{courtGroupId}/grid?from=yyyy-MM-dd&to=yyyy-MM-dd
+     */
+    @GetMapping("/{courtGroupId}/grid")
+    public ApiResponse<BookingGridResponse> getBookingGrid(
+            @PathVariable Long courtGroupId,
+            @RequestParam String from,
+            @RequestParam String to) {
+        BookingGridResponse response = bookingService.getBookingGrid(courtGroupId, LocalDate.parse(from), LocalDate.parse(to));
+        return ApiResponse.<BookingGridResponse>builder()
+                .result(response)
+                .build();
+    }
+
     @PostMapping("/confirmation")
-    public ApiResponse<CreateBookingResponse> createBooking(@RequestBody CreateBookingRequest request) {
-        CreateBookingResponse response = bookingService.createBooking(request);
+    public ApiResponse<CreateBookingResponse> createBooking(
+            @RequestBody CreateBookingRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        // A retry with the same Idempotency-Key gets the first response back instead of booking again
+        CreateBookingResponse response = idempotencyService.execute("create-booking", idempotencyKey, request,
+                () -> bookingWriteLanes.isEnabled()
+                        ? bookingWriteLanes.submit(request)
+                        : bookingService.createBooking(request));
         return ApiResponse.<CreateBookingResponse>builder()
                 .result(response)
                 .build();
     }
 
+    /**
+     * Price many (court, date, slots) combinations in one call
+     * POST /api/bookings/quote
+     */
+    @PostMapping("/quote")
+    public ApiResponse<BookingQuoteResponse> quoteBookings(@RequestBody BookingQuoteRequest request) {
+        BookingQuoteResponse response = bookingService.quoteBookings(request);
+        return ApiResponse.<BookingQuoteResponse>builder()
+                .result(response)
+                .build();
+    }
+
     @GetMapping("/user/{userId}")
     public ApiResponse<List<UserBookingHistoryResponse>> getUserBookings(@PathVariable Long userId) {
         List<UserBookingHistoryResponse> bookings = bookingService.getBookingsByUserId(userId);
@@ -132,8 +250,11 @@ public class BookingController {
     @PostMapping("/{bookingId}/confirm-payment")
     public ApiResponse<ConfirmPaymentResponse> confirmPayment(
             @PathVariable Long bookingId,
-            @RequestParam("payment_proof") MultipartFile paymentProof) {
-        ConfirmPaymentResponse response = bookingService.confirmPayment(bookingId, paymentProof);
+            @RequestParam("payment_proof") MultipartFile paymentProof,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        // A retried upload with the same Idempotency-Key does not store the proof again
+        ConfirmPaymentResponse response = idempotencyService.execute("confirm-payment", idempotencyKey, bookingId,
+                () -> bookingService.confirmPayment(bookingId, paymentProof));
         return ApiResponse.<ConfirmPaymentResponse>builder()
                 .result(response)
                 .build();
@@ -150,4 +271,4 @@ public class BookingController {
                 .result(response)
                 .build();
     }
-}
\ No newline at end of file
+}
@@ -7,10 +7,12 @@ import com.example.booking_service.dto.response.CourtGroupResponse;
 import com.example.booking_service.dto.response.CourtResponse;
 import com.example.booking_service.service.CourtGroupService;
 import com.example.booking_service.service.CourtService;
+import com.example.booking_service.service.availability.CalendarVersions;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -22,6 +24,7 @@ public class CourtController {
 
     CourtService courtService;
     CourtGroupService courtGroupService;
+    CalendarVersions calendarVersions;
 
     @GetMapping("/{id}")
     public ApiResponse<CourtResponse> getCourtById(@PathVariable Long id) {
@@ -31,7 +34,11 @@ public class CourtController {
     }
 
     @GetMapping("/court-group/{courtGroupId}")
-    public ApiResponse<List<CourtResponse>> getCourtsByCourtGroupId(@PathVariable Long courtGroupId) {
+    public ApiResponse<List<CourtResponse>> getCourtsByCourtGroupId(@PathVariable Long courtGroupId,
+                                                                    WebRequest webRequest) {
+        if (webRequest.checkNotModified(calendarVersions.groupETag(courtGroupId, "courts"))) {
+            return null;
+        }
         return ApiResponse.<List<CourtResponse>>builder()
                 .result(courtService.getCourtsByCourtGroupId(courtGroupId))
                 .build();
@@ -9,6 +9,7 @@ import com.example.booking_service.dto.response.CourtGroupDetailResponse;
 import com.example.booking_service.dto.response.CourtGroupListResponse;
 import com.example.booking_service.dto.response.CourtGroupResponse;
 import com.example.booking_service.dto.response.CourtPriceDTO;
+import com.example.booking_service.dto.response.FreeSlotSearchResult;
 import com.example.booking_service.dto.response.SoftDeleteCourtGroupResponse;
 import com.example.booking_service.entity.User;
 import com.example.booking_service.enums.Role;
@@ -18,6 +19,8 @@ import com.example.booking_service.repository.UserRepository;
 // import com.example.booking_service.service.CourtAvailabilityService;
 import com.example.booking_service.service.CourtGroupService;
 import com.example.booking_service.service.CourtPriceService;
+import com.example.booking_service.service.availability.CalendarVersions;
+import com.example.booking_service.service.availability.FreeSlotSearchService;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
@@ -25,8 +28,11 @@ import org.springframework.http.MediaType;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
 
 @RestController
@@ -37,6 +43,8 @@ public class CourtGroupController {
 
     CourtGroupService courtGroupService;
     CourtPriceService courtPriceService;
+    FreeSlotSearchService freeSlotSearchService;
+    CalendarVersions calendarVersions;
     UserRepository userRepository;
 
     @GetMapping
@@ -59,13 +67,37 @@ public class CourtGroupController {
      * GET /court-groups/{courtGroupId}/prices
      */
     @GetMapping("/{courtGroupId}/prices")
-    public ApiResponse<List<CourtPriceDTO>> getCourtPrices(@PathVariable Long courtGroupId) {
+    public ApiResponse<List<CourtPriceDTO>> getCourtPrices(@PathVariable Long courtGroupId, WebRequest webRequest) {
+        // The price version in force depends on today's date, so a new effective date changes the ETag too
+        if (webRequest.checkNotModified(calendarVersions.groupETag(courtGroupId, "prices-" + LocalDate.now()))) {
+            return null;
+        }
         List<CourtPriceDTO> prices = courtPriceService.getCourtPricesWithTimeSlots(courtGroupId);
         return ApiResponse.<List<CourtPriceDTO>>builder()
                 .result(prices)
                 .build();
     }
     
+    /**
+     * Find court groups with a court free for `duration` minutes, starting between `from` and `to`
+     * GET /court-groups/free-slots?type=&province=&district=&date=yyyy-MM-dd&from=HH:mm&to=HH:mm&duration=
+     * Results are ranked by price, then rating
+     */
+    @GetMapping("/free-slots")
+    public ApiResponse<List<FreeSlotSearchResult>> searchFreeSlots(
+            @RequestParam String type,
+            @RequestParam String province,
+            @RequestParam String district,
+            @RequestParam String date,
+            @RequestParam String from,
+            @RequestParam String to,
+            @RequestParam(defaultValue = "60") int duration) {
+        return ApiResponse.<List<FreeSlotSearchResult>>builder()
+                .result(freeSlotSearchService.search(type, province, district,
+                        LocalDate.parse(date), LocalTime.parse(from), LocalTime.parse(to), duration))
+                .build();
+    }
+    
     /**
      * Get top rated court groups
      * Query params: limit (default: 4, max: 4)
@@ -0,0 +1,33 @@
+package com.example.booking_service.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BookingQuoteRequest {
+    
+    List<Item> items;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Item {
+        @JsonProperty("court_id")
+        Long courtId;
+        
+        @JsonProperty("booking_date")
+        String bookingDate; // yyyy-MM-dd
+        
+        @JsonProperty("time_slots")
+        List<CreateBookingRequest.TimeSlot> timeSlots;
+    }
+}
@@ -19,6 +19,9 @@ public class AdminDashboardResponse {
     List<ReviewHighlight> reviewHighlights;
     OwnerVerificationStats ownerVerification;
     List<UtilizationItem> utilization;
+    UtilizationHeatmapResponse utilizationHeatmap;
+    // Sections that failed or missed their deadline and hold an empty fallback
+    List<String> partialSections;
 
     @Value
     @Builder
@@ -0,0 +1,49 @@
+package com.example.booking_service.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+/**
+ * Pushed on /topic/availability/{courtGroupId}/{date} when bookings of that day change
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class AvailabilityDeltaMessage {
+    
+    @JsonProperty("court_group_id")
+    Long courtGroupId;
+    
+    String date; // yyyy-MM-dd
+    
+    List<Change> changes;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Change {
+        @JsonProperty("booking_id")
+        Long bookingId;
+        
+        @JsonProperty("court_id")
+        Long courtId;
+        
+        @JsonProperty("start_time")
+        String startTime; // HH:mm
+        
+        @JsonProperty("end_time")
+        String endTime; // HH:mm
+        
+        String status;
+        
+        // false when the slots were freed (cancelled, expired or deleted)
+        boolean booked;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.booking_service.dto.response;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+/**
+ * Availability of a court group over a date range as a (court x day x slot) grid.
+ * Prices are listed once per price set (normally one per day type) and referenced by each day.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BookingGridResponse {
+    Long courtGroupId;
+    String from;
+    String to;
+    int slotMinutes;
+    List<CourtInfo> courts;
+    List<PriceSet> priceSets;
+    List<DayData> days;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class CourtInfo {
+        Long id;
+        String name;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class PriceSet {
+        int id;
+        String dayType;
+        List<BookingByDateResponse.PriceInfo> prices;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class DayData {
+        String date;
+        String dayType;
+        int priceSet;
+        List<CourtDayData> courts;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class CourtDayData {
+        Long courtId;
+        // indexes of booked 30-minute slots, 0 = 00:00-00:30
+        List<Integer> bookedSlots;
+        List<BookingByDateResponse.BookingInfo> bookings;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.booking_service.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BookingQuoteResponse {
+    
+    List<ItemQuote> items;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class ItemQuote {
+        @JsonProperty("court_id")
+        Long courtId;
+        
+        @JsonProperty("booking_date")
+        String bookingDate;
+        
+        @JsonProperty("day_type")
+        String dayType;
+        
+        List<SlotQuote> slots;
+        
+        // null when at least one slot has no price configured
+        @JsonProperty("total_price")
+        Double totalPrice;
+    }
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class SlotQuote {
+        @JsonProperty("start_time")
+        String startTime;
+        
+        @JsonProperty("end_time")
+        String endTime;
+        
+        Double price;
+    }
+}
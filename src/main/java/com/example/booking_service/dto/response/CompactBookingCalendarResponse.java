@@ -0,0 +1,69 @@
+package com.example.booking_service.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+/**
+ * Compact form of BookingByDateResponse (?format=compact or the compact media type).
+ * Slot i covers [i * slot_minutes, (i + 1) * slot_minutes) from midnight. Each court's day is a
+ * bitmask of booked slots (bit i set = slot i booked), and prices are one shared vector of the
+ * price per slot for the day type, null where no price is configured.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class CompactBookingCalendarResponse {
+    
+    public static final String MEDIA_TYPE = "application/vnd.booking.compact+json";
+    
+    String date;
+    
+    @JsonProperty("day_type")
+    String dayType;
+    
+    @JsonProperty("slot_minutes")
+    int slotMinutes;
+    
+    List<Double> prices;
+    
+    List<CourtDay> courts;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class CourtDay {
+        Long id;
+        String name;
+        
+        // 48-bit mask, safe as a JSON number
+        long booked;
+        
+        List<Booking> bookings;
+    }
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Booking {
+        Long id;
+        
+        // start and end as minutes from midnight
+        @JsonProperty("s")
+        int start;
+        
+        @JsonProperty("e")
+        int end;
+        
+        @JsonProperty("p")
+        Double price;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.booking_service.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+/**
+ * One court group with a free court for the searched window, and its best (cheapest) start
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class FreeSlotSearchResult {
+    
+    @JsonProperty("court_group_id")
+    Long courtGroupId;
+    
+    @JsonProperty("court_group_name")
+    String courtGroupName;
+    
+    String address;
+    String district;
+    String province;
+    Double rating;
+    
+    @JsonProperty("court_id")
+    Long courtId;
+    
+    @JsonProperty("court_name")
+    String courtName;
+    
+    @JsonProperty("start_time")
+    String startTime; // HH:mm
+    
+    @JsonProperty("end_time")
+    String endTime; // HH:mm
+    
+    // null when the group has no price configured for the slot
+    Double price;
+    
+    // courts free for the chosen start
+    @JsonProperty("available_courts")
+    int availableCourts;
+    
+    // every start inside the window with at least one free court
+    @JsonProperty("available_start_times")
+    List<String> availableStartTimes;
+}
@@ -35,6 +35,9 @@ public class OwnerDashboardResponse {
     
     @JsonProperty("utilization")
     List<UtilizationBreakdown> utilization;
+
+    @JsonProperty("utilizationHeatmap")
+    UtilizationHeatmapResponse utilizationHeatmap;
     
     @Data
     @Builder
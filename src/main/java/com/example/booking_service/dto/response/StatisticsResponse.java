@@ -25,6 +25,10 @@ public class StatisticsResponse {
     @JsonProperty("courtGroupStats")
     CourtGroupStats courtGroupStats;
 
+    // Sections that failed or missed their deadline and hold an empty fallback
+    @JsonProperty("partialSections")
+    List<String> partialSections;
+
     @Value
     @Builder
     @Jacksonized
@@ -0,0 +1,79 @@
+package com.example.booking_service.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Occupancy by hour of week: booked minutes against open minutes (opening hours of each court group)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UtilizationHeatmapResponse {
+    @JsonProperty("utilization")
+    Double utilization;
+
+    @JsonProperty("bookedMinutes")
+    Long bookedMinutes;
+
+    @JsonProperty("openMinutes")
+    Long openMinutes;
+
+    // 168 cells, Monday 00:00 first
+    @JsonProperty("hours")
+    List<HourCell> hours;
+
+    // Busiest open hours, highest utilization first
+    @JsonProperty("peakHours")
+    List<HourCell> peakHours;
+
+    // Per court rows; only filled for owner dashboards
+    @JsonProperty("courts")
+    List<CourtRow> courts;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class HourCell {
+        @JsonProperty("dayOfWeek")
+        Integer dayOfWeek; // 1 = Monday ... 7 = Sunday
+
+        @JsonProperty("hour")
+        Integer hour;
+
+        @JsonProperty("bookedMinutes")
+        Long bookedMinutes;
+
+        @JsonProperty("openMinutes")
+        Long openMinutes;
+
+        @JsonProperty("utilization")
+        Double utilization;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CourtRow {
+        @JsonProperty("courtId")
+        Long courtId;
+
+        @JsonProperty("courtName")
+        String courtName;
+
+        @JsonProperty("utilization")
+        Double utilization;
+
+        // 168 utilization percentages, null where the court is closed
+        @JsonProperty("hourly")
+        List<Double> hourly;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.booking_service.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDate;
+
+/**
+ * Daily rollup of bookings per (court, date, status), kept current by the booking write paths
+ * and rebuilt from `bookings` by BookingDailyStatsService. Dashboards read from here.
+ */
+@Entity
+@Table(name = "booking_daily_stats",
+        uniqueConstraints = @UniqueConstraint(name = "uk_daily_stats_court_date_status",
+                columnNames = {"court_id", "stat_date", "status"}),
+        indexes = @Index(name = "idx_daily_stats_date", columnList = "stat_date"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BookingDailyStat {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    Long id;
+
+    @Column(name = "court_id")
+    Long courtId;
+
+    @Column(name = "stat_date")
+    LocalDate statDate;
+
+    String status;
+
+    @Column(name = "booking_count")
+    Long bookingCount;
+
+    Double revenue;
+
+    @Column(name = "booked_minutes")
+    Long bookedMinutes;
+}
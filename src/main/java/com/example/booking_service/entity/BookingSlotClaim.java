@@ -0,0 +1,52 @@
+package com.example.booking_service.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDate;
+
+/**
+ * One 30-minute slot of a court on a date, claimed by an active booking.
+ * The unique key on (court_id, booking_date, slot_index) is what prevents double booking.
+ * Claims go away with their booking through the ON DELETE CASCADE foreign key, which is declared
+ * here so that ddl-auto creates it as well as the migration script.
+ */
+@Entity
+@Table(name = "booking_slot_claims",
+        uniqueConstraints = @UniqueConstraint(name = "uk_slot_claim_court_date_slot",
+                columnNames = {"court_id", "booking_date", "slot_index"}),
+        indexes = @Index(name = "idx_slot_claim_booking", columnList = "booking_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BookingSlotClaim {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    Long id;
+
+    @Column(name = "booking_id", nullable = false)
+    Long bookingId;
+
+    // read-only side of booking_id, only mapped for the foreign key
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "booking_id", insertable = false, updatable = false,
+            foreignKey = @ForeignKey(name = "fk_slot_claim_booking"))
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    Booking booking;
+
+    @Column(name = "court_id")
+    Long courtId;
+
+    @Column(name = "booking_date")
+    LocalDate bookingDate;
+
+    @Column(name = "slot_index")
+    Integer slotIndex;
+}
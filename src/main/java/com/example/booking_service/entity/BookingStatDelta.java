@@ -0,0 +1,43 @@
+package com.example.booking_service.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDate;
+
+/**
+ * One change to the booking_daily_stats rollup, written in the same transaction as the booking
+ * change it describes and folded into the rollup later by BookingDailyStatsService.
+ */
+@Entity
+@Table(name = "booking_stat_deltas",
+        indexes = @Index(name = "idx_stat_deltas_date", columnList = "stat_date"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BookingStatDelta {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    Long id;
+
+    @Column(name = "court_id", nullable = false)
+    Long courtId;
+
+    @Column(name = "stat_date", nullable = false)
+    LocalDate statDate;
+
+    @Column(nullable = false)
+    String status;
+
+    @Column(name = "booking_count", nullable = false)
+    Long bookingCount;
+
+    @Column(nullable = false)
+    Double revenue;
+
+    @Column(name = "booked_minutes", nullable = false)
+    Long bookedMinutes;
+}
@@ -0,0 +1,34 @@
+package com.example.booking_service.enums;
+
+import com.example.booking_service.exception.AppException;
+import com.example.booking_service.exception.ErrorCode;
+
+import java.util.Arrays;
+
+public enum ExportFormat {
+    CSV("csv", "text/csv;charset=UTF-8"),
+    NDJSON("ndjson", "application/x-ndjson;charset=UTF-8");
+
+    private final String value;
+    private final String contentType;
+
+    ExportFormat(String value, String contentType) {
+        this.value = value;
+        this.contentType = contentType;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public static ExportFormat fromValue(String value) {
+        return Arrays.stream(values())
+                .filter(format -> format.value.equalsIgnoreCase(value))
+                .findFirst()
+                .orElseThrow(() -> new AppException(ErrorCode.INVALID_EXPORT_FORMAT));
+    }
+}
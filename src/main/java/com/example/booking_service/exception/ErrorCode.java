@@ -21,6 +21,15 @@ public enum ErrorCode {
     CANNOT_DELETE_ADMIN_OWNER(1017, "Cannot delete admin or owner users from this endpoint"),
     USER_BANNED(1018, "User account has been banned"),
     BOOKING_CONFLICT(1019, "Khung giờ này đã được đặt bởi người khác. Vui lòng chọn khung giờ khác."),
+    PRICE_MISMATCH(1023, "Giá sân đã thay đổi. Vui lòng tải lại trang và đặt lại."),
+    IDEMPOTENCY_KEY_REUSED(1024, "Idempotency-Key đã được dùng cho một yêu cầu khác."),
+    IDEMPOTENCY_IN_PROGRESS(1025, "Yêu cầu trước đó vẫn đang được xử lý. Vui lòng thử lại sau."),
+    BOOKING_BUSY(1026, "Hệ thống đang có nhiều lượt đặt sân. Vui lòng thử lại sau giây lát."),
+    SERVER_BUSY(1027, "Hệ thống đang quá tải. Vui lòng thử lại sau."),
+    EXPORT_BUSY(1028, "Đang có quá nhiều lượt xuất dữ liệu. Vui lòng thử lại sau."),
+    INVALID_EXPORT_FORMAT(1029, "Định dạng xuất không hợp lệ. Chỉ hỗ trợ csv hoặc ndjson."),
+    SLOT_NOT_PRICED(1030, "Khung giờ đã chọn chưa có giá. Vui lòng chọn khung giờ khác."),
+    INVALID_TIME_SLOT(1031, "Khung giờ không hợp lệ. Giờ đặt phải theo bước 30 phút và giờ kết thúc phải sau giờ bắt đầu."),
 
     // Owner management specific error codes (aligned with API spec)
     OWNER_UNAUTHORIZED(1001, "Unauthorized"),
@@ -0,0 +1,121 @@
+package com.example.booking_service.repository;
+
+import com.example.booking_service.entity.Booking;
+import com.example.booking_service.entity.BookingSlotClaim;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk JDBC writer for rows generated in bulk (fixed-booking occurrences and their slot claims).
+ * Booking uses IDENTITY ids, so Hibernate cannot batch these inserts; here each chunk is sent
+ * as one multi-row INSERT and the generated ids are read back in insertion order.
+ * Runs on the connection of the current Spring transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class BookingBatchWriter {
+
+    static final int CHUNK_SIZE = 100;
+
+    static final String INSERT_BOOKINGS = "INSERT INTO bookings " +
+            "(user_id, court_id, time_slot_id, booking_date, start_time, end_time, status, price, address, created_at) VALUES ";
+    static final String BOOKING_VALUES = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    static final String INSERT_SLOT_CLAIMS = "INSERT INTO booking_slot_claims " +
+            "(booking_id, court_id, booking_date, slot_index) VALUES ";
+    static final String SLOT_CLAIM_VALUES = "(?, ?, ?, ?)";
+
+    JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insert the bookings and set their generated ids
+     * @return the generated ids, in the same order as the input
+     */
+    public List<Long> insertBookings(List<Booking> bookings) {
+        for (int from = 0; from < bookings.size(); from += CHUNK_SIZE) {
+            List<Booking> chunk = bookings.subList(from, Math.min(from + CHUNK_SIZE, bookings.size()));
+            String sql = INSERT_BOOKINGS + String.join(", ", Collections.nCopies(chunk.size(), BOOKING_VALUES));
+
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.update(connection -> {
+                PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+                int i = 1;
+                for (Booking b : chunk) {
+                    setLong(ps, i++, b.getUserId());
+                    setLong(ps, i++, b.getCourtId());
+                    setLong(ps, i++, b.getTimeSlotId());
+                    ps.setDate(i++, b.getBookingDate() != null ? Date.valueOf(b.getBookingDate()) : null);
+                    ps.setTime(i++, b.getStartTime() != null ? Time.valueOf(b.getStartTime()) : null);
+                    ps.setTime(i++, b.getEndTime() != null ? Time.valueOf(b.getEndTime()) : null);
+                    ps.setString(i++, b.getStatus());
+                    if (b.getPrice() != null) {
+                        ps.setDouble(i++, b.getPrice());
+                    } else {
+                        ps.setNull(i++, Types.DOUBLE);
+                    }
+                    ps.setString(i++, b.getAddress());
+                    ps.setTimestamp(i++, b.getCreatedAt() != null ? Timestamp.valueOf(b.getCreatedAt()) : null);
+                }
+                return ps;
+            }, keyHolder);
+
+            List<Map<String, Object>> keys = keyHolder.getKeyList();
+            if (keys.size() != chunk.size()) {
+                throw new IllegalStateException("Expected " + chunk.size() + " generated ids but got " + keys.size());
+            }
+            for (int k = 0; k < chunk.size(); k++) {
+                Number id = (Number) keys.get(k).values().iterator().next();
+                chunk.get(k).setId(id.longValue());
+            }
+        }
+
+        return bookings.stream().map(Booking::getId).toList();
+    }
+
+    /**
+     * Insert slot claims. A slot that is already claimed fails with DuplicateKeyException.
+     */
+    public void insertSlotClaims(List<BookingSlotClaim> claims) {
+        for (int from = 0; from < claims.size(); from += CHUNK_SIZE) {
+            List<BookingSlotClaim> chunk = claims.subList(from, Math.min(from + CHUNK_SIZE, claims.size()));
+            String sql = INSERT_SLOT_CLAIMS + String.join(", ", Collections.nCopies(chunk.size(), SLOT_CLAIM_VALUES));
+
+            jdbcTemplate.update(connection -> {
+                PreparedStatement ps = connection.prepareStatement(sql);
+                int i = 1;
+                for (BookingSlotClaim c : chunk) {
+                    ps.setLong(i++, c.getBookingId());
+                    ps.setLong(i++, c.getCourtId());
+                    ps.setDate(i++, Date.valueOf(c.getBookingDate()));
+                    ps.setInt(i++, c.getSlotIndex());
+                }
+                return ps;
+            });
+        }
+    }
+
+    private static void setLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value != null) {
+            ps.setLong(index, value);
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+}
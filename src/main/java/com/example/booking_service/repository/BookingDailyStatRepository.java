@@ -0,0 +1,70 @@
+package com.example.booking_service.repository;
+
+import com.example.booking_service.entity.BookingDailyStat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface BookingDailyStatRepository extends JpaRepository<BookingDailyStat, Long> {
+
+    /**
+     * Add a (possibly negative) delta to one rollup row, creating it if needed
+     */
+    @Modifying
+    @Query(value = "INSERT INTO booking_daily_stats " +
+            "(court_id, stat_date, status, booking_count, revenue, booked_minutes) " +
+            "VALUES (:courtId, :statDate, :status, :count, :revenue, :minutes) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "booking_count = booking_count + VALUES(booking_count), " +
+            "revenue = revenue + VALUES(revenue), " +
+            "booked_minutes = booked_minutes + VALUES(booked_minutes)",
+            nativeQuery = true)
+    int addDelta(@Param("courtId") Long courtId,
+                 @Param("statDate") LocalDate statDate,
+                 @Param("status") String status,
+                 @Param("count") long count,
+                 @Param("revenue") double revenue,
+                 @Param("minutes") long minutes);
+
+    @Modifying
+    @Query(value = "DELETE FROM booking_daily_stats WHERE stat_date BETWEEN :startDate AND :endDate",
+            nativeQuery = true)
+    int deleteByStatDateBetween(@Param("startDate") LocalDate startDate,
+                                @Param("endDate") LocalDate endDate);
+
+    /**
+     * Rollup rows of [startDate, endDate] computed from bookings, as
+     * (court_id, booking_date, status, count, revenue, minutes); an end_time of 00:00 means midnight.
+     * A plain select, so it reads the same snapshot as the rest of its repeatable-read transaction.
+     */
+    @Query(value = "SELECT b.court_id, b.booking_date, b.status, COUNT(*), COALESCE(SUM(b.price), 0), " +
+            "COALESCE(SUM((CASE WHEN b.end_time = '00:00:00' THEN 86400 ELSE TIME_TO_SEC(b.end_time) END " +
+            "- TIME_TO_SEC(b.start_time)) DIV 60), 0) " +
+            "FROM bookings b " +
+            "WHERE b.booking_date BETWEEN :startDate AND :endDate " +
+            "AND b.court_id IS NOT NULL AND b.status IS NOT NULL " +
+            "GROUP BY b.court_id, b.booking_date, b.status",
+            nativeQuery = true)
+    List<Object[]> aggregateBookings(@Param("startDate") LocalDate startDate,
+                                     @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT s.status, SUM(s.bookingCount), SUM(s.revenue) FROM BookingDailyStat s " +
+            "WHERE s.statDate BETWEEN :startDate AND :endDate AND s.bookingCount > 0 GROUP BY s.status")
+    List<Object[]> sumByStatus(@Param("startDate") LocalDate startDate,
+                               @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT s.statDate, s.status, SUM(s.bookingCount), SUM(s.revenue) FROM BookingDailyStat s " +
+            "WHERE s.statDate BETWEEN :startDate AND :endDate AND s.bookingCount > 0 " +
+            "GROUP BY s.statDate, s.status")
+    List<Object[]> sumByDateAndStatus(@Param("startDate") LocalDate startDate,
+                                      @Param("endDate") LocalDate endDate);
+
+    @Query(value = "SELECT MIN(b.booking_date), MAX(b.booking_date) FROM bookings b", nativeQuery = true)
+    List<Object[]> findBookingDateRange();
+}
@@ -1,33 +1,50 @@
 package com.example.booking_service.repository;
 
 import com.example.booking_service.entity.Booking;
+import com.example.booking_service.repository.projection.BookingAggregateRow;
+import com.example.booking_service.repository.projection.BookingColumnRow;
+import com.example.booking_service.repository.projection.BookingExportRow;
 import com.example.booking_service.repository.projection.RecentBookingProjection;
 import com.example.booking_service.repository.projection.TopCourtGroupProjection;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.time.LocalTime;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
-    @Query("SELECT b FROM Booking b WHERE b.courtId = :courtId AND b.bookingDate = :date AND b.status != 'CANCELLED'")
-    List<Booking> findActiveBookingsByCourtAndDate(@Param("courtId") Long courtId,
-                                                   @Param("date") LocalDate date);
+    @Query("SELECT b FROM Booking b WHERE b.courtId = :courtId AND b.bookingDate BETWEEN :startDate AND :endDate " +
+            "AND b.status != 'CANCELLED' ORDER BY b.bookingDate, b.startTime")
+    List<Booking> findActiveBookingsByCourtAndDateBetween(@Param("courtId") Long courtId,
+                                                          @Param("startDate") LocalDate startDate,
+                                                          @Param("endDate") LocalDate endDate);
 
     @Query("SELECT b FROM Booking b WHERE b.courtId IN :courtIds AND b.bookingDate = :date AND b.status != 'CANCELLED'")
     List<Booking> findActiveBookingsByCourtIdsAndDate(@Param("courtIds") List<Long> courtIds,
                                                       @Param("date") LocalDate date);
 
+    @Query("SELECT b FROM Booking b WHERE b.courtId IN :courtIds " +
+           "AND b.bookingDate BETWEEN :startDate AND :endDate AND b.status != 'CANCELLED'")
+    List<Booking> findActiveBookingsByCourtIdsAndDateBetween(@Param("courtIds") List<Long> courtIds,
+                                                             @Param("startDate") LocalDate startDate,
+                                                             @Param("endDate") LocalDate endDate);
+
     List<Booking> findByUserId(Long userId);
     
     @Query(value = "SELECT b.*, " +
@@ -63,6 +80,40 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             @Param("courtGroupId") Long courtGroupId,
             Pageable pageable);
 
+    /**
+     * Same filters and order as findBookingsWithFilters, streamed through a forward-only cursor
+     * for the bookings export. Must be consumed inside a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT b.id AS id, b.userId AS userId, " +
+            "u.fullName AS userName, u.email AS userEmail, u.phone AS userPhone, " +
+            "b.courtId AS courtId, c.name AS courtName, " +
+            "cg.id AS courtGroupId, cg.name AS courtGroupName, cg.type AS courtGroupType, " +
+            "cg.address AS courtGroupStreet, cg.district AS courtGroupDistrict, cg.province AS courtGroupProvince, " +
+            "b.bookingDate AS bookingDate, b.startTime AS startTime, b.endTime AS endTime, " +
+            "b.status AS status, b.price AS price, b.createdAt AS createdAt, " +
+            "b.address AS address, b.paymentProof AS paymentProof " +
+            "FROM Booking b " +
+            "JOIN User u ON b.userId = u.id " +
+            "JOIN Court c ON b.courtId = c.id " +
+            "JOIN CourtGroup cg ON c.courtGroupId = cg.id " +
+            "WHERE (:status IS NULL OR b.status = :status) " +
+            "AND (:bookingDate IS NULL OR b.bookingDate = :bookingDate) " +
+            "AND (:search IS NULL OR u.fullName LIKE CONCAT('%', :search, '%') " +
+            "  OR u.email LIKE CONCAT('%', :search, '%') OR u.phone LIKE CONCAT('%', :search, '%')) " +
+            "AND (:ownerId IS NULL OR cg.ownerId = :ownerId) " +
+            "AND (:courtGroupId IS NULL OR cg.id = :courtGroupId) " +
+            "ORDER BY b.createdAt DESC")
+    Stream<BookingExportRow> streamBookingsWithFilters(
+            @Param("status") String status,
+            @Param("bookingDate") LocalDate bookingDate,
+            @Param("search") String search,
+            @Param("ownerId") Long ownerId,
+            @Param("courtGroupId") Long courtGroupId);
+
     @Query("SELECT b FROM Booking b " +
             "WHERE b.userId = :userId " +
             "AND b.status = 'CONFIRMED' " +
@@ -165,22 +216,6 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             """)
     Page<RecentBookingProjection> findRecentBookings(Pageable pageable);
     
-    @Query("""
-            SELECT COALESCE(b.timeSlotId,
-                       CASE 
-                           WHEN b.startTime IS NOT NULL AND b.startTime < :eveningStart THEN 1
-                           WHEN b.startTime IS NOT NULL THEN 2
-                           ELSE 1
-                       END) AS slotId,
-                   COUNT(b.id) AS total
-            FROM Booking b
-            WHERE b.bookingDate BETWEEN :startDate AND :endDate
-            GROUP BY slotId
-            """)
-    List<Object[]> countUtilizationByTimeSlot(@Param("startDate") LocalDate startDate,
-                                              @Param("endDate") LocalDate endDate,
-                                              @Param("eveningStart") LocalTime eveningStart);
-    
     // User management queries
     @Query("SELECT COUNT(b) FROM Booking b " +
             "WHERE b.userId = :userId " +
@@ -201,6 +236,17 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     List<Booking> findByStatusAndCreatedAtBefore(@Param("status") String status,
                                                  @Param("expiryTime") LocalDateTime expiryTime);
     
+    List<Booking> findByStatus(String status);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.id IN :ids AND b.status = :status")
+    List<Booking> findByIdInAndStatusForUpdate(@Param("ids") Collection<Long> ids,
+                                               @Param("status") String status);
+    
+    @Modifying
+    @Query("DELETE FROM Booking b WHERE b.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+    
     // Owner dashboard queries
     @Query("SELECT b FROM Booking b WHERE b.courtId IN :courtIds " +
             "AND b.bookingDate BETWEEN :startDate AND :endDate")
@@ -221,6 +267,52 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             @Param("courtIds") List<Long> courtIds,
             Pageable pageable);
     
+    /**
+     * Forward-only stream of the courts' bookings as scalar rows, ordered by court, date and start
+     * time for the utilization sweep; the MySQL driver streams row by row with a fetch size of
+     * Integer.MIN_VALUE. Must be consumed inside a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT b.courtId AS courtId, b.timeSlotId AS timeSlotId, b.bookingDate AS bookingDate, " +
+            "b.startTime AS startTime, b.endTime AS endTime, b.status AS status, b.price AS price " +
+            "FROM Booking b WHERE b.courtId IN :courtIds " +
+            "AND b.bookingDate BETWEEN :startDate AND :endDate " +
+            "ORDER BY b.courtId, b.bookingDate, b.startTime")
+    Stream<BookingAggregateRow> streamAggregateRows(@Param("courtIds") Collection<Long> courtIds,
+                                                    @Param("startDate") LocalDate startDate,
+                                                    @Param("endDate") LocalDate endDate);
+    
+    /**
+     * Same rows as streamAggregateRows for every court
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT b.courtId AS courtId, b.timeSlotId AS timeSlotId, b.bookingDate AS bookingDate, " +
+            "b.startTime AS startTime, b.endTime AS endTime, b.status AS status, b.price AS price " +
+            "FROM Booking b WHERE b.bookingDate BETWEEN :startDate AND :endDate " +
+            "ORDER BY b.courtId, b.bookingDate, b.startTime")
+    Stream<BookingAggregateRow> streamOrderedAggregateRows(@Param("startDate") LocalDate startDate,
+                                                           @Param("endDate") LocalDate endDate);
+    
+    /**
+     * Every booking with its court group, in id order, for loading the columnar analytics store.
+     * Must be consumed inside a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT b.id AS id, b.courtId AS courtId, c.courtGroupId AS courtGroupId, b.timeSlotId AS timeSlotId, " +
+            "b.bookingDate AS bookingDate, b.startTime AS startTime, b.status AS status, b.price AS price " +
+            "FROM Booking b LEFT JOIN Court c ON c.id = b.courtId " +
+            "ORDER BY b.id")
+    Stream<BookingColumnRow> streamColumnRows();
+    
     @Query("SELECT b FROM Booking b WHERE b.courtId IN :courtIds " +
             "AND b.bookingDate BETWEEN :startDate AND :endDate " +
             "AND (b.timeSlotId = :timeSlotId OR " +
@@ -252,20 +344,6 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
                                   @Param("startTime") LocalTime startTime,
                                   @Param("endTime") LocalTime endTime);
     
-    /**
-     * Find overlapping bookings with pessimistic lock for race condition prevention
-     */
-    @Query("SELECT b FROM Booking b " +
-            "WHERE b.courtId = :courtId " +
-            "AND b.bookingDate = :bookingDate " +
-            "AND b.status != 'CANCELLED' " +
-            "AND ((b.startTime < :endTime AND b.endTime > :startTime))")
-    @Lock(LockModeType.PESSIMISTIC_WRITE) // không cho các bản ghi khác ghi trong lúc kiểm tra
-    List<Booking> findOverlappingBookingsWithLock(@Param("courtId") Long courtId,
-                                                   @Param("bookingDate") LocalDate bookingDate,
-                                                   @Param("startTime") LocalTime startTime,
-                                                   @Param("endTime") LocalTime endTime);
-    
     // Statistics queries
     @Query("SELECT COALESCE(SUM(b.price), 0) FROM Booking b " +
             "WHERE b.bookingDate BETWEEN :startDate AND :endDate " +
@@ -274,88 +352,4 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate,
             @Param("status") String status);
-    
-    @Query(value = "SELECT " +
-            "COALESCE(b.time_slot_id, " +
-            "  CASE " +
-            "    WHEN b.start_time IS NOT NULL AND b.start_time < :eveningStart THEN 1 " +
-            "    WHEN b.start_time IS NOT NULL THEN 2 " +
-            "    ELSE 1 " +
-            "  END) AS timeSlotId, " +
-            "COUNT(b.id) AS count, " +
-            "COALESCE(SUM(CASE WHEN b.status = 'CONFIRMED' THEN b.price ELSE 0 END), 0) AS revenue " +
-            "FROM bookings b " +
-            "WHERE b.booking_date BETWEEN :startDate AND :endDate " +
-            "GROUP BY timeSlotId",
-            nativeQuery = true)
-    List<Object[]> countBookingsByTimeSlot(
-            @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate,
-            @Param("eveningStart") LocalTime eveningStart);
-    
-    @Query(value = "SELECT " +
-            "DATE_FORMAT(b.booking_date, '%Y-%m-%d') AS date, " +
-            "COALESCE(SUM(CASE WHEN b.status = 'CONFIRMED' THEN b.price ELSE 0 END), 0) AS revenue, " +
-            "COUNT(CASE WHEN b.status = 'CONFIRMED' THEN 1 END) AS bookings " +
-            "FROM bookings b " +
-            "WHERE b.booking_date BETWEEN :startDate AND :endDate " +
-            "AND b.status = 'CONFIRMED' " +
-            "GROUP BY DATE_FORMAT(b.booking_date, '%Y-%m-%d') " +
-            "ORDER BY date",
-            nativeQuery = true)
-    List<Object[]> sumRevenueByDay(
-            @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate);
-    
-    @Query(value = "SELECT " +
-            "YEARWEEK(b.booking_date) AS week, " +
-            "COALESCE(SUM(CASE WHEN b.status = 'CONFIRMED' THEN b.price ELSE 0 END), 0) AS revenue, " +
-            "COUNT(CASE WHEN b.status = 'CONFIRMED' THEN 1 END) AS bookings " +
-            "FROM bookings b " +
-            "WHERE b.booking_date BETWEEN :startDate AND :endDate " +
-            "AND b.status = 'CONFIRMED' " +
-            "GROUP BY YEARWEEK(b.booking_date) " +
-            "ORDER BY week",
-            nativeQuery = true)
-    List<Object[]> sumRevenueByWeek(
-            @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate);
-    
-    @Query(value = "SELECT " +
-            "DATE_FORMAT(b.booking_date, '%Y-%m') AS month, " +
-            "COALESCE(SUM(CASE WHEN b.status = 'CONFIRMED' THEN b.price ELSE 0 END), 0) AS revenue, " +
-            "COUNT(CASE WHEN b.status = 'CONFIRMED' THEN 1 END) AS bookings " +
-            "FROM bookings b " +
-            "WHERE b.booking_date BETWEEN :startDate AND :endDate " +
-            "AND b.status = 'CONFIRMED' " +
-            "GROUP BY DATE_FORMAT(b.booking_date, '%Y-%m') " +
-            "ORDER BY month",
-            nativeQuery = true)
-    List<Object[]> sumRevenueByMonth(
-            @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate);
-    
-    @Query(value = "SELECT " +
-            "cg.id, " +
-            "cg.name, " +
-            "cg.address, " +
-            "cg.type, " +
-            "COUNT(b.id) AS bookingCount, " +
-            "COALESCE(SUM(CASE WHEN b.status = 'CONFIRMED' THEN b.price ELSE 0 END), 0) AS revenue, " +
-            "COALESCE(AVG(r.rating), 0) AS rating " +
-            "FROM court_groups cg " +
-            "LEFT JOIN courts c ON c.court_group_id = cg.id " +
-            "LEFT JOIN bookings b ON b.court_id = c.id " +
-            "  AND b.status = 'CONFIRMED' " +
-            "  AND b.booking_date BETWEEN :startDate AND :endDate " +
-            "LEFT JOIN reviews r ON r.court_group_id = cg.id " +
-            "WHERE cg.status = 'approved' AND (cg.is_deleted = 0 OR cg.is_deleted IS NULL) " +
-            "GROUP BY cg.id, cg.name, cg.address, cg.type " +
-            "ORDER BY bookingCount DESC " +
-            "LIMIT :limit",
-            nativeQuery = true)
-    List<Object[]> findTopCourtGroupsByRevenue(
-            @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate,
-            @Param("limit") int limit);
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.example.booking_service.repository;
+
+import com.example.booking_service.entity.BookingSlotClaim;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+@Repository
+public interface BookingSlotClaimRepository extends JpaRepository<BookingSlotClaim, Long> {
+
+    @Modifying
+    @Query("DELETE FROM BookingSlotClaim c WHERE c.bookingId = :bookingId")
+    int deleteByBookingId(@Param("bookingId") Long bookingId);
+
+    @Modifying
+    @Query("DELETE FROM BookingSlotClaim c WHERE c.bookingId IN :bookingIds")
+    int deleteByBookingIdIn(@Param("bookingIds") Collection<Long> bookingIds);
+}
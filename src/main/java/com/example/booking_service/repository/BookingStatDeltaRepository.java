@@ -0,0 +1,22 @@
+package com.example.booking_service.repository;
+
+import com.example.booking_service.entity.BookingStatDelta;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface BookingStatDeltaRepository extends JpaRepository<BookingStatDelta, Long> {
+
+    @Query("SELECT d FROM BookingStatDelta d ORDER BY d.id")
+    List<BookingStatDelta> findOldest(Pageable pageable);
+
+    @Query("SELECT d.id FROM BookingStatDelta d WHERE d.statDate BETWEEN :startDate AND :endDate")
+    List<Long> findIdsByStatDateBetween(@Param("startDate") LocalDate startDate,
+                                        @Param("endDate") LocalDate endDate);
+}
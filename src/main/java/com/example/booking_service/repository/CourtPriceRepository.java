@@ -8,6 +8,7 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CourtPriceRepository extends JpaRepository<CourtPrice, Long> {
@@ -26,5 +27,6 @@ public interface CourtPriceRepository extends JpaRepository<CourtPrice, Long> {
     
     List<CourtPrice> findByCourtGroupId(Long courtGroupId);
     
-    CourtPrice findByCourtGroupIdAndTimeSlotIdAndDayType(Long courtGroupId, Long timeSlotId, String dayType);
+    Optional<CourtPrice> findFirstByCourtGroupIdAndTimeSlotIdAndDayTypeAndEffectiveDateOrderByIdDesc(
+            Long courtGroupId, Long timeSlotId, String dayType, LocalDate effectiveDate);
 }
\ No newline at end of file
@@ -39,6 +39,10 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     Page<ReviewHighlightProjection> findReviewHighlights(Pageable pageable);
     
     // Owner dashboard queries
+    @Query("SELECT r.courtGroupId, AVG(r.rating), COUNT(r) FROM Review r " +
+            "WHERE r.courtGroupId IN :courtGroupIds GROUP BY r.courtGroupId")
+    List<Object[]> findRatingStatsByCourtGroupIdIn(@Param("courtGroupIds") List<Long> courtGroupIds);
+
     @Query("SELECT r FROM Review r WHERE r.courtGroupId IN :courtGroupIds")
     List<Review> findByCourtGroupIdIn(@Param("courtGroupIds") List<Long> courtGroupIds);
     
@@ -0,0 +1,17 @@
+package com.example.booking_service.repository.projection;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * The booking columns dashboard aggregation needs, streamed without loading Booking entities
+ */
+public interface BookingAggregateRow {
+    Long getCourtId();
+    Long getTimeSlotId();
+    LocalDate getBookingDate();
+    LocalTime getStartTime();
+    LocalTime getEndTime();
+    String getStatus();
+    Double getPrice();
+}
@@ -0,0 +1,18 @@
+package com.example.booking_service.repository.projection;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * One booking as loaded into the in-memory columnar analytics store
+ */
+public interface BookingColumnRow {
+    Long getId();
+    Long getCourtId();
+    Long getCourtGroupId();
+    Long getTimeSlotId();
+    LocalDate getBookingDate();
+    LocalTime getStartTime();
+    String getStatus();
+    Double getPrice();
+}
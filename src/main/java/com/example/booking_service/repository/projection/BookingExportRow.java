@@ -0,0 +1,32 @@
+package com.example.booking_service.repository.projection;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * One booking with its user, court and court group, as streamed by the bookings export
+ */
+public interface BookingExportRow {
+    Long getId();
+    Long getUserId();
+    String getUserName();
+    String getUserEmail();
+    String getUserPhone();
+    Long getCourtId();
+    String getCourtName();
+    Long getCourtGroupId();
+    String getCourtGroupName();
+    String getCourtGroupType();
+    String getCourtGroupStreet();
+    String getCourtGroupDistrict();
+    String getCourtGroupProvince();
+    LocalDate getBookingDate();
+    LocalTime getStartTime();
+    LocalTime getEndTime();
+    String getStatus();
+    Double getPrice();
+    LocalDateTime getCreatedAt();
+    String getAddress();
+    String getPaymentProof();
+}
@@ -1,20 +1,32 @@
 package com.example.booking_service.service;
 
 import com.example.booking_service.dto.response.AdminDashboardResponse;
+import com.example.booking_service.dto.response.UtilizationHeatmapResponse;
+import com.example.booking_service.entity.Court;
+import com.example.booking_service.entity.CourtGroup;
 import com.example.booking_service.entity.TimeSlot;
 import com.example.booking_service.enums.AdminDashboardPeriod;
 import com.example.booking_service.enums.OwnerStatus;
 import com.example.booking_service.enums.Role;
 import com.example.booking_service.repository.BookingRepository;
 import com.example.booking_service.repository.CourtGroupRepository;
+import com.example.booking_service.repository.CourtRepository;
 import com.example.booking_service.repository.ReviewRepository;
 import com.example.booking_service.repository.TimeSlotRepository;
 import com.example.booking_service.repository.UserRepository;
 import com.example.booking_service.repository.projection.RecentBookingProjection;
 import com.example.booking_service.repository.projection.TopCourtGroupProjection;
+import com.example.booking_service.service.stats.BookingDailyStatsService;
+import com.example.booking_service.service.stats.BookingColumnStore;
+import com.example.booking_service.service.stats.StatusTotals;
+import com.example.booking_service.service.stats.UtilizationEngine;
+import com.example.booking_service.service.stats.UtilizationHeatmap;
+import com.example.booking_service.util.SectionFanOut;
+import com.example.booking_service.util.SnapshotCache;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
@@ -28,13 +40,20 @@ import java.util.*;
 @Service
 @RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
 public class AdminDashboardService {
 
     BookingRepository bookingRepository;
     UserRepository userRepository;
     CourtGroupRepository courtGroupRepository;
+    CourtRepository courtRepository;
     ReviewRepository reviewRepository;
     TimeSlotRepository timeSlotRepository;
+    BookingDailyStatsService bookingDailyStatsService;
+    BookingColumnStore bookingColumnStore;
+    SnapshotCache<List<Object>, AdminDashboardResponse> adminDashboardSnapshots;
+    SectionFanOut sectionFanOut;
+    UtilizationEngine utilizationEngine;
 
     static final DateTimeFormatter DATE_LABEL_FORMATTER = DateTimeFormatter.ofPattern("dd/MM");
     static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
@@ -47,23 +66,84 @@ public class AdminDashboardService {
             "COMPLETED", new StatusMeta("Đã hoàn thành", "green")
     );
 
-    private static final Map<Integer, SlotMeta> DEFAULT_SLOT_META = Map.of(
-            1, new SlotMeta(1, "Sáng (05:00 - 17:30)", "indigo"),
-            2, new SlotMeta(2, "Tối (17:30 - 23:00)", "violet")
-    );
-    
-    private static final LocalTime EVENING_START = LocalTime.of(17, 30);
+    private static final List<String> SLOT_COLORS = List.of("indigo", "violet", "teal", "orange");
 
+    /**
+     * Served from the snapshot cache; a snapshot past its refresh age is returned as is
+     * while one background refresh recomputes it
+     */
     public AdminDashboardResponse getDashboardOverview(LocalDate startDate,
                                                        LocalDate endDate,
                                                        AdminDashboardPeriod period) {
+        return adminDashboardSnapshots.get(List.of(startDate, endDate, period),
+                () -> computeDashboardOverview(startDate, endDate, period));
+    }
+
+    private AdminDashboardResponse computeDashboardOverview(LocalDate startDate,
+                                                            LocalDate endDate,
+                                                            AdminDashboardPeriod period) {
         LocalDate normalizedStart = startDate;
         LocalDate normalizedEnd = endDate;
 
+        LocalDate trendStart = normalizedEnd.minusDays(period.getDays() - 1);
+        if (trendStart.isBefore(normalizedStart)) {
+            trendStart = normalizedStart;
+        }
+        LocalDate trendFrom = trendStart;
+
+        try (SectionFanOut.Scope scope = sectionFanOut.open("admin")) {
+            // Independent sections run concurrently while the overview is computed here
+            var bookingTrend = scope.fork("bookingTrend",
+                    () -> buildBookingTrend(trendFrom, normalizedEnd), List.<AdminDashboardResponse.BookingTrendPoint>of());
+            var revenueTrend = scope.fork("revenueTrend",
+                    () -> buildRevenueTrend(trendFrom, normalizedEnd), List.<AdminDashboardResponse.RevenueTrendPoint>of());
+            var statusDistribution = scope.fork("statusDistribution",
+                    () -> buildStatusDistribution(normalizedStart, normalizedEnd), List.<AdminDashboardResponse.DistributionItem>of());
+            var topCourtGroups = scope.fork("topCourtGroups",
+                    () -> buildTopCourtGroups(normalizedStart, normalizedEnd), List.<AdminDashboardResponse.TopCourtGroup>of());
+            var recentBookings = scope.fork("recentBookings",
+                    this::buildRecentBookings, List.<AdminDashboardResponse.RecentBooking>of());
+            var reviewHighlights = scope.fork("reviewHighlights",
+                    this::buildReviewHighlights, List.<AdminDashboardResponse.ReviewHighlight>of());
+            var utilization = scope.fork("utilization",
+                    () -> buildUtilization(normalizedStart, normalizedEnd), (Utilization) null);
+
+            AdminDashboardResponse.Overview overview = buildOverview(normalizedStart, normalizedEnd);
+            AdminDashboardResponse.OwnerVerificationStats ownerVerificationStats = buildOwnerVerification(overview);
+
+            scope.join();
+            return AdminDashboardResponse.builder()
+                    .overview(overview)
+                    .bookingTrend(bookingTrend.get())
+                    .revenueTrend(revenueTrend.get())
+                    .bookingStatusDistribution(statusDistribution.get())
+                    .topCourtGroups(topCourtGroups.get())
+                    .recentBookings(recentBookings.get())
+                    .reviewHighlights(reviewHighlights.get())
+                    .ownerVerification(ownerVerificationStats)
+                    .utilization(utilization.get() != null ? utilization.get().items() : List.of())
+                    .utilizationHeatmap(utilization.get() != null ? utilization.get().heatmap() : null)
+                    .partialSections(scope.partialSections())
+                    .build();
+        }
+    }
+
+    private StatusTotals rangeTotals(LocalDate startDate, LocalDate endDate) {
+        try {
+            return bookingColumnStore.rangeTotals(null, startDate, endDate);
+        } catch (IllegalStateException e) {
+            // store still loading right after startup: fall back to the daily rollup instead of failing the dashboard
+            log.warn("Column store totals unavailable, using daily stats: {}", e.getMessage());
+            return bookingDailyStatsService.totals(startDate, endDate);
+        }
+    }
+
+    private AdminDashboardResponse.Overview buildOverview(LocalDate normalizedStart, LocalDate normalizedEnd) {
         long totalUsers = userRepository.count();
-        long totalBookings = bookingRepository.countByBookingDateBetween(normalizedStart, normalizedEnd);
-        double totalRevenue = Optional.ofNullable(
-                bookingRepository.sumRevenueByBookingDateBetween(normalizedStart, normalizedEnd)).orElse(0.0);
+        // Kỳ hiện tại và kỳ trước đều đọc từ cây Fenwick theo ngày, không quét bảng bookings
+        StatusTotals totals = rangeTotals(normalizedStart, normalizedEnd);
+        long totalBookings = totals.totalCount();
+        double totalRevenue = totals.revenue("PENDING", "CONFIRMED");
 
         long totalOwners = userRepository.countByRoleAndOwnerStatus(Role.OWNER, OwnerStatus.APPROVED);
         long pendingOwners = userRepository.countByRoleAndOwnerStatus(Role.OWNER, OwnerStatus.PENDING);
@@ -77,39 +157,14 @@ public class AdminDashboardService {
         LocalDate previousEnd = normalizedStart.minusDays(1);
         LocalDate previousStart = previousEnd.minusDays(rangeDays - 1);
 
-        long previousBookings = previousStart.isAfter(previousEnd)
-                ? 0
-                : bookingRepository.countByBookingDateBetween(previousStart, previousEnd);
-        double previousRevenue = previousStart.isAfter(previousEnd)
-                ? 0
-                : Optional.ofNullable(bookingRepository.sumRevenueByBookingDateBetween(previousStart, previousEnd)).orElse(0.0);
+        StatusTotals previousTotals = rangeTotals(previousStart, previousEnd);
+        long previousBookings = previousTotals.totalCount();
+        double previousRevenue = previousTotals.revenue("PENDING", "CONFIRMED");
 
         long bookingGrowth = calculateGrowthPercentage(totalBookings, previousBookings);
         long revenueGrowth = calculateGrowthPercentage(totalRevenue, previousRevenue);
 
-        LocalDate trendStart = normalizedEnd.minusDays(period.getDays() - 1);
-        if (trendStart.isBefore(normalizedStart)) {
-            trendStart = normalizedStart;
-        }
-
-        List<AdminDashboardResponse.BookingTrendPoint> bookingTrend = buildBookingTrend(trendStart, normalizedEnd);
-        List<AdminDashboardResponse.RevenueTrendPoint> revenueTrend = buildRevenueTrend(trendStart, normalizedEnd);
-        List<AdminDashboardResponse.DistributionItem> statusDistribution =
-                buildStatusDistribution(normalizedStart, normalizedEnd);
-        List<AdminDashboardResponse.TopCourtGroup> topCourtGroups =
-                buildTopCourtGroups(normalizedStart, normalizedEnd);
-        List<AdminDashboardResponse.RecentBooking> recentBookings = buildRecentBookings();
-        List<AdminDashboardResponse.ReviewHighlight> reviewHighlights = buildReviewHighlights();
-        List<AdminDashboardResponse.UtilizationItem> utilization = buildUtilization(normalizedStart, normalizedEnd);
-
-        AdminDashboardResponse.OwnerVerificationStats ownerVerificationStats = AdminDashboardResponse.OwnerVerificationStats.builder()
-                .pending(pendingOwners)
-                .approved(userRepository.countByRoleAndOwnerStatus(Role.OWNER, OwnerStatus.APPROVED))
-                .rejected(userRepository.countByRoleAndOwnerStatus(Role.OWNER, OwnerStatus.REJECTED))
-                .banned(userRepository.countByRoleAndOwnerStatus(Role.OWNER, OwnerStatus.BANNED))
-                .build();
-
-        AdminDashboardResponse.Overview overview = AdminDashboardResponse.Overview.builder()
+        return AdminDashboardResponse.Overview.builder()
                 .totalUsers(totalUsers)
                 .totalOwners(totalOwners)
                 .totalBookings(totalBookings)
@@ -120,28 +175,24 @@ public class AdminDashboardService {
                 .bookingGrowth(bookingGrowth)
                 .revenueGrowth(revenueGrowth)
                 .build();
+    }
 
-        return AdminDashboardResponse.builder()
-                .overview(overview)
-                .bookingTrend(bookingTrend)
-                .revenueTrend(revenueTrend)
-                .bookingStatusDistribution(statusDistribution)
-                .topCourtGroups(topCourtGroups)
-                .recentBookings(recentBookings)
-                .reviewHighlights(reviewHighlights)
-                .ownerVerification(ownerVerificationStats)
-                .utilization(utilization)
+    private AdminDashboardResponse.OwnerVerificationStats buildOwnerVerification(
+            AdminDashboardResponse.Overview overview) {
+        return AdminDashboardResponse.OwnerVerificationStats.builder()
+                .pending(overview.getPendingOwnerRequests())
+                .approved(overview.getTotalOwners())
+                .rejected(userRepository.countByRoleAndOwnerStatus(Role.OWNER, OwnerStatus.REJECTED))
+                .banned(userRepository.countByRoleAndOwnerStatus(Role.OWNER, OwnerStatus.BANNED))
                 .build();
     }
 
     private List<AdminDashboardResponse.BookingTrendPoint> buildBookingTrend(LocalDate startDate, LocalDate endDate) {
-        Map<LocalDate, Long> counts = new HashMap<>();
-        bookingRepository.countBookingsPerDay(startDate, endDate)
-                .forEach(row -> counts.put((LocalDate) row[0], ((Number) row[1]).longValue()));
+        Map<LocalDate, StatusTotals> daily = bookingDailyStatsService.dailyTotals(startDate, endDate);
 
         List<AdminDashboardResponse.BookingTrendPoint> result = new ArrayList<>();
         for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
-            long value = counts.getOrDefault(date, 0L);
+            long value = daily.getOrDefault(date, StatusTotals.EMPTY).totalCount();
             result.add(AdminDashboardResponse.BookingTrendPoint.builder()
                     .label(date.format(DATE_LABEL_FORMATTER))
                     .bookings(value)
@@ -151,13 +202,11 @@ public class AdminDashboardService {
     }
 
     private List<AdminDashboardResponse.RevenueTrendPoint> buildRevenueTrend(LocalDate startDate, LocalDate endDate) {
-        Map<LocalDate, Double> totals = new HashMap<>();
-        bookingRepository.sumRevenuePerDay(startDate, endDate)
-                .forEach(row -> totals.put((LocalDate) row[0], ((Number) row[1]).doubleValue()));
+        Map<LocalDate, StatusTotals> daily = bookingDailyStatsService.dailyTotals(startDate, endDate);
 
         List<AdminDashboardResponse.RevenueTrendPoint> result = new ArrayList<>();
         for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
-            double value = totals.getOrDefault(date, 0.0);
+            double value = daily.getOrDefault(date, StatusTotals.EMPTY).revenue("PENDING", "CONFIRMED");
             result.add(AdminDashboardResponse.RevenueTrendPoint.builder()
                     .label(date.format(DATE_LABEL_FORMATTER))
                     .revenue(roundDouble(value, 2))
@@ -167,9 +216,7 @@ public class AdminDashboardService {
     }
 
     private List<AdminDashboardResponse.DistributionItem> buildStatusDistribution(LocalDate startDate, LocalDate endDate) {
-        Map<String, Long> distribution = new HashMap<>();
-        bookingRepository.countBookingsByStatus(startDate, endDate)
-                .forEach(row -> distribution.put((String) row[0], ((Number) row[1]).longValue()));
+        Map<String, Long> distribution = bookingDailyStatsService.totals(startDate, endDate).counts();
 
         List<AdminDashboardResponse.DistributionItem> items = new ArrayList<>();
         distribution.forEach((status, value) -> {
@@ -241,35 +288,34 @@ public class AdminDashboardService {
                 .toList();
     }
 
-    private List<AdminDashboardResponse.UtilizationItem> buildUtilization(LocalDate startDate, LocalDate endDate) {
-        Map<Integer, SlotMeta> slotMeta = resolveSlotMeta();
-        Map<Integer, Long> counts = new HashMap<>();
-        bookingRepository.countUtilizationByTimeSlot(startDate, endDate, EVENING_START)
-                .forEach(row -> {
-                    Integer slotId = row[0] != null ? ((Number) row[0]).intValue() : null;
-                    if (slotId != null) {
-                        counts.put(slotId, ((Number) row[1]).longValue());
-                    }
-                });
-
-        long total = counts.values().stream().mapToLong(Long::longValue).sum();
-        long divisor = total == 0 ? 1 : total;
+    /**
+     * Exact utilization of every approved court group's courts within opening hours, per time slot and per hour of week
+     */
+    private Utilization buildUtilization(LocalDate startDate, LocalDate endDate) {
+        Map<Long, CourtGroup> groupsById = new HashMap<>();
+        courtGroupRepository.findAll().stream()
+                .filter(group -> "approved".equals(group.getStatus()) && !Boolean.TRUE.equals(group.getIsDeleted()))
+                .forEach(group -> groupsById.put(group.getId(), group));
+        List<Court> courts = courtRepository.findByCourtGroupIdIn(new ArrayList<>(groupsById.keySet()));
+
+        List<TimeSlot> timeSlots = timeSlotRepository.findAll().stream()
+                .filter(slot -> slot.getStartTime() != null && slot.getEndTime() != null)
+                .sorted(Comparator.comparing(TimeSlot::getStartTime))
+                .toList();
 
-        counts.keySet().forEach(slotId -> slotMeta.computeIfAbsent(slotId,
-                id -> new SlotMeta(id, "Slot " + id, "gray")));
+        UtilizationHeatmap heatmap = utilizationEngine.compute(courts, groupsById, startDate, endDate, timeSlots);
 
         List<AdminDashboardResponse.UtilizationItem> items = new ArrayList<>();
-        slotMeta.forEach((slotId, meta) -> {
-            long value = counts.getOrDefault(slotId, 0L);
-            long percentage = Math.round((value * 100.0) / divisor);
+        for (int i = 0; i < timeSlots.size(); i++) {
+            TimeSlot slot = timeSlots.get(i);
             items.add(AdminDashboardResponse.UtilizationItem.builder()
-                    .timeSlotId(meta.timeSlotId())
-                    .label(meta.label())
-                    .value(percentage)
-                    .color(meta.color())
+                    .timeSlotId(slot.getId().intValue())
+                    .label(formatSlotLabel(slot))
+                    .value(Math.round(heatmap.bandUtilization(i)))
+                    .color(SLOT_COLORS.get(i % SLOT_COLORS.size()))
                     .build());
-        });
-        return items;
+        }
+        return new Utilization(items, heatmap.toResponse(false));
     }
 
     private long calculateGrowthPercentage(double current, double previous) {
@@ -299,43 +345,14 @@ public class AdminDashboardService {
         return dateTime != null ? dateTime.format(DATE_TIME_FORMATTER) : null;
     }
 
-    private Map<Integer, SlotMeta> resolveSlotMeta() {
-        List<TimeSlot> slots = timeSlotRepository.findAll();
-        if (slots.isEmpty()) {
-            return new LinkedHashMap<>(DEFAULT_SLOT_META);
-        }
-
-        Map<Integer, SlotMeta> map = new LinkedHashMap<>();
-        slots.stream()
-                .sorted(Comparator.comparing(TimeSlot::getStartTime, Comparator.nullsLast(LocalTime::compareTo)))
-                .forEach(slot -> {
-                    int id = slot.getId().intValue();
-                    SlotMeta defaultMeta = DEFAULT_SLOT_META.get(id);
-                    String color = defaultMeta != null ? defaultMeta.color() : "gray";
-                    String label = formatSlotLabel(slot, defaultMeta);
-                    map.put(id, new SlotMeta(id, label, color));
-                });
-
-        return map.isEmpty() ? new LinkedHashMap<>(DEFAULT_SLOT_META) : map;
-    }
-
-    private String formatSlotLabel(TimeSlot slot, SlotMeta defaultMeta) {
+    private String formatSlotLabel(TimeSlot slot) {
         LocalTime start = slot.getStartTime();
-        LocalTime end = slot.getEndTime();
-        if (start == null || end == null) {
-            return defaultMeta != null ? defaultMeta.label() : "Slot " + slot.getId();
-        }
-
-        String range = start.format(TIME_FORMATTER) + " - " + end.format(TIME_FORMATTER);
-        if (defaultMeta != null) {
-            String prefix = defaultMeta.label().split("\\(")[0].trim();
-            return prefix + " (" + range + ")";
-        }
-        String prefix = start.isBefore(EVENING_START) ? "Sáng" : "Tối";
-        return prefix + " (" + range + ")";
+        String prefix = start.getHour() < 12 ? "Sáng" : start.getHour() < 17 ? "Chiều" : "Tối";
+        return prefix + " (" + start.format(TIME_FORMATTER) + " - " + slot.getEndTime().format(TIME_FORMATTER) + ")";
     }
 
     private record StatusMeta(String label, String color) {}
-    private record SlotMeta(int timeSlotId, String label, String color) {}
+    private record Utilization(List<AdminDashboardResponse.UtilizationItem> items,
+                               UtilizationHeatmapResponse heatmap) {}
 }
 
@@ -1,9 +1,20 @@
 package com.example.booking_service.service;
 
+import com.example.booking_service.dto.request.BookingQuoteRequest;
 import com.example.booking_service.dto.request.CreateBookingRequest;
 import com.example.booking_service.dto.response.*;
 import com.example.booking_service.entity.*;
+import com.example.booking_service.exception.AppException;
+import com.example.booking_service.exception.ErrorCode;
 import com.example.booking_service.repository.*;
+import com.example.booking_service.service.availability.SlotAvailabilityIndex;
+import com.example.booking_service.service.batch.EntityBatch;
+import com.example.booking_service.service.batch.EntityBatchLoader;
+import com.example.booking_service.service.expiry.PaymentHoldExpiryService;
+import com.example.booking_service.service.pricing.PricingEngine;
+import com.example.booking_service.service.stats.BookingColumnStore;
+import com.example.booking_service.service.stats.BookingDailyStatsService;
+import com.example.booking_service.util.RequestCoalescer;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
@@ -31,14 +42,23 @@ public class BookingService {
     static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
     static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+    // prices are in VND, anything below 1đ is rounding noise from the client
+    static final double PRICE_TOLERANCE = 1.0;
+    static final int MAX_GRID_DAYS = 31;
 
     CourtRepository courtRepository;
     CourtGroupRepository courtGroupRepository;
-    TimeSlotRepository timeSlotRepository;
-    CourtPriceRepository courtPriceRepository;
     BookingRepository bookingRepository;
     UserRepository userRepository;
     FileStorageService fileStorageService;
+    SlotAvailabilityIndex slotAvailabilityIndex;
+    SlotClaimService slotClaimService;
+    PricingEngine pricingEngine;
+    PaymentHoldExpiryService paymentHoldExpiryService;
+    RequestCoalescer requestCoalescer;
+    BookingDailyStatsService bookingDailyStatsService;
+    BookingColumnStore bookingColumnStore;
+    EntityBatchLoader entityBatchLoader;
 
     private String formatTime(LocalTime time) {
         if (time == null) return null;
@@ -73,9 +93,10 @@ public class BookingService {
                     pageable
             );
             
-            // Map to response
+            // Map to response, resolving users, courts and court groups of the whole page at once
+            EntityBatch batch = batchFor(bookingPage.getContent());
             List<BookingDetailResponse> bookingDetails = bookingPage.getContent().stream()
-                    .map(this::toBookingDetailResponse)
+                    .map(booking -> toBookingDetailResponse(booking, batch))
                     .collect(Collectors.toList());
             
             // Create pagination response
@@ -104,7 +125,7 @@ public class BookingService {
             Booking booking = bookingRepository.findById(bookingId)
                     .orElseThrow(() -> new RuntimeException("Booking not found with ID: " + bookingId));
             
-            return toBookingDetailResponse(booking);
+            return toBookingDetailResponse(booking, batchFor(List.of(booking)));
             
         } catch (Exception e) {
             log.error("Error fetching booking by ID: {}", bookingId, e);
@@ -120,6 +141,11 @@ public class BookingService {
             Booking booking = bookingRepository.findById(bookingId)
                     .orElseThrow(() -> new RuntimeException("Booking not found with ID: " + bookingId));
             
+            // Release or re-claim the slots when the booking leaves or re-enters the active set
+            boolean wasCancelled = "CANCELLED".equals(booking.getStatus());
+            boolean isCancelled = "CANCELLED".equals(status);
+            String previousStatus = booking.getStatus();
+            
             // Update status
             booking.setStatus(status);
             
@@ -127,6 +153,14 @@ public class BookingService {
             LocalDateTime now = LocalDateTime.now();
             
             Booking updatedBooking = bookingRepository.save(booking);
+            if (isCancelled && !wasCancelled) {
+                slotClaimService.release(updatedBooking.getId());
+            } else if (wasCancelled && !isCancelled) {
+                slotClaimService.claim(updatedBooking);
+            }
+            bookingDailyStatsService.statusChanged(updatedBooking, previousStatus);
+            slotAvailabilityIndex.bookingSaved(updatedBooking);
+            bookingColumnStore.bookingSaved(updatedBooking);
             
             log.info("Booking status updated successfully: bookingId={}, status={}", bookingId, status);
             
@@ -152,8 +186,13 @@ public class BookingService {
             
             // Soft delete: Set status to CANCELLED instead of hard delete
             // This preserves booking history
+            String previousStatus = booking.getStatus();
             booking.setStatus("CANCELLED");
             bookingRepository.save(booking);
+            slotClaimService.release(booking.getId());
+            bookingDailyStatsService.statusChanged(booking, previousStatus);
+            slotAvailabilityIndex.bookingSaved(booking);
+            bookingColumnStore.bookingSaved(booking);
             
             // Alternative: Hard delete (uncomment if needed)
             // bookingRepository.delete(booking);
@@ -166,15 +205,18 @@ public class BookingService {
         }
     }
 
-    private BookingDetailResponse toBookingDetailResponse(Booking booking) {
-        // Fetch related entities
-        User user = userRepository.findById(booking.getUserId()).orElse(null);
-        Court court = courtRepository.findById(booking.getCourtId()).orElse(null);
-        CourtGroup courtGroup = null;
-        
-        if (court != null) {
-            courtGroup = courtGroupRepository.findById(court.getCourtGroupId()).orElse(null);
-        }
+    private EntityBatch batchFor(List<Booking> bookings) {
+        return entityBatchLoader.newBatch()
+                .users(bookings, Booking::getUserId)
+                .courts(bookings, Booking::getCourtId)
+                .resolve();
+    }
+
+    private BookingDetailResponse toBookingDetailResponse(Booking booking, EntityBatch batch) {
+        // Related entities come from the page's batch
+        User user = batch.user(booking.getUserId());
+        Court court = batch.court(booking.getCourtId());
+        CourtGroup courtGroup = batch.courtGroupOfCourt(booking.getCourtId());
         
         String courtGroupAddress = "";
         if (courtGroup != null) {
@@ -207,9 +249,19 @@ public class BookingService {
                 .build();
     }
 
-    public BookingByDateResponse getBookingDataByDate(Long courtGroupId, LocalDate date) {
-        // Get only active courts (not locked) in the court group
-        List<Court> courts = courtRepository.findActiveCourtsByCourtGroupId(courtGroupId);
+    /**
+     * Concurrent readers of the same calendar share one computation. The flight is keyed by the
+     * ETag the caller captured before reading, so a caller only joins a load that began after that
+     * version was published and the body is never older than the ETag sent with it.
+     */
+    public BookingByDateResponse getBookingDataByDate(Long courtGroupId, LocalDate date, String etag) {
+        return requestCoalescer.execute("booking-data", List.of(courtGroupId, date, etag),
+                () -> loadBookingDataByDate(courtGroupId, date));
+    }
+    
+    private BookingByDateResponse loadBookingDataByDate(Long courtGroupId, LocalDate date) {
+        // Get only active courts (not locked) in the court group, served from the availability index
+        List<Court> courts = slotAvailabilityIndex.getActiveCourts(courtGroupId);
         
         if (courts.isEmpty()) {
             return BookingByDateResponse.builder()
@@ -222,59 +274,31 @@ public class BookingService {
                 .map(Court::getId)
                 .collect(Collectors.toList());
 
-        // Get all bookings for these courts on the specified date
-        List<Booking> bookings = bookingRepository.findActiveBookingsByCourtIdsAndDate(courtIds, date);
-
-        // Determine day type (WEEKDAY or WEEKEND)
-        String dayType = isWeekend(date) ? "WEEKEND" : "WEEKDAY";
-
-        // Get prices for the court group and day type
-        // First try to get prices with effective_date <= date
-        List<CourtPrice> courtPrices = courtPriceRepository.findActivePricesByCourtGroupAndDayType(
-                courtGroupId, dayType, date);
-        
-        // If no prices found, get the latest prices regardless of effective_date
-        if (courtPrices.isEmpty()) {
-            courtPrices = courtPriceRepository.findLatestPricesByCourtGroupAndDayType(
-                    courtGroupId, dayType);
-        }
-
-        // Get all time slots
-        List<TimeSlot> timeSlots = timeSlotRepository.findAll();
-        Map<Long, TimeSlot> timeSlotMap = timeSlots.stream()
-                .collect(Collectors.toMap(TimeSlot::getId, ts -> ts));
-
-        // Build price info list
-        List<BookingByDateResponse.PriceInfo> priceInfoList = courtPrices.stream()
-                .map(cp -> {
-                    TimeSlot ts = timeSlotMap.get(cp.getTimeSlotId());
-                    if (ts == null) return null;
-                    return BookingByDateResponse.PriceInfo.builder()
-                            .timeSlotId(ts.getId())
-                            .startTime(formatTime(ts.getStartTime()))
-                            .endTime(formatTime(ts.getEndTime()))
-                            .price(cp.getPrice())
-                            .build();
-                })
-                .filter(Objects::nonNull)
+        // Get the occupancy of these courts on the specified date
+        Map<Long, SlotAvailabilityIndex.CourtDaySlots> courtDays = slotAvailabilityIndex.getCourtDays(courtIds, date);
+
+        // Get the prices in force on this date from the compiled price table
+        List<BookingByDateResponse.PriceInfo> priceInfoList = pricingEngine.slotPrices(courtGroupId, date).stream()
+                .map(sp -> BookingByDateResponse.PriceInfo.builder()
+                        .timeSlotId(sp.timeSlotId())
+                        .startTime(formatTime(sp.startTime()))
+                        .endTime(formatTime(sp.endTime()))
+                        .price(sp.price())
+                        .build())
                 .collect(Collectors.toList());
 
-        // Group bookings by court ID
-        Map<Long, List<Booking>> bookingsByCourtId = bookings.stream()
-                .collect(Collectors.groupingBy(Booking::getCourtId));
-
         // Build court data list
         List<BookingByDateResponse.BookingCourtData> courtDataList = courts.stream()
                 .map(court -> {
-                    List<Booking> courtBookings = bookingsByCourtId.getOrDefault(court.getId(), Collections.emptyList());
+                    SlotAvailabilityIndex.CourtDaySlots courtDay = courtDays.get(court.getId());
                     
-                    List<BookingByDateResponse.BookingInfo> bookingInfoList = courtBookings.stream()
+                    List<BookingByDateResponse.BookingInfo> bookingInfoList = courtDay.bookings().stream()
                             .map(booking -> BookingByDateResponse.BookingInfo.builder()
-                                    .id(booking.getId())
-                                    .bookingDate(booking.getBookingDate().toString())
-                                    .startTime(formatTime(booking.getStartTime()))
-                                    .endTime(formatTime(booking.getEndTime()))
-                                    .totalPrice(booking.getPrice())
+                                    .id(booking.id())
+                                    .bookingDate(booking.bookingDate().toString())
+                                    .startTime(formatTime(booking.startTime()))
+                                    .endTime(formatTime(booking.endTime()))
+                                    .totalPrice(booking.price())
                                     .build())
                             .collect(Collectors.toList());
 
@@ -292,11 +316,192 @@ public class BookingService {
                 .build();
     }
 
+    /**
+     * Same data as getBookingDataByDate in the compact bitmask form
+     */
+    public CompactBookingCalendarResponse getCompactBookingDataByDate(Long courtGroupId, LocalDate date, String etag) {
+        return requestCoalescer.execute("booking-data-compact", List.of(courtGroupId, date, etag),
+                () -> loadCompactBookingDataByDate(courtGroupId, date));
+    }
+
+    private CompactBookingCalendarResponse loadCompactBookingDataByDate(Long courtGroupId, LocalDate date) {
+        List<Court> courts = slotAvailabilityIndex.getActiveCourts(courtGroupId);
+        List<Long> courtIds = courts.stream()
+                .map(Court::getId)
+                .collect(Collectors.toList());
+        Map<Long, SlotAvailabilityIndex.CourtDaySlots> courtDays = slotAvailabilityIndex.getCourtDays(courtIds, date);
+        
+        // One price per 30-minute slot, taken from the time slot that contains it
+        Double[] prices = new Double[SlotAvailabilityIndex.SLOTS_PER_DAY];
+        for (PricingEngine.SlotPrice sp : pricingEngine.slotPrices(courtGroupId, date)) {
+            long mask = SlotAvailabilityIndex.slotMask(sp.startTime(), sp.endTime());
+            for (long bits = mask; bits != 0; bits &= bits - 1) {
+                prices[Long.numberOfTrailingZeros(bits)] = sp.price();
+            }
+        }
+        
+        List<CompactBookingCalendarResponse.CourtDay> courtDataList = courts.stream()
+                .map(court -> {
+                    SlotAvailabilityIndex.CourtDaySlots courtDay = courtDays.get(court.getId());
+                    return CompactBookingCalendarResponse.CourtDay.builder()
+                            .id(court.getId())
+                            .name(court.getName())
+                            .booked(courtDay.occupied())
+                            .bookings(courtDay.bookings().stream()
+                                    .map(booking -> CompactBookingCalendarResponse.Booking.builder()
+                                            .id(booking.id())
+                                            .start(minuteOfDay(booking.startTime()))
+                                            .end(booking.endTime() == null || booking.endTime().equals(LocalTime.MIDNIGHT)
+                                                    ? 24 * 60 : minuteOfDay(booking.endTime()))
+                                            .price(booking.price())
+                                            .build())
+                                    .collect(Collectors.toList()))
+                            .build();
+                })
+                .collect(Collectors.toList());
+        
+        return CompactBookingCalendarResponse.builder()
+                .date(date.format(DATE_FORMATTER))
+                .dayType(PricingEngine.dayTypeOf(date))
+                .slotMinutes(SlotAvailabilityIndex.SLOT_MINUTES)
+                .prices(Arrays.asList(prices))
+                .courts(courtDataList)
+                .build();
+    }
+    
+    private static int minuteOfDay(LocalTime time) {
+        return time == null ? 0 : time.getHour() * 60 + time.getMinute();
+    }
+
+    /**
+     * Range variant of getBookingDataByDate for week views.
+     * Bookings of every day come from one range query and prices are listed once per price set.
+     */
+    public BookingGridResponse getBookingGrid(Long courtGroupId, LocalDate from, LocalDate to) {
+        if (to.isBefore(from) || from.plusDays(MAX_GRID_DAYS - 1).isBefore(to)) {
+            throw new AppException(ErrorCode.INVALID_KEY);
+        }
+        
+        List<Court> courts = slotAvailabilityIndex.getActiveCourts(courtGroupId);
+        List<Long> courtIds = courts.stream()
+                .map(Court::getId)
+                .collect(Collectors.toList());
+        Map<LocalDate, Map<Long, SlotAvailabilityIndex.CourtDaySlots>> courtDays =
+                slotAvailabilityIndex.getCourtDays(courtIds, from, to);
+        
+        // Days with the same prices share one price set, so a week normally has one per day type
+        Map<List<PricingEngine.SlotPrice>, Integer> priceSetIds = new HashMap<>();
+        List<BookingGridResponse.PriceSet> priceSets = new ArrayList<>();
+        List<BookingGridResponse.DayData> dayDataList = new ArrayList<>();
+        
+        for (Map.Entry<LocalDate, Map<Long, SlotAvailabilityIndex.CourtDaySlots>> day : courtDays.entrySet()) {
+            LocalDate date = day.getKey();
+            String dayType = PricingEngine.dayTypeOf(date);
+            List<PricingEngine.SlotPrice> slotPrices = pricingEngine.slotPrices(courtGroupId, dayType, date);
+            
+            Integer priceSetId = priceSetIds.get(slotPrices);
+            if (priceSetId == null) {
+                priceSetId = priceSets.size();
+                priceSetIds.put(slotPrices, priceSetId);
+                priceSets.add(BookingGridResponse.PriceSet.builder()
+                        .id(priceSetId)
+                        .dayType(dayType)
+                        .prices(slotPrices.stream()
+                                .map(sp -> BookingByDateResponse.PriceInfo.builder()
+                                        .timeSlotId(sp.timeSlotId())
+                                        .startTime(formatTime(sp.startTime()))
+                                        .endTime(formatTime(sp.endTime()))
+                                        .price(sp.price())
+                                        .build())
+                                .collect(Collectors.toList()))
+                        .build());
+            }
+            
+            List<BookingGridResponse.CourtDayData> courtDataList = courts.stream()
+                    .map(court -> {
+                        SlotAvailabilityIndex.CourtDaySlots courtDay = day.getValue().get(court.getId());
+                        return BookingGridResponse.CourtDayData.builder()
+                                .courtId(court.getId())
+                                .bookedSlots(slotIndexes(courtDay.occupied()))
+                                .bookings(courtDay.bookings().stream()
+                                        .map(booking -> BookingByDateResponse.BookingInfo.builder()
+                                                .id(booking.id())
+                                                .bookingDate(booking.bookingDate().toString())
+                                                .startTime(formatTime(booking.startTime()))
+                                                .endTime(formatTime(booking.endTime()))
+                                                .totalPrice(booking.price())
+                                                .build())
+                                        .collect(Collectors.toList()))
+                                .build();
+                    })
+                    .collect(Collectors.toList());
+            
+            dayDataList.add(BookingGridResponse.DayData.builder()
+                    .date(date.format(DATE_FORMATTER))
+                    .dayType(dayType)
+                    .priceSet(priceSetId)
+                    .courts(courtDataList)
+                    .build());
+        }
+        
+        return BookingGridResponse.builder()
+                .courtGroupId(courtGroupId)
+                .from(from.format(DATE_FORMATTER))
+                .to(to.format(DATE_FORMATTER))
+                .slotMinutes(SlotAvailabilityIndex.SLOT_MINUTES)
+                .courts(courts.stream()
+                        .map(court -> BookingGridResponse.CourtInfo.builder()
+                                .id(court.getId())
+                                .name(court.getName())
+                                .build())
+                        .collect(Collectors.toList()))
+                .priceSets(priceSets)
+                .days(dayDataList)
+                .build();
+    }
+    
+    private static List<Integer> slotIndexes(long mask) {
+        List<Integer> indexes = new ArrayList<>(Long.bitCount(mask));
+        for (long bits = mask; bits != 0; bits &= bits - 1) {
+            indexes.add(Long.numberOfTrailingZeros(bits));
+        }
+        return indexes;
+    }
+
     @Transactional
     public CreateBookingResponse createBooking(CreateBookingRequest request) {
+        Booking booking = prepareBooking(request);
+        
+        // Save booking
+        Booking savedBooking = bookingRepository.save(booking);
+        
+        // Claim the 30-minute slots; a slot taken by another booking fails on the unique key
+        slotClaimService.claim(savedBooking);
+        bookingDailyStatsService.bookingCreated(savedBooking);
+        slotAvailabilityIndex.bookingSaved(savedBooking);
+        bookingColumnStore.bookingSaved(savedBooking);
+        paymentHoldExpiryService.schedule(savedBooking);
+        
+        log.info("Booking created successfully: bookingId={}, courtId={}, date={}, time={}-{}", 
+                savedBooking.getId(), savedBooking.getCourtId(), savedBooking.getBookingDate(),
+                savedBooking.getStartTime(), savedBooking.getEndTime());
+        
+        return toCreateBookingResponse(savedBooking);
+    }
+    
+    /**
+     * Validate and price a booking request into an unsaved PAYING booking.
+     * Shared by createBooking and the single-writer lanes.
+     */
+    public Booking prepareBooking(CreateBookingRequest request) {
         // Parse date and times
         LocalDate bookingDate = LocalDate.parse(request.getBookingDate());
         
+        // Slot claims and the availability index work on the 30-minute grid, so every slot must sit on it
+        request.getTimeSlots().forEach(ts -> requireOnSlotGrid(
+                LocalTime.parse(ts.getStartTime(), TIME_FORMATTER),
+                LocalTime.parse(ts.getEndTime(), TIME_FORMATTER)));
+        
         // Get earliest start time and latest end time from time slots
         LocalTime startTime = request.getTimeSlots().stream()
                 .map(ts -> LocalTime.parse(ts.getStartTime(), TIME_FORMATTER))
@@ -305,46 +510,56 @@ public class BookingService {
         
         LocalTime endTime = request.getTimeSlots().stream()
                 .map(ts -> LocalTime.parse(ts.getEndTime(), TIME_FORMATTER))
-                .max(LocalTime::compareTo)
+                .max(Comparator.comparingInt(BookingService::endMinuteOfDay))
                 .orElseThrow(() -> new RuntimeException("No time slots provided"));
         
-        // Check for overlapping bookings with pessimistic lock to prevent race condition
-        // This will lock the rows to prevent concurrent bookings
-        List<Booking> overlappingBookings = bookingRepository.findOverlappingBookingsWithLock(
-                request.getCourtId(),
-                bookingDate,
-                startTime,
-                endTime
-        );
+        // Price the requested slots on the server instead of trusting the client total
+        Court court = courtRepository.findById(request.getCourtId())
+                .orElseThrow(() -> new AppException(ErrorCode.COURT_NOT_EXISTED));
+        Double totalPrice = quoteSlots(court.getCourtGroupId(), bookingDate, request.getTimeSlots()).getTotalPrice();
         
-        if (!overlappingBookings.isEmpty()) {
-            log.warn("Booking conflict detected: courtId={}, date={}, time={}-{}", 
-                    request.getCourtId(), bookingDate, startTime, endTime);
-            throw new com.example.booking_service.exception.AppException(
-                    com.example.booking_service.exception.ErrorCode.BOOKING_CONFLICT
-            );
+        if (totalPrice == null) {
+            // No price configured for part of the range: the client total cannot be checked, so refuse it
+            log.warn("Cannot price booking on server: courtId={}, date={}, time={}-{}, clientTotal={}",
+                    request.getCourtId(), bookingDate, startTime, endTime, request.getTotalPrice());
+            throw new AppException(ErrorCode.SLOT_NOT_PRICED);
+        } else if (request.getTotalPrice() != null
+                && Math.abs(request.getTotalPrice() - totalPrice) > PRICE_TOLERANCE) {
+            log.warn("Booking price mismatch: courtId={}, date={}, time={}-{}, clientTotal={}, serverTotal={}",
+                    request.getCourtId(), bookingDate, startTime, endTime, request.getTotalPrice(), totalPrice);
+            throw new AppException(ErrorCode.PRICE_MISMATCH);
         }
         
         // Create booking entity with PAYING status
-        Booking booking = Booking.builder()
+        return Booking.builder()
                 .userId(request.getUserId())
                 .courtId(request.getCourtId())
                 .bookingDate(bookingDate)
                 .startTime(startTime)
                 .endTime(endTime)
                 .status("PAYING")
-                .price(request.getTotalPrice())
+                .price(totalPrice)
                 .address(request.getFullAddress())
                 .createdAt(LocalDateTime.now())
                 .build();
-        
-        // Save booking
-        Booking savedBooking = bookingRepository.save(booking);
-        
-        log.info("Booking created successfully: bookingId={}, courtId={}, date={}, time={}-{}", 
-                savedBooking.getId(), request.getCourtId(), bookingDate, startTime, endTime);
-        
-        // Build response
+    }
+    
+    private static void requireOnSlotGrid(LocalTime start, LocalTime end) {
+        int slotMinutes = SlotAvailabilityIndex.SLOT_MINUTES;
+        if (minuteOfDay(start) % slotMinutes != 0 || minuteOfDay(end) % slotMinutes != 0
+                || endMinuteOfDay(end) <= minuteOfDay(start)) {
+            throw new AppException(ErrorCode.INVALID_TIME_SLOT);
+        }
+    }
+
+    /**
+     * Minute of day of an end time, where 00:00 means midnight at the end of the day
+     */
+    private static int endMinuteOfDay(LocalTime time) {
+        return LocalTime.MIDNIGHT.equals(time) ? 24 * 60 : minuteOfDay(time);
+    }
+    
+        public CreateBookingResponse toCreateBookingResponse(Booking savedBooking) {
         return CreateBookingResponse.builder()
                 .bookingId(savedBooking.getId())
                 .userId(savedBooking.getUserId())
@@ -359,6 +574,65 @@ public class BookingService {
                 .build();
     }
 
+    /**
+     * Price many (court, date, slots) combinations in one call
+     * Courts are resolved with one query, prices come from the compiled price tables
+     */
+    public BookingQuoteResponse quoteBookings(BookingQuoteRequest request) {
+        List<BookingQuoteRequest.Item> items = request.getItems() != null ? request.getItems() : Collections.emptyList();
+        
+        List<Long> courtIds = items.stream()
+                .map(BookingQuoteRequest.Item::getCourtId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+        Map<Long, Court> courtMap = courtRepository.findAllById(courtIds).stream()
+                .collect(Collectors.toMap(Court::getId, court -> court));
+        
+        List<BookingQuoteResponse.ItemQuote> quotes = items.stream()
+                .map(item -> {
+                    Court court = courtMap.get(item.getCourtId());
+                    if (court == null) {
+                        throw new AppException(ErrorCode.COURT_NOT_EXISTED);
+                    }
+                    LocalDate date = LocalDate.parse(item.getBookingDate());
+                    BookingQuoteResponse.ItemQuote quote = quoteSlots(court.getCourtGroupId(), date, item.getTimeSlots());
+                    quote.setCourtId(court.getId());
+                    return quote;
+                })
+                .collect(Collectors.toList());
+        
+        return BookingQuoteResponse.builder()
+                .items(quotes)
+                .build();
+    }
+    
+    private BookingQuoteResponse.ItemQuote quoteSlots(Long courtGroupId, LocalDate date,
+                                                      List<CreateBookingRequest.TimeSlot> timeSlots) {
+        List<BookingQuoteResponse.SlotQuote> slotQuotes = new ArrayList<>();
+        Double total = 0.0;
+        
+        for (CreateBookingRequest.TimeSlot ts : timeSlots != null ? timeSlots : List.<CreateBookingRequest.TimeSlot>of()) {
+            LocalTime start = LocalTime.parse(ts.getStartTime(), TIME_FORMATTER);
+            LocalTime end = LocalTime.parse(ts.getEndTime(), TIME_FORMATTER);
+            Double price = pricingEngine.priceFor(courtGroupId, date, start, end);
+            
+            slotQuotes.add(BookingQuoteResponse.SlotQuote.builder()
+                    .startTime(formatTime(start))
+                    .endTime(formatTime(end))
+                    .price(price)
+                    .build());
+            total = (total == null || price == null) ? null : total + price;
+        }
+        
+        return BookingQuoteResponse.ItemQuote.builder()
+                .bookingDate(date.format(DATE_FORMATTER))
+                .dayType(PricingEngine.dayTypeOf(date))
+                .slots(slotQuotes)
+                .totalPrice(slotQuotes.isEmpty() ? null : total)
+                .build();
+    }
+
     public List<UserBookingHistoryResponse> getBookingsByUserId(Long userId) {
         // Get all bookings for the user
         List<Booking> bookings = bookingRepository.findByUserId(userId);
@@ -425,12 +699,17 @@ public class BookingService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional
     public CreateBookingResponse confirmBooking(Long bookingId) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new RuntimeException("Booking not found"));
 
+        String previousStatus = booking.getStatus();
         booking.setStatus("CONFIRMED");
         Booking saved = bookingRepository.save(booking);
+        bookingDailyStatsService.statusChanged(saved, previousStatus);
+        slotAvailabilityIndex.bookingSaved(saved);
+        bookingColumnStore.bookingSaved(saved);
 
         return CreateBookingResponse.builder()
                 .bookingId(saved.getId())
@@ -446,11 +725,6 @@ public class BookingService {
                 .build();
     }
 
-    private boolean isWeekend(LocalDate date) {
-        java.time.DayOfWeek dayOfWeek = date.getDayOfWeek();
-        return dayOfWeek == java.time.DayOfWeek.SATURDAY || dayOfWeek == java.time.DayOfWeek.SUNDAY;
-    }
-
     /**
      * API 1: Get payment information for a booking
      * Retrieves bank information of court owner for payment
@@ -538,6 +812,9 @@ public class BookingService {
             booking.setStatus("PENDING");
             booking.setPaymentProof(fileName);
             Booking updatedBooking = bookingRepository.save(booking);
+            bookingDailyStatsService.statusChanged(updatedBooking, "PAYING");
+            slotAvailabilityIndex.bookingSaved(updatedBooking);
+            bookingColumnStore.bookingSaved(updatedBooking);
             
             log.info("Payment confirmed successfully for booking: {}", bookingId);
             
@@ -573,13 +850,17 @@ public class BookingService {
             }
             
             // Check if booking is expired (created more than 5 minutes ago)
-            LocalDateTime expiryTime = LocalDateTime.now().minusMinutes(5);
+            LocalDateTime expiryTime = LocalDateTime.now().minus(paymentHoldExpiryService.getHoldDuration());
             if (booking.getCreatedAt().isAfter(expiryTime)) {
                 throw new RuntimeException("Booking has not expired yet");
             }
             
             // Delete booking
+            slotClaimService.release(booking.getId());
             bookingRepository.delete(booking);
+            bookingDailyStatsService.bookingDeleted(booking);
+            slotAvailabilityIndex.bookingRemoved(booking);
+            bookingColumnStore.bookingRemoved(booking);
             
             log.info("Expired booking deleted successfully: {}", bookingId);
             
@@ -596,18 +877,20 @@ public class BookingService {
 
     /**
      * Delete expired bookings automatically
-     * Called by scheduled job
+     * Called by scheduled job as a safety net for holds the expiry queue missed
      */
-    @Transactional
     public int deleteExpiredBookings() {
         try {
-            LocalDateTime expiryTime = LocalDateTime.now().minusMinutes(5);
-            List<Booking> expiredBookings = bookingRepository.findByStatusAndCreatedAtBefore("PAYING", expiryTime);
-            
-            if (!expiredBookings.isEmpty()) {
-                bookingRepository.deleteAll(expiredBookings);
-                log.info("Deleted {} expired bookings", expiredBookings.size());
-                return expiredBookings.size();
+            LocalDateTime expiryTime = LocalDateTime.now().minus(paymentHoldExpiryService.getHoldDuration());
+            List<Long> expiredIds = bookingRepository.findByStatusAndCreatedAtBefore("PAYING", expiryTime)
+                    .stream()
+                    .map(Booking::getId)
+                    .toList();
+            
+            if (!expiredIds.isEmpty()) {
+                int deleted = paymentHoldExpiryService.expireBookings(expiredIds);
+                log.info("Deleted {} expired bookings", deleted);
+                return deleted;
             }
             
             return 0;
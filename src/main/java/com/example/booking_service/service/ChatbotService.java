@@ -6,12 +6,12 @@ import com.example.booking_service.entity.Booking;
 import com.example.booking_service.entity.CourtGroup;
 import com.example.booking_service.repository.BookingRepository;
 import com.example.booking_service.repository.CourtGroupRepository;
-import com.example.booking_service.repository.CourtPriceRepository;
-import com.example.booking_service.repository.TimeSlotRepository;
 import com.example.booking_service.service.gemini.GeminiClient;
 import com.example.booking_service.service.gemini.GeminiResult;
+import com.example.booking_service.service.pricing.PricingEngine;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Optional;
@@ -21,20 +21,17 @@ public class ChatbotService {
 
     private final GeminiClient geminiClient;
     private final CourtGroupRepository courtGroupRepository;
-    private final CourtPriceRepository courtPriceRepository;
     private final BookingRepository bookingRepository;
-    private final TimeSlotRepository timeSlotRepository;
+    private final PricingEngine pricingEngine;
 
     public ChatbotService(GeminiClient geminiClient,
                           CourtGroupRepository courtGroupRepository,
-                          CourtPriceRepository courtPriceRepository,
                           BookingRepository bookingRepository,
-                          TimeSlotRepository timeSlotRepository) {
+                          PricingEngine pricingEngine) {
         this.geminiClient = geminiClient;
         this.courtGroupRepository = courtGroupRepository;
-        this.courtPriceRepository = courtPriceRepository;
         this.bookingRepository = bookingRepository;
-        this.timeSlotRepository = timeSlotRepository;
+        this.pricingEngine = pricingEngine;
     }
 
     public ChatbotResponse handleRequest(ChatbotRequest req) {
@@ -149,11 +146,12 @@ public class ChatbotService {
 
         CourtGroup group = cg.get();
         
-        // Get all prices for this court group
-        List<com.example.booking_service.entity.CourtPrice> prices = 
-                courtPriceRepository.findByCourtGroupId(group.getId());
+        // Get the prices in force today from the compiled price table
+        LocalDate today = LocalDate.now();
+        List<PricingEngine.SlotPrice> weekdayPrices = pricingEngine.slotPrices(group.getId(), "WEEKDAY", today);
+        List<PricingEngine.SlotPrice> weekendPrices = pricingEngine.slotPrices(group.getId(), "WEEKEND", today);
         
-        if (prices.isEmpty()) {
+        if (weekdayPrices.isEmpty() && weekendPrices.isEmpty()) {
             return simpleAnswer(
                     String.format("Sân %s hiện chưa có thông tin giá. Vui lòng liên hệ trực tiếp với chủ sân nhé.", 
                             group.getName()),
@@ -166,22 +164,16 @@ public class ChatbotService {
         StringBuilder msg = new StringBuilder();
         msg.append(String.format("Giá của sân %s tùy thuộc vào khung giờ và ngày:\n\n", group.getName()));
 
-        // Group prices by day type
-        java.util.Map<String, java.util.List<com.example.booking_service.entity.CourtPrice>> pricesByDayType = 
-                prices.stream().collect(java.util.stream.Collectors.groupingBy(
-                        p -> p.getDayType() != null ? p.getDayType() : "WEEKDAY"
-                ));
-
         // Process WEEKDAY prices
-        if (pricesByDayType.containsKey("WEEKDAY")) {
+        if (!weekdayPrices.isEmpty()) {
             msg.append("📅 Ngày trong tuần (T2-T6):\n");
-            appendPricesForDayType(msg, pricesByDayType.get("WEEKDAY"));
+            appendPricesForDayType(msg, weekdayPrices);
         }
 
         // Process WEEKEND prices
-        if (pricesByDayType.containsKey("WEEKEND")) {
+        if (!weekendPrices.isEmpty()) {
             msg.append("\n📅 Cuối tuần (T7-CN):\n");
-            appendPricesForDayType(msg, pricesByDayType.get("WEEKEND"));
+            appendPricesForDayType(msg, weekendPrices);
         }
 
         msg.append("\n💡 Lưu ý: Giá đã bao gồm theo giờ chơi.");
@@ -193,26 +185,17 @@ public class ChatbotService {
         );
     }
 
-    private void appendPricesForDayType(StringBuilder msg, 
-            java.util.List<com.example.booking_service.entity.CourtPrice> prices) {
-        // Sort by time slot ID
-        prices.sort(java.util.Comparator.comparing(com.example.booking_service.entity.CourtPrice::getTimeSlotId));
-
-        for (com.example.booking_service.entity.CourtPrice price : prices) {
-            // Get time slot info
-            com.example.booking_service.entity.TimeSlot timeSlot = 
-                    timeSlotRepository.findById(price.getTimeSlotId()).orElse(null);
+    private void appendPricesForDayType(StringBuilder msg, List<PricingEngine.SlotPrice> prices) {
+        // Slot prices are already in time slot order
+        for (PricingEngine.SlotPrice price : prices) {
+            // Price is for 30 minutes, so multiply by 2 for hourly rate
+            double hourlyPrice = (price.price() != null ? price.price() : 0) * 2;
             
-            if (timeSlot != null) {
-                // Price is for 30 minutes, so multiply by 2 for hourly rate
-                double hourlyPrice = (price.getPrice() != null ? price.getPrice() : 0) * 2;
-                
-                msg.append(String.format("   ⏰ %s - %s: %,.0f đ/giờ\n",
-                        timeSlot.getStartTime(),
-                        timeSlot.getEndTime(),
-                        hourlyPrice
-                ));
-            }
+            msg.append(String.format("   ⏰ %s - %s: %,.0f đ/giờ\n",
+                    price.startTime(),
+                    price.endTime(),
+                    hourlyPrice
+            ));
         }
     }
 
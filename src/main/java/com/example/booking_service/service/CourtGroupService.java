@@ -6,6 +6,9 @@ import com.example.booking_service.entity.*;
 import com.example.booking_service.exception.AppException;
 import com.example.booking_service.exception.ErrorCode;
 import com.example.booking_service.repository.*;
+import com.example.booking_service.service.availability.CalendarVersions;
+import com.example.booking_service.service.availability.SlotAvailabilityIndex;
+import com.example.booking_service.util.RequestCoalescer;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
@@ -39,6 +42,9 @@ public class CourtGroupService {
     TimeSlotRepository timeSlotRepository;
     FileStorageService fileStorageService;
     UserRepository userRepository;
+    SlotAvailabilityIndex slotAvailabilityIndex;
+    CalendarVersions calendarVersions;
+    RequestCoalescer requestCoalescer;
 
     public List<CourtGroupResponse> getCourtGroups(String province, String district) {
         return courtGroupRepository.findByProvinceAndDistrict(province, district)
@@ -48,6 +54,12 @@ public class CourtGroupService {
     }
 
     public CourtGroupResponse getCourtGroupById(Long id) {
+        // Keyed by the group version so a caller never joins a load that began before the last edit committed
+        return requestCoalescer.execute("court-group", List.of(id, calendarVersions.groupVersion(id)),
+                () -> loadCourtGroupById(id));
+    }
+    
+    private CourtGroupResponse loadCourtGroupById(Long id) {
         CourtGroup courtGroup = courtGroupRepository.findById(id)
                 .orElseThrow(() -> new AppException(ErrorCode.COURT_GROUP_NOT_EXISTED));
         
@@ -142,12 +154,13 @@ public class CourtGroupService {
                 courts.add(court);
             }
             courtRepository.saveAll(courts);
+            slotAvailabilityIndex.evictCourts(savedCourtGroup.getId());
         }
         
         return toResponse(savedCourtGroup);
     }
 
-    private CourtGroupResponse toResponse(CourtGroup entity) {
+    public CourtGroupResponse toResponse(CourtGroup entity) {
         return CourtGroupResponse.builder()
                 .id(entity.getId() != null ? entity.getId().toString() : null)
                 .name(entity.getName())
@@ -213,6 +226,11 @@ public class CourtGroupService {
      * Get court group detail by ID with owner info, courts, and stats
      */
     public CourtGroupDetailResponse getCourtGroupDetailById(Long id) {
+        return requestCoalescer.execute("court-group-detail", List.of(id, calendarVersions.groupVersion(id)),
+                () -> loadCourtGroupDetailById(id));
+    }
+    
+    private CourtGroupDetailResponse loadCourtGroupDetailById(Long id) {
         CourtGroup courtGroup = courtGroupRepository.findById(id)
                 .orElseThrow(() -> new AppException(ErrorCode.COURT_GROUP_NOT_EXISTED));
         
@@ -243,6 +261,7 @@ public class CourtGroupService {
         
         courtGroup.setStatus("approved");
         CourtGroup updatedCourtGroup = courtGroupRepository.save(courtGroup);
+        calendarVersions.groupChanged(id);
         
         return toListResponse(updatedCourtGroup);
     }
@@ -262,6 +281,7 @@ public class CourtGroupService {
         
         courtGroup.setStatus("rejected");
         CourtGroup updatedCourtGroup = courtGroupRepository.save(courtGroup);
+        calendarVersions.groupChanged(id);
         
         return toListResponse(updatedCourtGroup);
     }
@@ -289,6 +309,7 @@ public class CourtGroupService {
         // Soft delete: set isDeleted = true
         courtGroup.setIsDeleted(true);
         courtGroupRepository.save(courtGroup);
+        calendarVersions.groupChanged(id);
     }
     
     /**
@@ -313,6 +334,7 @@ public class CourtGroupService {
         // Soft delete: set isDeleted = true (1)
         courtGroup.setIsDeleted(true);
         courtGroupRepository.save(courtGroup);
+        calendarVersions.groupChanged(id);
         
         return SoftDeleteCourtGroupResponse.builder()
                 .id(courtGroup.getId().toString())
@@ -449,9 +471,11 @@ public class CourtGroupService {
                     courtRepository.save(court);
                 }
             }
+            slotAvailabilityIndex.evictCourts(id);
         }
         
         CourtGroup updatedCourtGroup = courtGroupRepository.save(courtGroup);
+        calendarVersions.groupChanged(id);
         
         return toResponse(updatedCourtGroup);
     }
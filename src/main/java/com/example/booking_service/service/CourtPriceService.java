@@ -6,7 +6,9 @@ import com.example.booking_service.dto.response.CourtPriceResponse;
 import com.example.booking_service.entity.CourtPrice;
 import com.example.booking_service.entity.TimeSlot;
 import com.example.booking_service.repository.CourtPriceRepository;
-import com.example.booking_service.repository.TimeSlotRepository;
+import com.example.booking_service.service.availability.CalendarVersions;
+import com.example.booking_service.service.pricing.PriceVersions;
+import com.example.booking_service.service.pricing.PricingEngine;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
@@ -15,8 +17,8 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.Comparator;
-import java.util.List;
+import java.util.*;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -28,7 +30,8 @@ public class CourtPriceService {
     static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm:ss");
 
     CourtPriceRepository courtPriceRepository;
-    TimeSlotRepository timeSlotRepository;
+    PricingEngine pricingEngine;
+    CalendarVersions calendarVersions;
 
     public List<CourtPriceResponse> getCourtPricesByCourtGroupId(Long courtGroupId) {
         try {
@@ -70,25 +73,27 @@ public class CourtPriceService {
             // Parse effective date
             LocalDate effectiveDate = LocalDate.parse(request.getEffectiveDate(), DATE_FORMATTER);
             
-            // Check if price already exists
-            CourtPrice existingPrice = courtPriceRepository.findByCourtGroupIdAndTimeSlotIdAndDayType(
-                    request.getCourtGroupId(), 
-                    request.getTimeSlotId(), 
-                    request.getDayType()
-            );
+            // Prices are versioned by effective date: only a row with the same effective date is
+            // overwritten, otherwise a new version is added and the older ones are kept as history
+            CourtPrice existingPrice = courtPriceRepository
+                    .findFirstByCourtGroupIdAndTimeSlotIdAndDayTypeAndEffectiveDateOrderByIdDesc(
+                            request.getCourtGroupId(),
+                            request.getTimeSlotId(),
+                            request.getDayType(),
+                            effectiveDate)
+                    .orElse(null);
             
             CourtPrice courtPrice;
             
             if (existingPrice != null) {
-                // UPDATE existing price
+                // UPDATE existing version
                 log.info("Updating existing court price with ID: {}", existingPrice.getId());
                 existingPrice.setPrice(request.getPrice());
-                existingPrice.setEffectiveDate(effectiveDate);
                 existingPrice.setCourtId(request.getCourtId());
                 courtPrice = courtPriceRepository.save(existingPrice);
             } else {
-                // INSERT new price
-                log.info("Creating new court price");
+                // INSERT new version
+                log.info("Creating new court price version effective from {}", effectiveDate);
                 courtPrice = CourtPrice.builder()
                         .courtGroupId(request.getCourtGroupId())
                         .courtId(request.getCourtId())
@@ -100,6 +105,10 @@ public class CourtPriceService {
                 courtPrice = courtPriceRepository.save(courtPrice);
             }
             
+            // Recompile the group's price table so lookups see the new price
+            pricingEngine.rebuild(request.getCourtGroupId());
+            calendarVersions.groupChanged(request.getCourtGroupId());
+            
             log.info("Court price saved successfully with ID: {}", courtPrice.getId());
             return toResponse(courtPrice);
             
@@ -111,7 +120,8 @@ public class CourtPriceService {
     
     /**
      * Get court prices with time slot information
-     * Returns prices with startTime and endTime from TimeSlot
+     * Returns, per time slot and day type, the price version charged today
+     * (see PriceVersions) with startTime and endTime from TimeSlot
      */
     public List<CourtPriceDTO> getCourtPricesWithTimeSlots(Long courtGroupId) {
         try {
@@ -119,10 +129,12 @@ public class CourtPriceService {
             List<CourtPrice> courtPrices = courtPriceRepository.findByCourtGroupId(courtGroupId);
             log.info("Found {} court prices", courtPrices.size());
             
-            return courtPrices.stream()
+            Map<Long, TimeSlot> timeSlotMap = pricingEngine.getTimeSlots().stream()
+                    .collect(Collectors.toMap(TimeSlot::getId, ts -> ts));
+            
+            return currentVersions(courtPrices, LocalDate.now()).stream()
                     .map(cp -> {
-                        TimeSlot timeSlot = timeSlotRepository.findById(cp.getTimeSlotId())
-                                .orElse(null);
+                        TimeSlot timeSlot = timeSlotMap.get(cp.getTimeSlotId());
                         
                         return CourtPriceDTO.builder()
                                 .id(cp.getId())
@@ -143,6 +155,19 @@ public class CourtPriceService {
         }
     }
     
+    /**
+     * Keep one version per (time slot, day type): the one bookings are charged on the date
+     */
+    private List<CourtPrice> currentVersions(List<CourtPrice> courtPrices, LocalDate date) {
+        Map<String, List<CourtPrice>> byKey = new LinkedHashMap<>();
+        for (CourtPrice cp : courtPrices) {
+            byKey.computeIfAbsent(cp.getTimeSlotId() + "|" + cp.getDayType(), k -> new ArrayList<>()).add(cp);
+        }
+        return byKey.values().stream()
+                .map(versions -> PriceVersions.inForce(versions, date))
+                .toList();
+    }
+    
     private String formatTime(java.time.LocalTime time) {
         if (time == null) {
             return null;
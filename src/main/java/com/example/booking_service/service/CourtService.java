@@ -6,6 +6,7 @@ import com.example.booking_service.entity.Court;
 import com.example.booking_service.exception.AppException;
 import com.example.booking_service.exception.ErrorCode;
 import com.example.booking_service.repository.CourtRepository;
+import com.example.booking_service.service.availability.SlotAvailabilityIndex;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
@@ -22,6 +23,7 @@ import java.util.List;
 public class CourtService {
 
     CourtRepository courtRepository;
+    SlotAvailabilityIndex slotAvailabilityIndex;
 
     public CourtResponse getCourtById(Long id) {
         Court court = courtRepository.findById(id)
@@ -50,6 +52,7 @@ public class CourtService {
                     .build();
             
             Court savedCourt = courtRepository.save(court);
+            slotAvailabilityIndex.evictCourts(savedCourt.getCourtGroupId());
             log.info("Court created successfully with ID: {}", savedCourt.getId());
             
             return toResponse(savedCourt);
@@ -73,6 +76,7 @@ public class CourtService {
             court.setUpdatedAt(LocalDateTime.now());
             
             Court updatedCourt = courtRepository.save(court);
+            slotAvailabilityIndex.evictCourts(updatedCourt.getCourtGroupId());
             log.info("Court status updated successfully. ID: {}, new status: {}", courtId, status);
             
             return toResponse(updatedCourt);
@@ -7,6 +7,8 @@ import com.example.booking_service.exception.AppException;
 import com.example.booking_service.exception.ErrorCode;
 import com.example.booking_service.repository.CourtGroupRepository;
 import com.example.booking_service.repository.FavoriteRepository;
+import com.example.booking_service.service.batch.EntityBatch;
+import com.example.booking_service.service.batch.EntityBatchLoader;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
@@ -27,6 +29,7 @@ public class FavoriteService {
     FavoriteRepository favoriteRepository;
     CourtGroupRepository courtGroupRepository;
     CourtGroupService courtGroupService;
+    EntityBatchLoader entityBatchLoader;
 
     /**
      * Add court group to favorites
@@ -85,16 +88,18 @@ public class FavoriteService {
      */
     public List<CourtGroupResponse> getFavoriteCourts(Long userId) {
         List<Favorite> favorites = favoriteRepository.findByUserId(userId);
+        EntityBatch batch = entityBatchLoader.newBatch()
+                .courtGroups(favorites, Favorite::getCourtGroupId)
+                .resolve();
         
         return favorites.stream()
                 .map(f -> {
                     try {
-                        CourtGroup courtGroup = courtGroupRepository.findById(f.getCourtGroupId())
-                                .orElse(null);
+                        CourtGroup courtGroup = batch.courtGroup(f.getCourtGroupId());
                         
                         // Only return if court group exists and is not deleted
                         if (courtGroup != null && !Boolean.TRUE.equals(courtGroup.getIsDeleted())) {
-                            return courtGroupService.getCourtGroupById(courtGroup.getId());
+                            return courtGroupService.toResponse(courtGroup);
                         }
                         return null;
                     } catch (Exception e) {
@@ -10,12 +10,17 @@ import com.example.booking_service.entity.*;
 import com.example.booking_service.exception.AppException;
 import com.example.booking_service.exception.ErrorCode;
 import com.example.booking_service.repository.*;
+import com.example.booking_service.service.availability.BookingConflictIndex;
+import com.example.booking_service.service.availability.SlotAvailabilityIndex;
+import com.example.booking_service.service.pricing.PricingEngine;
+import com.example.booking_service.service.stats.BookingColumnStore;
+import com.example.booking_service.service.stats.BookingDailyStatsService;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
@@ -38,8 +43,13 @@ public class FixedBookingService {
     BookingRepository bookingRepository;
     CourtRepository courtRepository;
     CourtGroupRepository courtGroupRepository;
-    TimeSlotRepository timeSlotRepository;
-    CourtPriceRepository courtPriceRepository;
+    SlotAvailabilityIndex slotAvailabilityIndex;
+    SlotClaimService slotClaimService;
+    BookingBatchWriter bookingBatchWriter;
+    TransactionTemplate transactionTemplate;
+    PricingEngine pricingEngine;
+    BookingDailyStatsService bookingDailyStatsService;
+    BookingColumnStore bookingColumnStore;
 
     /**
      * Calculate price preview for fixed booking
@@ -80,7 +90,7 @@ public class FixedBookingService {
 
         for (LocalDate date : bookingDates) {
             String dayType = getDayType(date);
-            Double basePrice = getBasePrice(courtGroup.getId(), timeSlotId, dayType, date);
+            Double basePrice = getBasePrice(courtGroup.getId(), timeSlotId, date);
 
             if (basePrice == null || basePrice == 0.0) {
                 log.warn("No price found for courtGroupId={}, timeSlotId={}, dayType={}, date={}",
@@ -141,23 +151,8 @@ public class FixedBookingService {
         List<LocalDate> bookingDates = calculateBookingDates(startDate, endDate, request.getDaysOfWeek());
 
         // Check conflicts
-        List<ConflictCheckResponse.ConflictBooking> conflicts = new ArrayList<>();
-
-        for (LocalDate date : bookingDates) {
-            List<Booking> existingBookings = bookingRepository.findActiveBookingsByCourtAndDate(
-                    request.getCourtId(), date);
-
-            for (Booking booking : existingBookings) {
-                if (isTimeOverlap(startTime, endTime, booking.getStartTime(), booking.getEndTime())) {
-                    conflicts.add(ConflictCheckResponse.ConflictBooking.builder()
-                            .bookingDate(date.format(DATE_FORMATTER))
-                            .startTime(formatTime(booking.getStartTime()))
-                            .endTime(formatTime(booking.getEndTime()))
-                            .courtName(court.getName())
-                            .build());
-                }
-            }
-        }
+        List<ConflictCheckResponse.ConflictBooking> conflicts =
+                findConflicts(court, startDate, endDate, bookingDates, startTime, endTime);
 
         return ConflictCheckResponse.builder()
                 .conflicts(conflicts)
@@ -165,9 +160,10 @@ public class FixedBookingService {
     }
 
     /**
-     * Create fixed booking and generate individual bookings
+     * Create fixed booking and generate individual bookings.
+     * Validation, conflict pre-check and pricing run before the transaction; the transaction
+     * only holds the fixed booking insert, the bulk insert of occurrences and their slot claims.
      */
-    @Transactional
     public FixedBookingResponse createFixedBooking(CreateFixedBookingRequest request) {
         // Validate
         LocalDate startDate = LocalDate.parse(request.getStartDate(), DATE_FORMATTER);
@@ -191,27 +187,20 @@ public class FixedBookingService {
             throw new AppException(ErrorCode.INVALID_KEY);
         }
 
-        // Check conflicts
-        ConflictCheckRequest conflictRequest = ConflictCheckRequest.builder()
-                .courtId(request.getCourtId())
-                .startDate(request.getStartDate())
-                .endDate(request.getEndDate())
-                .daysOfWeek(request.getDaysOfWeek())
-                .startTime(request.getStartTime())
-                .endTime(request.getEndTime())
-                .build();
-
-        ConflictCheckResponse conflictCheck = checkConflicts(conflictRequest);
-        if (!conflictCheck.getConflicts().isEmpty()) {
-            throw new AppException(ErrorCode.INVALID_KEY);
-        }
-
         // Get court and court group
         Court court = courtRepository.findById(request.getCourtId())
                 .orElseThrow(() -> new AppException(ErrorCode.COURT_NOT_EXISTED));
         CourtGroup courtGroup = courtGroupRepository.findById(court.getCourtGroupId())
                 .orElseThrow(() -> new AppException(ErrorCode.COURT_GROUP_NOT_EXISTED));
 
+        // Calculate booking dates
+        List<LocalDate> bookingDates = calculateBookingDates(startDate, endDate, request.getDaysOfWeek());
+
+        // Check conflicts
+        if (!findConflicts(court, startDate, endDate, bookingDates, startTime, endTime).isEmpty()) {
+            throw new AppException(ErrorCode.INVALID_KEY);
+        }
+
         // Get time slot ID
         Long timeSlotId = getTimeSlotId(startTime, endTime);
         if (timeSlotId == null) {
@@ -235,13 +224,8 @@ public class FixedBookingService {
                 .createdAt(LocalDateTime.now())
                 .build();
 
-        FixedBooking savedFixedBooking = fixedBookingRepository.save(fixedBooking);
-
-        // Calculate booking dates
-        List<LocalDate> bookingDates = calculateBookingDates(startDate, endDate, request.getDaysOfWeek());
-
-        // Create individual bookings
-        int createdCount = 0;
+        // Build individual bookings
+        List<Booking> createdBookings = new ArrayList<>();
         String address = String.format("%s, %s, %s",
                 courtGroup.getAddress(),
                 courtGroup.getDistrict(),
@@ -250,10 +234,11 @@ public class FixedBookingService {
         // Calculate duration in minutes and number of 30-minute units
         long durationMinutes = java.time.Duration.between(startTime, endTime).toMinutes();
         double units = durationMinutes / 30.0; // Number of 30-minute units
+        LocalDateTime createdAt = LocalDateTime.now();
 
         for (LocalDate date : bookingDates) {
             String dayType = getDayType(date);
-            Double basePrice = getBasePrice(courtGroup.getId(), timeSlotId, dayType, date);
+            Double basePrice = getBasePrice(courtGroup.getId(), timeSlotId, date);
 
             if (basePrice == null || basePrice == 0.0) {
                 log.warn("Skipping booking for date {} - no price found", date);
@@ -273,13 +258,29 @@ public class FixedBookingService {
                     .status("CONFIRMED")
                     .price(finalPrice)
                     .address(address)
-                    .createdAt(LocalDateTime.now())
+                    .createdAt(createdAt)
                     .build();
 
-            bookingRepository.save(booking);
-            createdCount++;
+            createdBookings.add(booking);
         }
 
+        FixedBooking savedFixedBooking = transactionTemplate.execute(status -> {
+            FixedBooking saved = fixedBookingRepository.save(fixedBooking);
+
+            // One multi-row INSERT per chunk instead of one save() per occurrence
+            bookingBatchWriter.insertBookings(createdBookings);
+
+            // Claim every occurrence's slots; any slot taken meanwhile rolls back the whole series
+            slotClaimService.claimAll(createdBookings);
+            bookingDailyStatsService.bookingsCreated(createdBookings);
+            slotAvailabilityIndex.bookingsSaved(createdBookings);
+            bookingColumnStore.bookingsSaved(createdBookings);
+            return saved;
+        });
+
+        log.info("Fixed booking created: id={}, courtId={}, occurrences={}",
+                savedFixedBooking.getId(), savedFixedBooking.getCourtId(), createdBookings.size());
+
         return FixedBookingResponse.builder()
                 .id(savedFixedBooking.getId())
                 .userId(savedFixedBooking.getUserId())
@@ -290,12 +291,45 @@ public class FixedBookingService {
                 .startTime(formatTime(savedFixedBooking.getStartTime()))
                 .endTime(formatTime(savedFixedBooking.getEndTime()))
                 .status(savedFixedBooking.getStatus())
-                .createdBookingsCount(createdCount)
+                .createdBookingsCount(createdBookings.size())
                 .build();
     }
 
     // ========== Helper Methods ==========
 
+    /**
+     * Find every existing booking that overlaps one of the candidate occurrences.
+     * All active bookings of the court in [startDate, endDate] are fetched with one query
+     * and indexed per day, then each occurrence is tested in memory.
+     */
+    private List<ConflictCheckResponse.ConflictBooking> findConflicts(Court court,
+                                                                      LocalDate startDate,
+                                                                      LocalDate endDate,
+                                                                      List<LocalDate> bookingDates,
+                                                                      LocalTime startTime,
+                                                                      LocalTime endTime) {
+        List<ConflictCheckResponse.ConflictBooking> conflicts = new ArrayList<>();
+        if (bookingDates.isEmpty()) {
+            return conflicts;
+        }
+
+        BookingConflictIndex conflictIndex = BookingConflictIndex.of(
+                bookingRepository.findActiveBookingsByCourtAndDateBetween(court.getId(), startDate, endDate));
+
+        for (LocalDate date : bookingDates) {
+            for (Booking booking : conflictIndex.overlapping(date, startTime, endTime)) {
+                conflicts.add(ConflictCheckResponse.ConflictBooking.builder()
+                        .bookingDate(date.format(DATE_FORMATTER))
+                        .startTime(formatTime(booking.getStartTime()))
+                        .endTime(formatTime(booking.getEndTime()))
+                        .courtName(court.getName())
+                        .build());
+            }
+        }
+
+        return conflicts;
+    }
+
     /**
      * Calculate booking dates based on start date, end date, and days of week
      * Frontend format: 0=Sunday, 1=Monday, 2=Tuesday, 3=Wednesday, 4=Thursday, 5=Friday, 6=Saturday
@@ -339,8 +373,8 @@ public class FixedBookingService {
      * Get time slot ID based on start time and end time
      */
     private Long getTimeSlotId(LocalTime startTime, LocalTime endTime) {
-        List<TimeSlot> timeSlots = timeSlotRepository.findAll();
-        
+        List<TimeSlot> timeSlots = pricingEngine.getTimeSlots();
+
         for (TimeSlot slot : timeSlots) {
             // Check if startTime and endTime are within the slot range
             if (startTime.compareTo(slot.getStartTime()) >= 0 && 
@@ -361,43 +395,11 @@ public class FixedBookingService {
     }
 
     /**
-     * Get base price from court_prices (price per 30 minutes)
+     * Get base price from the compiled price table (price per 30 minutes)
      */
-    private Double getBasePrice(Long courtGroupId, Long timeSlotId, String dayType, LocalDate date) {
-        // Try to get active price for the date
-        List<CourtPrice> prices = courtPriceRepository.findActivePricesByCourtGroupAndDayType(
-                courtGroupId, dayType, date);
-        
-        if (!prices.isEmpty()) {
-            // Filter by time slot
-            Optional<CourtPrice> matchingPrice = prices.stream()
-                    .filter(p -> p.getTimeSlotId().equals(timeSlotId))
-                    .findFirst();
-            
-            if (matchingPrice.isPresent()) {
-                return matchingPrice.get().getPrice();
-            }
-        }
-        
-        // Fallback: get latest price regardless of effective date
-        List<CourtPrice> latestPrices = courtPriceRepository.findLatestPricesByCourtGroupAndDayType(
-                courtGroupId, dayType);
-        
-        return latestPrices.stream()
-                .filter(p -> p.getTimeSlotId().equals(timeSlotId))
-                .findFirst()
-                .map(CourtPrice::getPrice)
-                .orElse(0.0);
-    }
-
-    /**
-     * Check if two time ranges overlap
-     */
-    private boolean isTimeOverlap(LocalTime start1, LocalTime end1, LocalTime start2, LocalTime end2) {
-        if (start1 == null || end1 == null || start2 == null || end2 == null) {
-            return false;
-        }
-        return start1.isBefore(end2) && end1.isAfter(start2);
+    private Double getBasePrice(Long courtGroupId, Long timeSlotId, LocalDate date) {
+        Double price = pricingEngine.unitPrice(courtGroupId, timeSlotId, date);
+        return price != null ? price : 0.0;
     }
 
     /**
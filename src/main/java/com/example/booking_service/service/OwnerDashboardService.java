@@ -13,7 +13,14 @@ import com.example.booking_service.repository.CourtGroupRepository;
 import com.example.booking_service.repository.CourtRepository;
 import com.example.booking_service.repository.ReviewRepository;
 import com.example.booking_service.repository.TimeSlotRepository;
-import com.example.booking_service.repository.UserRepository;
+import com.example.booking_service.repository.projection.BookingAggregateRow;
+import com.example.booking_service.service.batch.EntityBatch;
+import com.example.booking_service.service.batch.EntityBatchLoader;
+import com.example.booking_service.service.stats.BookingColumnStore;
+import com.example.booking_service.service.stats.OwnerDashboardAggregator;
+import com.example.booking_service.service.stats.StatusTotals;
+import com.example.booking_service.service.stats.UtilizationEngine;
+import com.example.booking_service.service.stats.UtilizationHeatmap;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
@@ -23,11 +30,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -41,7 +48,9 @@ public class OwnerDashboardService {
     ReviewRepository reviewRepository;
     CourtRepository courtRepository;
     TimeSlotRepository timeSlotRepository;
-    UserRepository userRepository;
+    EntityBatchLoader entityBatchLoader;
+    UtilizationEngine utilizationEngine;
+    BookingColumnStore bookingColumnStore;
 
     static final DateTimeFormatter DATE_LABEL_FORMATTER = DateTimeFormatter.ofPattern("dd/MM");
     static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
@@ -74,29 +83,64 @@ public class OwnerDashboardService {
             return buildEmptyResponse();
         }
 
-        // 3. Tính toán Overview Metrics
-        OwnerDashboardResponse.OverviewMetrics overview = calculateOverviewMetrics(
-                ownerCourtGroups, courtIds, startDate, endDate);
-
-        // 4. Tính toán Booking Trend (chỉ hiển thị trong khoảng period.getDays() ngày gần nhất)
+        // 3. Stream bookings của owner một lần cho kỳ hiện tại và trend
+        //    và tính mọi section trong cùng một lượt
         LocalDate trendStart = endDate.minusDays(period.getDays() - 1);
         if (trendStart.isBefore(startDate)) {
             trendStart = startDate;
         }
-        List<OwnerDashboardResponse.SeriesPoint> bookingTrend = calculateBookingTrend(
-                courtIds, trendStart, endDate, period);
 
-        // 5. Tính toán Revenue Trend (chỉ hiển thị trong khoảng period.getDays() ngày gần nhất)
-        List<OwnerDashboardResponse.SeriesPoint> revenueTrend = calculateRevenueTrend(
-                courtIds, trendStart, endDate, period);
+        Map<Long, Integer> groupIndexById = new HashMap<>();
+        for (int i = 0; i < ownerCourtGroups.size(); i++) {
+            groupIndexById.put(ownerCourtGroups.get(i).getId(), i);
+        }
+        Map<Long, Integer> groupIndexByCourt = new HashMap<>();
+        courts.forEach(court -> groupIndexByCourt.put(court.getId(), groupIndexById.get(court.getCourtGroupId())));
+
+        List<TimeSlot> timeSlots = timeSlotRepository.findAll().stream()
+                .filter(slot -> slot.getStartTime() != null && slot.getEndTime() != null)
+                .sorted(Comparator.comparing(TimeSlot::getStartTime))
+                .toList();
+        Map<Long, CourtGroup> groupsById = ownerCourtGroups.stream()
+                .collect(Collectors.toMap(CourtGroup::getId, cg -> cg));
+
+        OwnerDashboardAggregator aggregator = new OwnerDashboardAggregator(
+                startDate, endDate, trendStart, groupIndexByCourt, ownerCourtGroups.size());
+        UtilizationEngine.Sweep utilizationSweep = utilizationEngine.start(
+                courts, groupsById, startDate, endDate, timeSlots);
+        try (Stream<BookingAggregateRow> rows = bookingRepository.streamAggregateRows(
+                courtIds, aggregator.windowStart(), aggregator.windowEnd())) {
+            rows.forEach(row -> {
+                aggregator.accept(row);
+                utilizationSweep.accept(row);
+            });
+        }
+        UtilizationHeatmap heatmap = utilizationSweep.finish();
+
+        // Rating trung bình theo từng court group (một query GROUP BY)
+        Map<Long, double[]> ratingStats = new HashMap<>();
+        reviewRepository.findRatingStatsByCourtGroupIdIn(courtGroupIds).forEach(row -> ratingStats.put(
+                (Long) row[0],
+                new double[]{((Number) row[1]).doubleValue(), ((Number) row[2]).doubleValue()}));
 
-        // 6. Tính toán Booking Status Distribution
-        List<OwnerDashboardResponse.StatusDistribution> statusDistribution = 
-                calculateStatusDistribution(courtIds, startDate, endDate);
+        // Kỳ trước cùng độ dài, đọc từ cây Fenwick theo ngày của các court group
+        StatusTotals previousTotals = previousPeriodTotals(courtGroupIds, startDate, endDate);
 
-        // 7. Lấy Top Court Groups
-        List<OwnerDashboardResponse.CourtGroupHighlight> topCourtGroups = 
-                getTopCourtGroups(ownerCourtGroups, courtIds, startDate, endDate);
+        // 4. Overview Metrics
+        OwnerDashboardResponse.OverviewMetrics overview = buildOverviewMetrics(
+                ownerCourtGroups, aggregator, previousTotals, ratingStats);
+
+        // 5. Booking Trend và Revenue Trend (chỉ hiển thị trong khoảng period.getDays() ngày gần nhất)
+        List<OwnerDashboardResponse.SeriesPoint> bookingTrend = buildBookingTrend(aggregator);
+        List<OwnerDashboardResponse.SeriesPoint> revenueTrend = buildRevenueTrend(aggregator);
+
+        // 6. Booking Status Distribution
+        List<OwnerDashboardResponse.StatusDistribution> statusDistribution =
+                buildStatusDistribution(aggregator);
+
+        // 7. Top Court Groups
+        List<OwnerDashboardResponse.CourtGroupHighlight> topCourtGroups =
+                buildTopCourtGroups(ownerCourtGroups, aggregator, ratingStats);
 
         // 8. Lấy Recent Bookings
         List<OwnerDashboardResponse.BookingRow> recentBookings = 
@@ -106,9 +150,8 @@ public class OwnerDashboardService {
         List<OwnerDashboardResponse.ReviewHighlight> reviewHighlights = 
                 getReviewHighlights(courtGroupIds, 5);
 
-        // 10. Tính toán Utilization
-        List<OwnerDashboardResponse.UtilizationBreakdown> utilization = 
-                calculateUtilization(courtIds, startDate, endDate);
+        // 10. Utilization theo khung giờ, tính chính xác theo phút trong giờ mở cửa
+        List<OwnerDashboardResponse.UtilizationBreakdown> utilization = buildUtilization(timeSlots, heatmap);
 
         return OwnerDashboardResponse.builder()
                 .overview(overview)
@@ -119,240 +162,148 @@ public class OwnerDashboardService {
                 .recentBookings(recentBookings)
                 .reviewHighlights(reviewHighlights)
                 .utilization(utilization)
+                .utilizationHeatmap(heatmap.toResponse(true))
                 .build();
     }
 
-    private OwnerDashboardResponse.OverviewMetrics calculateOverviewMetrics(
-            List<CourtGroup> courtGroups,
-            List<Long> courtIds,
-            LocalDate startDate,
-            LocalDate endDate) {
-
-        // Tổng số court groups
-        int totalCourtGroups = courtGroups.size();
-
-        // Tổng số bookings trong khoảng thời gian
-        List<Booking> bookings = bookingRepository.findByCourtIdInAndBookingDateBetween(
-                courtIds, startDate, endDate);
-
-        int totalBookings = bookings.size();
-
-        // Tổng doanh thu (chỉ tính CONFIRMED bookings)
-        double totalRevenue = bookings.stream()
-                .filter(b -> "CONFIRMED".equals(b.getStatus()))
-                .mapToDouble(b -> b.getPrice() != null ? b.getPrice() : 0.0)
-                .sum();
-
-        // Đánh giá trung bình
-        List<Review> reviews = reviewRepository.findByCourtGroupIdIn(
-                courtGroups.stream().map(CourtGroup::getId).collect(Collectors.toList()));
-
-        double averageRating = reviews.isEmpty() ? 0.0 :
-                reviews.stream()
-                        .mapToDouble(Review::getRating)
-                        .average()
-                        .orElse(0.0);
-
-        // Phân loại bookings theo status
-        long pendingBookings = bookings.stream()
-                .filter(b -> "PENDING".equals(b.getStatus()))
-                .count();
-
-        long confirmedBookings = bookings.stream()
-                .filter(b -> "CONFIRMED".equals(b.getStatus()))
-                .count();
+    private StatusTotals previousPeriodTotals(List<Long> courtGroupIds, LocalDate startDate, LocalDate endDate) {
+        LocalDate previousEnd = startDate.minusDays(1);
+        LocalDate previousStart = startDate.minusDays(ChronoUnit.DAYS.between(startDate, endDate) + 1);
+        try {
+            return bookingColumnStore.rangeTotals(courtGroupIds, previousStart, previousEnd);
+        } catch (IllegalStateException e) {
+            // store still loading right after startup: report no growth rather than failing the dashboard
+            log.warn("Previous period totals unavailable: {}", e.getMessage());
+            return StatusTotals.EMPTY;
+        }
+    }
 
-        long cancelledBookings = bookings.stream()
-                .filter(b -> "CANCELLED".equals(b.getStatus()))
-                .count();
+    private OwnerDashboardResponse.OverviewMetrics buildOverviewMetrics(
+            List<CourtGroup> courtGroups,
+            OwnerDashboardAggregator aggregator,
+            StatusTotals previousTotals,
+            Map<Long, double[]> ratingStats) {
+
+        int totalBookings = (int) aggregator.getTotalBookings();
+        double totalRevenue = aggregator.getConfirmedRevenue();
+
+        // Đánh giá trung bình trên tất cả reviews của owner
+        double ratingSum = 0;
+        double ratingCount = 0;
+        for (double[] stats : ratingStats.values()) {
+            ratingSum += stats[0] * stats[1];
+            ratingCount += stats[1];
+        }
+        double averageRating = ratingCount == 0 ? 0.0 : ratingSum / ratingCount;
 
         // Tính growth (so với kỳ trước)
-        long daysDiff = ChronoUnit.DAYS.between(startDate, endDate);
-        LocalDate previousStartDate = startDate.minusDays(daysDiff + 1);
-        LocalDate previousEndDate = startDate.minusDays(1);
-
-        List<Booking> previousBookings = bookingRepository.findByCourtIdInAndBookingDateBetween(
-                courtIds, previousStartDate, previousEndDate);
-
-        int previousTotalBookings = previousBookings.size();
-        double previousRevenue = previousBookings.stream()
-                .filter(b -> "CONFIRMED".equals(b.getStatus()))
-                .mapToDouble(b -> b.getPrice() != null ? b.getPrice() : 0.0)
-                .sum();
+        int previousTotalBookings = (int) previousTotals.totalCount();
+        double previousRevenue = previousTotals.revenue("CONFIRMED");
 
         int bookingGrowth = previousTotalBookings == 0 ? 0 :
                 (int) Math.round(((double) (totalBookings - previousTotalBookings) / previousTotalBookings) * 100);
         int revenueGrowth = previousRevenue == 0 ? 0 :
                 (int) Math.round(((totalRevenue - previousRevenue) / previousRevenue) * 100);
         return OwnerDashboardResponse.OverviewMetrics.builder()
-                .totalCourtGroups(totalCourtGroups)
+                .totalCourtGroups(courtGroups.size())
                 .totalBookings(totalBookings)
                 .totalRevenue(totalRevenue)
                 .averageRating(Math.round(averageRating * 10.0) / 10.0)
-                .pendingBookings((int) pendingBookings)
-                .confirmedBookings((int) confirmedBookings)
-                .cancelledBookings((int) cancelledBookings)
+                .pendingBookings((int) aggregator.getPendingBookings())
+                .confirmedBookings((int) aggregator.getConfirmedBookings())
+                .cancelledBookings((int) aggregator.getCancelledBookings())
                 .bookingGrowth(bookingGrowth)
                 .revenueGrowth(revenueGrowth)
                 .build();
     }
 
-    private List<OwnerDashboardResponse.SeriesPoint> calculateBookingTrend(
-            List<Long> courtIds,
-            LocalDate startDate,
-            LocalDate endDate,
-            AdminDashboardPeriod period) {
-
+    private List<OwnerDashboardResponse.SeriesPoint> buildBookingTrend(OwnerDashboardAggregator aggregator) {
         List<OwnerDashboardResponse.SeriesPoint> trend = new ArrayList<>();
-        LocalDate currentDate = startDate;
-
-        while (!currentDate.isAfter(endDate)) {
-            List<Booking> dayBookings = bookingRepository.findByCourtIdInAndBookingDate(
-                    courtIds, currentDate);
-
+        for (int day = 0; day < aggregator.trendDays(); day++) {
             trend.add(OwnerDashboardResponse.SeriesPoint.builder()
-                    .label(currentDate.format(DATE_LABEL_FORMATTER))
-                    .bookings(dayBookings.size())
+                    .label(aggregator.getTrendStartDate().plusDays(day).format(DATE_LABEL_FORMATTER))
+                    .bookings(aggregator.trendBookings(day))
                     .build());
-
-            currentDate = currentDate.plusDays(1);
         }
-
         return trend;
     }
 
-    private List<OwnerDashboardResponse.SeriesPoint> calculateRevenueTrend(
-            List<Long> courtIds,
-            LocalDate startDate,
-            LocalDate endDate,
-            AdminDashboardPeriod period) {
-
+    private List<OwnerDashboardResponse.SeriesPoint> buildRevenueTrend(OwnerDashboardAggregator aggregator) {
         List<OwnerDashboardResponse.SeriesPoint> trend = new ArrayList<>();
-        LocalDate currentDate = startDate;
-
-        while (!currentDate.isAfter(endDate)) {
-            List<Booking> dayBookings = bookingRepository.findByCourtIdInAndBookingDate(
-                    courtIds, currentDate);
-
-            double dayRevenue = dayBookings.stream()
-                    .filter(b -> "CONFIRMED".equals(b.getStatus()))
-                    .mapToDouble(b -> b.getPrice() != null ? b.getPrice() : 0.0)
-                    .sum();
-
+        for (int day = 0; day < aggregator.trendDays(); day++) {
             trend.add(OwnerDashboardResponse.SeriesPoint.builder()
-                    .label(currentDate.format(DATE_LABEL_FORMATTER))
-                    .revenue(dayRevenue)
+                    .label(aggregator.getTrendStartDate().plusDays(day).format(DATE_LABEL_FORMATTER))
+                    .revenue(aggregator.trendRevenue(day))
                     .build());
-
-            currentDate = currentDate.plusDays(1);
         }
-
         return trend;
     }
 
-    private List<OwnerDashboardResponse.StatusDistribution> calculateStatusDistribution(
-            List<Long> courtIds,
-            LocalDate startDate,
-            LocalDate endDate) {
-
-        List<Booking> bookings = bookingRepository.findByCourtIdInAndBookingDateBetween(
-                courtIds, startDate, endDate);
-
-        long pending = bookings.stream().filter(b -> "PENDING".equals(b.getStatus())).count();
-        long confirmed = bookings.stream().filter(b -> "CONFIRMED".equals(b.getStatus())).count();
-        long cancelled = bookings.stream().filter(b -> "CANCELLED".equals(b.getStatus())).count();
+    private List<OwnerDashboardResponse.StatusDistribution> buildStatusDistribution(
+            OwnerDashboardAggregator aggregator) {
 
         return Arrays.asList(
                 OwnerDashboardResponse.StatusDistribution.builder()
                         .label("Đang chờ")
-                        .value((int) pending)
+                        .value((int) aggregator.getPendingBookings())
                         .color("orange")
                         .build(),
                 OwnerDashboardResponse.StatusDistribution.builder()
                         .label("Đã xác nhận")
-                        .value((int) confirmed)
+                        .value((int) aggregator.getConfirmedBookings())
                         .color("teal")
                         .build(),
                 OwnerDashboardResponse.StatusDistribution.builder()
                         .label("Đã hủy")
-                        .value((int) cancelled)
+                        .value((int) aggregator.getCancelledBookings())
                         .color("red")
                         .build()
         );
     }
 
-    private List<OwnerDashboardResponse.CourtGroupHighlight> getTopCourtGroups(
+    private List<OwnerDashboardResponse.CourtGroupHighlight> buildTopCourtGroups(
             List<CourtGroup> courtGroups,
-            List<Long> courtIds,
-            LocalDate startDate,
-            LocalDate endDate) {
-
-        Map<Long, List<Court>> courtsByGroup = courtRepository.findByCourtGroupIdIn(
-                courtGroups.stream().map(CourtGroup::getId).collect(Collectors.toList()))
-                .stream()
-                .collect(Collectors.groupingBy(Court::getCourtGroupId));
-
-        return courtGroups.stream()
-                .map(cg -> {
-                    List<Long> groupCourtIds = courtsByGroup.getOrDefault(cg.getId(), Collections.emptyList())
-                            .stream()
-                            .map(Court::getId)
-                            .collect(Collectors.toList());
-
-                    if (groupCourtIds.isEmpty()) {
-                        return OwnerDashboardResponse.CourtGroupHighlight.builder()
-                                .id(cg.getId())
-                                .name(cg.getName())
-                                .address(cg.getAddress())
-                                .district(cg.getDistrict())
-                                .type(cg.getType())
-                                .rating(cg.getRating() != null ? cg.getRating() : 0.0)
-                                .bookings(0)
-                                .revenue(0.0)
-                                .build();
-                    }
-
-                    List<Booking> groupBookings = bookingRepository.findByCourtIdInAndBookingDateBetween(
-                            groupCourtIds, startDate, endDate);
-
-                    int bookings = groupBookings.size();
-                    double revenue = groupBookings.stream()
-                            .filter(b -> "CONFIRMED".equals(b.getStatus()))
-                            .mapToDouble(b -> b.getPrice() != null ? b.getPrice() : 0.0)
-                            .sum();
-
-                    // Lấy rating từ reviews
-                    List<Review> reviews = reviewRepository.findByCourtGroupId(cg.getId());
-                    double rating = reviews.isEmpty() ? (cg.getRating() != null ? cg.getRating() : 0.0) :
-                            reviews.stream()
-                                    .mapToDouble(Review::getRating)
-                                    .average()
-                                    .orElse(cg.getRating() != null ? cg.getRating() : 0.0);
-
-                    return OwnerDashboardResponse.CourtGroupHighlight.builder()
-                            .id(cg.getId())
-                            .name(cg.getName())
-                            .address(cg.getAddress())
-                            .district(cg.getDistrict())
-                            .type(cg.getType())
-                            .rating(Math.round(rating * 10.0) / 10.0)
-                            .bookings(bookings)
-                            .revenue(revenue)
-                            .build();
-                })
+            OwnerDashboardAggregator aggregator,
+            Map<Long, double[]> ratingStats) {
+
+        List<OwnerDashboardResponse.CourtGroupHighlight> highlights = new ArrayList<>();
+        for (int i = 0; i < courtGroups.size(); i++) {
+            CourtGroup cg = courtGroups.get(i);
+            double fallbackRating = cg.getRating() != null ? cg.getRating() : 0.0;
+            double[] stats = ratingStats.get(cg.getId());
+            double rating = stats != null ? stats[0] : fallbackRating;
+
+            highlights.add(OwnerDashboardResponse.CourtGroupHighlight.builder()
+                    .id(cg.getId())
+                    .name(cg.getName())
+                    .address(cg.getAddress())
+                    .district(cg.getDistrict())
+                    .type(cg.getType())
+                    .rating(Math.round(rating * 10.0) / 10.0)
+                    .bookings(aggregator.groupBookings(i))
+                    .revenue(aggregator.groupRevenue(i))
+                    .build());
+        }
+
+        return highlights.stream()
                 .sorted((a, b) -> Double.compare(b.getRevenue(), a.getRevenue()))
                 .limit(5)
                 .collect(Collectors.toList());
     }
 
     private List<OwnerDashboardResponse.BookingRow> getRecentBookings(List<Long> courtIds, int limit) {
-        return bookingRepository.findByCourtIdInOrderByCreatedAtDesc(courtIds, PageRequest.of(0, limit))
-                .stream()
+        List<Booking> bookings = bookingRepository.findByCourtIdInOrderByCreatedAtDesc(
+                courtIds, PageRequest.of(0, limit)).getContent();
+        EntityBatch batch = entityBatchLoader.newBatch()
+                .users(bookings, Booking::getUserId)
+                .courts(bookings, Booking::getCourtId)
+                .resolve();
+
+        return bookings.stream()
                 .map(booking -> {
-                    Court court = courtRepository.findById(booking.getCourtId()).orElse(null);
-                    CourtGroup courtGroup = court != null ?
-                            courtGroupRepository.findById(court.getCourtGroupId()).orElse(null) : null;
-                    User user = userRepository.findById(booking.getUserId()).orElse(null);
+                    Court court = batch.court(booking.getCourtId());
+                    CourtGroup courtGroup = batch.courtGroupOfCourt(booking.getCourtId());
+                    User user = batch.user(booking.getUserId());
 
                     String courtName = (courtGroup != null ? courtGroup.getName() + " - " : "") +
                             (court != null ? court.getName() : "");
@@ -376,11 +327,17 @@ public class OwnerDashboardService {
     }
 
     private List<OwnerDashboardResponse.ReviewHighlight> getReviewHighlights(List<Long> courtGroupIds, int limit) {
-        return reviewRepository.findByCourtGroupIdInOrderByCreatedAtDesc(courtGroupIds, PageRequest.of(0, limit))
-                .stream()
+        List<Review> reviews = reviewRepository.findByCourtGroupIdInOrderByCreatedAtDesc(
+                courtGroupIds, PageRequest.of(0, limit)).getContent();
+        EntityBatch batch = entityBatchLoader.newBatch()
+                .users(reviews, Review::getUserId)
+                .courtGroups(reviews, Review::getCourtGroupId)
+                .resolve();
+
+        return reviews.stream()
                 .map(review -> {
-                    User user = userRepository.findById(review.getUserId()).orElse(null);
-                    CourtGroup courtGroup = courtGroupRepository.findById(review.getCourtGroupId()).orElse(null);
+                    User user = batch.user(review.getUserId());
+                    CourtGroup courtGroup = batch.courtGroup(review.getCourtGroupId());
 
                     return OwnerDashboardResponse.ReviewHighlight.builder()
                             .id(review.getId())
@@ -395,32 +352,14 @@ public class OwnerDashboardService {
                 .collect(Collectors.toList());
     }
 
-    private List<OwnerDashboardResponse.UtilizationBreakdown> calculateUtilization(
-            List<Long> courtIds,
-            LocalDate startDate,
-            LocalDate endDate) {
+    private List<OwnerDashboardResponse.UtilizationBreakdown> buildUtilization(
+            List<TimeSlot> timeSlots,
+            UtilizationHeatmap heatmap) {
 
-        List<TimeSlot> timeSlots = timeSlotRepository.findAll();
         List<OwnerDashboardResponse.UtilizationBreakdown> utilization = new ArrayList<>();
 
-        LocalTime eveningStart = LocalTime.of(17, 30);
-        
-        for (TimeSlot timeSlot : timeSlots) {
-            List<Booking> slotBookings = bookingRepository.findByCourtIdInAndBookingDateBetweenAndTimeSlotId(
-                    courtIds, startDate, endDate, timeSlot.getId(), eveningStart);
-
-            // Tính tổng số giờ có thể đặt
-            long totalPossibleHours = calculateTotalPossibleHours(
-                    courtIds, startDate, endDate, timeSlot);
-
-            // Tính tổng số giờ đã đặt
-            long totalBookedHours = slotBookings.stream()
-                    .filter(b -> "CONFIRMED".equals(b.getStatus()))
-                    .mapToLong(this::calculateBookingHours)
-                    .sum();
-
-            int utilizationPercent = totalPossibleHours == 0 ? 0 :
-                    (int) Math.round((double) totalBookedHours / totalPossibleHours * 100);
+        for (int i = 0; i < timeSlots.size(); i++) {
+            TimeSlot timeSlot = timeSlots.get(i);
 
             String label = String.format("%s (%s - %s)",
                     timeSlot.getId() == 1 ? "Sáng" : "Tối",
@@ -430,7 +369,7 @@ public class OwnerDashboardService {
             utilization.add(OwnerDashboardResponse.UtilizationBreakdown.builder()
                     .timeSlotId(timeSlot.getId().intValue())
                     .label(label)
-                    .value(utilizationPercent)
+                    .value((int) Math.round(heatmap.bandUtilization(i)))
                     .color(timeSlot.getId() == 1 ? "indigo" : "violet")
                     .build());
         }
@@ -438,30 +377,6 @@ public class OwnerDashboardService {
         return utilization;
     }
 
-    private long calculateTotalPossibleHours(
-            List<Long> courtIds,
-            LocalDate startDate,
-            LocalDate endDate,
-            TimeSlot timeSlot) {
-
-        long days = ChronoUnit.DAYS.between(startDate, endDate) + 1;
-        long hoursPerDay = ChronoUnit.HOURS.between(
-                timeSlot.getStartTime(),
-                timeSlot.getEndTime());
-
-        return courtIds.size() * days * hoursPerDay;
-    }
-
-    private long calculateBookingHours(Booking booking) {
-        if (booking.getStartTime() == null || booking.getEndTime() == null) {
-            return 0;
-        }
-
-        return ChronoUnit.HOURS.between(
-                booking.getStartTime(),
-                booking.getEndTime());
-    }
-
     private OwnerDashboardResponse buildEmptyResponse() {
         return OwnerDashboardResponse.builder()
                 .overview(OwnerDashboardResponse.OverviewMetrics.builder()
@@ -0,0 +1,94 @@
+package com.example.booking_service.service;
+
+import com.example.booking_service.entity.Booking;
+import com.example.booking_service.entity.BookingSlotClaim;
+import com.example.booking_service.exception.AppException;
+import com.example.booking_service.exception.ErrorCode;
+import com.example.booking_service.repository.BookingBatchWriter;
+import com.example.booking_service.repository.BookingSlotClaimRepository;
+import com.example.booking_service.service.availability.SlotAvailabilityIndex;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Claims the discrete 30-minute slots of a booking in booking_slot_claims.
+ * A slot already taken by another booking surfaces as a duplicate-key failure on the
+ * (court_id, booking_date, slot_index) unique key, so no range lock is needed.
+ */
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class SlotClaimService {
+
+    BookingSlotClaimRepository bookingSlotClaimRepository;
+    BookingBatchWriter bookingBatchWriter;
+
+    /**
+     * Claim the slots of a saved booking. Must run inside the booking's transaction.
+     */
+    public void claim(Booking booking) {
+        claimAll(List.of(booking));
+    }
+
+    /**
+     * Claim the slots of several saved bookings with multi-row inserts
+     */
+    public void claimAll(Collection<Booking> bookings) {
+        List<BookingSlotClaim> claims = new ArrayList<>();
+        for (Booking booking : bookings) {
+            claims.addAll(toClaims(booking));
+        }
+        if (claims.isEmpty()) {
+            return;
+        }
+
+        // Always insert in the same order so concurrent claimers cannot deadlock each other
+        claims.sort(Comparator.comparing(BookingSlotClaim::getCourtId)
+                .thenComparing(BookingSlotClaim::getBookingDate)
+                .thenComparing(BookingSlotClaim::getSlotIndex));
+
+        try {
+            bookingBatchWriter.insertSlotClaims(claims);
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Slot claim rejected, slot already taken: {}", e.getMostSpecificCause().getMessage());
+            throw new AppException(ErrorCode.BOOKING_CONFLICT);
+        }
+    }
+
+    public void release(Long bookingId) {
+        bookingSlotClaimRepository.deleteByBookingId(bookingId);
+    }
+
+    public void releaseAll(Collection<Long> bookingIds) {
+        if (bookingIds.isEmpty()) {
+            return;
+        }
+        bookingSlotClaimRepository.deleteByBookingIdIn(bookingIds);
+    }
+
+    private List<BookingSlotClaim> toClaims(Booking booking) {
+        long mask = SlotAvailabilityIndex.slotMask(booking.getStartTime(), booking.getEndTime());
+        List<BookingSlotClaim> claims = new ArrayList<>(Long.bitCount(mask));
+        for (int slot = 0; slot < SlotAvailabilityIndex.SLOTS_PER_DAY; slot++) {
+            if ((mask & (1L << slot)) != 0) {
+                claims.add(BookingSlotClaim.builder()
+                        .bookingId(booking.getId())
+                        .courtId(booking.getCourtId())
+                        .bookingDate(booking.getBookingDate())
+                        .slotIndex(slot)
+                        .build());
+            }
+        }
+        return claims;
+    }
+}
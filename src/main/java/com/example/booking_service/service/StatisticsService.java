@@ -2,20 +2,25 @@ package com.example.booking_service.service;
 
 import com.example.booking_service.dto.response.StatisticsResponse;
 import com.example.booking_service.enums.Role;
-import com.example.booking_service.repository.BookingRepository;
 import com.example.booking_service.repository.CourtGroupRepository;
 import com.example.booking_service.repository.ReviewRepository;
 import com.example.booking_service.repository.TimeSlotRepository;
 import com.example.booking_service.repository.UserRepository;
+import com.example.booking_service.entity.CourtGroup;
+import com.example.booking_service.entity.TimeSlot;
+import com.example.booking_service.service.stats.BookingColumnStore;
+import com.example.booking_service.service.stats.StatusTotals;
+import com.example.booking_service.util.SectionFanOut;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -28,27 +33,51 @@ import java.util.stream.Collectors;
 public class StatisticsService {
 
     UserRepository userRepository;
-    BookingRepository bookingRepository;
     CourtGroupRepository courtGroupRepository;
     ReviewRepository reviewRepository;
     TimeSlotRepository timeSlotRepository;
+    BookingColumnStore bookingColumnStore;
+    SectionFanOut sectionFanOut;
 
+    static final int TOP_COURT_GROUPS = 10;
     static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
 
+    // Sections query on their own threads; no connection is held for this thread meanwhile
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public StatisticsResponse getStatistics(LocalDate startDate, LocalDate endDate, String period) {
         // Validate period
         if (!Arrays.asList("day", "week", "month").contains(period)) {
             period = "day";
         }
 
-        return StatisticsResponse.builder()
-                .overview(buildOverview(startDate, endDate))
-                .bookingStats(buildBookingStats(startDate, endDate))
-                .revenueChart(buildRevenueChart(startDate, endDate, period))
-                .topCourtGroups(buildTopCourtGroups(startDate, endDate))
-                .userStats(buildUserStats())
-                .courtGroupStats(buildCourtGroupStats())
-                .build();
+        String chartPeriod = period;
+
+        // The six sections are independent: run them concurrently, each with its own deadline
+        try (SectionFanOut.Scope scope = sectionFanOut.open("statistics")) {
+            var overview = scope.fork("overview",
+                    () -> buildOverview(startDate, endDate), (StatisticsResponse.Overview) null);
+            var bookingStats = scope.fork("bookingStats",
+                    () -> buildBookingStats(startDate, endDate), (StatisticsResponse.BookingStats) null);
+            var revenueChart = scope.fork("revenueChart",
+                    () -> buildRevenueChart(startDate, endDate, chartPeriod), List.<StatisticsResponse.RevenueChartPoint>of());
+            var topCourtGroups = scope.fork("topCourtGroups",
+                    () -> buildTopCourtGroups(startDate, endDate), List.<StatisticsResponse.TopCourtGroup>of());
+            var userStats = scope.fork("userStats",
+                    this::buildUserStats, (StatisticsResponse.UserStats) null);
+            var courtGroupStats = scope.fork("courtGroupStats",
+                    this::buildCourtGroupStats, (StatisticsResponse.CourtGroupStats) null);
+
+            scope.join();
+            return StatisticsResponse.builder()
+                    .overview(overview.get())
+                    .bookingStats(bookingStats.get())
+                    .revenueChart(revenueChart.get())
+                    .topCourtGroups(topCourtGroups.get())
+                    .userStats(userStats.get())
+                    .courtGroupStats(courtGroupStats.get())
+                    .partialSections(scope.partialSections())
+                    .build();
+        }
     }
 
     private StatisticsResponse.Overview buildOverview(LocalDate startDate, LocalDate endDate) {
@@ -58,15 +87,12 @@ public class StatisticsService {
         // Tổng số chủ sân (role = OWNER)
         long totalOwners = userRepository.countByRole(Role.OWNER);
 
-        // Tổng số booking trong khoảng thời gian
-        long totalBookings = bookingRepository.countByBookingDateBetween(startDate, endDate);
+        // Tổng số booking trong khoảng thời gian (từ kho cột trong bộ nhớ)
+        StatusTotals totals = bookingColumnStore.totals(startDate, endDate);
+        long totalBookings = totals.totalCount();
 
         // Tổng doanh thu (tổng price của booking CONFIRMED)
-        Double totalRevenue = bookingRepository.sumRevenueByBookingDateBetweenAndStatus(
-                startDate, endDate, "CONFIRMED");
-        if (totalRevenue == null) {
-            totalRevenue = 0.0;
-        }
+        double totalRevenue = totals.revenue("CONFIRMED");
 
         // Số cụm sân đang hoạt động (status = 'approved' và is_deleted = 0)
         long activeCourtGroups = courtGroupRepository.countByStatus("approved");
@@ -89,13 +115,8 @@ public class StatisticsService {
 
     private StatisticsResponse.BookingStats buildBookingStats(LocalDate startDate, LocalDate endDate) {
         // Booking stats by status
-        List<Object[]> statusStats = bookingRepository.countBookingsByStatus(startDate, endDate);
-        Map<String, Long> byStatus = new HashMap<>();
-        for (Object[] row : statusStats) {
-            String status = (String) row[0];
-            Long count = ((Number) row[1]).longValue();
-            byStatus.put(status, count);
-        }
+        Map<String, Long> byStatus = new HashMap<>(
+                bookingColumnStore.totals(startDate, endDate).counts());
 
         // Booking stats by time slot
         List<StatisticsResponse.TimeSlotStat> byTimeSlot = buildTimeSlotStats(startDate, endDate);
@@ -107,82 +128,82 @@ public class StatisticsService {
     }
 
     private List<StatisticsResponse.TimeSlotStat> buildTimeSlotStats(LocalDate startDate, LocalDate endDate) {
-        LocalTime eveningStart = LocalTime.of(17, 30);
-        List<Object[]> timeSlotStats = bookingRepository.countBookingsByTimeSlot(startDate, endDate, eveningStart);
-        Map<Long, StatisticsResponse.TimeSlotStat> timeSlotMap = new HashMap<>();
-
-        // Initialize với tất cả time slots
-        timeSlotRepository.findAll().forEach(ts -> {
-            String timeSlotName = String.format("%s - %s",
-                    ts.getStartTime().format(TIME_FORMATTER),
-                    ts.getEndTime().format(TIME_FORMATTER));
-            timeSlotMap.put(ts.getId(), StatisticsResponse.TimeSlotStat.builder()
+        List<TimeSlot> timeSlots = timeSlotRepository.findAll();
+        Map<Long, BookingColumnStore.Tally> timeSlotStats =
+                bookingColumnStore.timeSlotTotals(startDate, endDate, timeSlots);
+        List<StatisticsResponse.TimeSlotStat> result = new ArrayList<>();
+
+        // Tất cả time slots, kể cả khung giờ chưa có booking
+        timeSlots.forEach(ts -> {
+            BookingColumnStore.Tally tally = timeSlotStats.get(ts.getId());
+            result.add(StatisticsResponse.TimeSlotStat.builder()
                     .timeSlotId(ts.getId())
-                    .timeSlotName(timeSlotName)
-                    .count(0L)
-                    .revenue(0.0)
+                    .timeSlotName(String.format("%s - %s",
+                            ts.getStartTime().format(TIME_FORMATTER),
+                            ts.getEndTime().format(TIME_FORMATTER)))
+                    .count(tally != null ? tally.bookings() : 0L)
+                    .revenue(tally != null ? tally.revenue() : 0.0)
                     .build());
         });
 
-        // Update với dữ liệu thực tế
-        for (Object[] row : timeSlotStats) {
-            Long timeSlotId = row[0] != null ? ((Number) row[0]).longValue() : null;
-            if (timeSlotId != null && timeSlotMap.containsKey(timeSlotId)) {
-                Long count = ((Number) row[1]).longValue();
-                Double revenue = row[2] != null ? ((Number) row[2]).doubleValue() : 0.0;
-                
-                timeSlotMap.put(timeSlotId, StatisticsResponse.TimeSlotStat.builder()
-                        .timeSlotId(timeSlotId)
-                        .timeSlotName(timeSlotMap.get(timeSlotId).getTimeSlotName())
-                        .count(count)
-                        .revenue(revenue)
-                        .build());
-            }
+        // Booking không thuộc khung giờ nào
+        BookingColumnStore.Tally unassigned = timeSlotStats.get(BookingColumnStore.UNASSIGNED_TIME_SLOT);
+        if (unassigned != null) {
+            result.add(StatisticsResponse.TimeSlotStat.builder()
+                    .timeSlotName("Ngoài khung giờ")
+                    .count(unassigned.bookings())
+                    .revenue(unassigned.revenue())
+                    .build());
         }
 
-        return new ArrayList<>(timeSlotMap.values());
+        return result;
     }
 
     private List<StatisticsResponse.RevenueChartPoint> buildRevenueChart(
             LocalDate startDate, LocalDate endDate, String period) {
         
-        List<Object[]> chartData;
-        if ("week".equals(period)) {
-            chartData = bookingRepository.sumRevenueByWeek(startDate, endDate);
-        } else if ("month".equals(period)) {
-            chartData = bookingRepository.sumRevenueByMonth(startDate, endDate);
-        } else {
-            chartData = bookingRepository.sumRevenueByDay(startDate, endDate);
-        }
-
-        return chartData.stream()
-                .map(row -> {
-                    String date = (String) row[0];
-                    Double revenue = row[1] != null ? ((Number) row[1]).doubleValue() : 0.0;
-                    Long bookings = ((Number) row[2]).longValue();
-                    
-                    return StatisticsResponse.RevenueChartPoint.builder()
-                            .date(date)
-                            .revenue(revenue)
-                            .bookings(bookings)
-                            .build();
-                })
+        return bookingColumnStore.confirmedRevenueSeries(period, startDate, endDate).stream()
+                .map(point -> StatisticsResponse.RevenueChartPoint.builder()
+                        .date(point.label())
+                        .revenue(point.revenue())
+                        .bookings(point.bookings())
+                        .build())
                 .collect(Collectors.toList());
     }
 
     private List<StatisticsResponse.TopCourtGroup> buildTopCourtGroups(LocalDate startDate, LocalDate endDate) {
-        List<Object[]> topGroups = bookingRepository.findTopCourtGroupsByRevenue(startDate, endDate, 10);
-        
+        Map<Long, BookingColumnStore.Tally> totals = bookingColumnStore.courtGroupTotals(startDate, endDate);
+        BookingColumnStore.Tally none = new BookingColumnStore.Tally(0, 0.0);
+
+        // Cụm sân đã duyệt, xếp theo số booking CONFIRMED rồi doanh thu
+        List<CourtGroup> topGroups = courtGroupRepository.findAllWithFilters("approved", Pageable.unpaged())
+                .getContent().stream()
+                .sorted(Comparator.comparingLong((CourtGroup cg) -> totals.getOrDefault(cg.getId(), none).bookings())
+                        .thenComparingDouble(cg -> totals.getOrDefault(cg.getId(), none).revenue())
+                        .reversed())
+                .limit(TOP_COURT_GROUPS)
+                .toList();
+        if (topGroups.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Double> ratings = new HashMap<>();
+        reviewRepository.findRatingStatsByCourtGroupIdIn(topGroups.stream().map(CourtGroup::getId).toList())
+                .forEach(row -> ratings.put((Long) row[0], row[1] != null ? ((Number) row[1]).doubleValue() : 0.0));
+
         return topGroups.stream()
-                .map(row -> StatisticsResponse.TopCourtGroup.builder()
-                        .id(((Number) row[0]).longValue())
-                        .name((String) row[1])
-                        .address((String) row[2])
-                        .type((String) row[3])
-                        .bookingCount(((Number) row[4]).longValue())
-                        .revenue(row[5] != null ? ((Number) row[5]).doubleValue() : 0.0)
-                        .rating(row[6] != null ? ((Number) row[6]).doubleValue() : 0.0)
-                        .build())
+                .map(cg -> {
+                    BookingColumnStore.Tally tally = totals.getOrDefault(cg.getId(), none);
+                    return StatisticsResponse.TopCourtGroup.builder()
+                            .id(cg.getId())
+                            .name(cg.getName())
+                            .address(cg.getAddress())
+                            .type(cg.getType())
+                            .bookingCount(tally.bookings())
+                            .revenue(tally.revenue())
+                            .rating(ratings.getOrDefault(cg.getId(), 0.0))
+                            .build();
+                })
                 .collect(Collectors.toList());
     }
 
@@ -0,0 +1,107 @@
+package com.example.booking_service.service.availability;
+
+import com.example.booking_service.dto.response.AvailabilityDeltaMessage;
+import com.example.booking_service.entity.Booking;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pushes slot availability changes to /topic/availability/{courtGroupId}/{date}.
+ *
+ * Changes are collected per topic and sent as one frame after a short coalescing
+ * window, so a burst (e.g. a fixed booking creating many occurrences) becomes a
+ * single message. Only the latest change of each booking inside a window is kept.
+ */
+@Component
+@Slf4j
+public class AvailabilityEventPublisher {
+
+    public static final String TOPIC_PREFIX = "/topic/availability/";
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final long coalesceMillis;
+
+    private final Map<Topic, Map<Long, AvailabilityDeltaMessage.Change>> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "availability-push");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public AvailabilityEventPublisher(SimpMessagingTemplate messagingTemplate,
+                                      @Value("${booking.availability.push-coalesce-ms:200}") long coalesceMillis) {
+        this.messagingTemplate = messagingTemplate;
+        this.coalesceMillis = coalesceMillis;
+    }
+
+    public static String topicOf(Long courtGroupId, LocalDate date) {
+        return TOPIC_PREFIX + courtGroupId + "/" + date.format(DATE_FORMATTER);
+    }
+
+    /**
+     * Queue a committed booking change. Called by SlotAvailabilityIndex after commit.
+     */
+    public void publish(Long courtGroupId, Booking booking, boolean booked) {
+        AvailabilityDeltaMessage.Change change = AvailabilityDeltaMessage.Change.builder()
+                .bookingId(booking.getId())
+                .courtId(booking.getCourtId())
+                .startTime(booking.getStartTime() != null ? booking.getStartTime().format(TIME_FORMATTER) : null)
+                .endTime(booking.getEndTime() != null ? booking.getEndTime().format(TIME_FORMATTER) : null)
+                .status(booking.getStatus())
+                .booked(booked)
+                .build();
+
+        Topic topic = new Topic(courtGroupId, booking.getBookingDate());
+        boolean[] first = {false};
+        pending.compute(topic, (key, changes) -> {
+            if (changes == null) {
+                changes = new LinkedHashMap<>();
+                first[0] = true;
+            }
+            changes.put(booking.getId(), change);
+            return changes;
+        });
+
+        if (first[0]) {
+            flusher.schedule(() -> flush(topic), coalesceMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdownNow();
+    }
+
+    private void flush(Topic topic) {
+        Map<Long, AvailabilityDeltaMessage.Change> changes = pending.remove(topic);
+        if (changes == null || changes.isEmpty()) {
+            return;
+        }
+        try {
+            AvailabilityDeltaMessage message = AvailabilityDeltaMessage.builder()
+                    .courtGroupId(topic.courtGroupId())
+                    .date(topic.date().format(DATE_FORMATTER))
+                    .changes(List.copyOf(changes.values()))
+                    .build();
+            messagingTemplate.convertAndSend(topicOf(topic.courtGroupId(), topic.date()), message);
+        } catch (Exception e) {
+            log.warn("Failed to push availability for group {} on {}", topic.courtGroupId(), topic.date(), e);
+        }
+    }
+
+    private record Topic(Long courtGroupId, LocalDate date) {}
+}
@@ -0,0 +1,104 @@
+package com.example.booking_service.service.availability;
+
+import com.example.booking_service.entity.Booking;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+
+/**
+ * Per-day sorted interval lists of one court's bookings over a date range.
+ * Built from a single range query so a recurring series can be checked for conflicts
+ * in memory, one binary search per candidate occurrence.
+ */
+public final class BookingConflictIndex {
+
+    private final Map<LocalDate, DayIntervals> days;
+
+    private BookingConflictIndex(Map<LocalDate, DayIntervals> days) {
+        this.days = days;
+    }
+
+    public static BookingConflictIndex of(List<Booking> bookings) {
+        Map<LocalDate, List<Booking>> byDate = new HashMap<>();
+        for (Booking booking : bookings) {
+            if (booking.getBookingDate() == null || booking.getStartTime() == null || booking.getEndTime() == null) {
+                continue;
+            }
+            byDate.computeIfAbsent(booking.getBookingDate(), d -> new ArrayList<>()).add(booking);
+        }
+
+        Map<LocalDate, DayIntervals> days = new HashMap<>(byDate.size() * 2);
+        byDate.forEach((date, list) -> days.put(date, DayIntervals.of(list)));
+        return new BookingConflictIndex(days);
+    }
+
+    /**
+     * Bookings on the date whose [startTime, endTime) overlaps [start, end)
+     */
+    public List<Booking> overlapping(LocalDate date, LocalTime start, LocalTime end) {
+        DayIntervals day = days.get(date);
+        return day == null ? Collections.emptyList() : day.overlapping(start, end);
+    }
+
+    private static final class DayIntervals {
+        private final Booking[] bookings;
+        private final int[] starts;
+        // running maximum of end minutes, so a backwards scan can stop early even if legacy rows overlap
+        private final int[] maxEnds;
+
+        private DayIntervals(Booking[] bookings, int[] starts, int[] maxEnds) {
+            this.bookings = bookings;
+            this.starts = starts;
+            this.maxEnds = maxEnds;
+        }
+
+        static DayIntervals of(List<Booking> list) {
+            Booking[] sorted = list.stream()
+                    .sorted(Comparator.comparing(Booking::getStartTime))
+                    .toArray(Booking[]::new);
+            int[] starts = new int[sorted.length];
+            int[] maxEnds = new int[sorted.length];
+            int maxEnd = Integer.MIN_VALUE;
+            for (int i = 0; i < sorted.length; i++) {
+                starts[i] = minutes(sorted[i].getStartTime());
+                maxEnd = Math.max(maxEnd, endMinutes(sorted[i].getEndTime()));
+                maxEnds[i] = maxEnd;
+            }
+            return new DayIntervals(sorted, starts, maxEnds);
+        }
+
+        List<Booking> overlapping(LocalTime start, LocalTime end) {
+            int from = minutes(start);
+            int to = endMinutes(end);
+
+            // first booking starting at or after the candidate's end cannot overlap, nor can any after it
+            int idx = Arrays.binarySearch(starts, to);
+            if (idx < 0) {
+                idx = -idx - 1;
+            } else {
+                while (idx > 0 && starts[idx - 1] == to) {
+                    idx--;
+                }
+            }
+
+            List<Booking> result = new ArrayList<>();
+            for (int i = idx - 1; i >= 0 && maxEnds[i] > from; i--) {
+                if (endMinutes(bookings[i].getEndTime()) > from) {
+                    result.add(bookings[i]);
+                }
+            }
+            Collections.reverse(result);
+            return result;
+        }
+    }
+
+    private static int minutes(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    private static int endMinutes(LocalTime time) {
+        int minutes = minutes(time);
+        return minutes == 0 ? 24 * 60 : minutes;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.booking_service.service.availability;
+
+import com.example.booking_service.util.AfterCommit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version stamps for court-group calendars, used as ETags.
+ *
+ * A group version is bumped when its prices or court list change, a day version when a
+ * booking of that group and date changes. Both are drawn from one clock seeded with the
+ * startup time, so they keep increasing across restarts and an ETag issued before a restart
+ * never matches a fresh one. Building an ETag reads only these maps, never the database.
+ *
+ * Day versions of past dates are pruned nightly. A pruned date answers with the clock value
+ * taken at pruning, which is newer than anything it replaced, so no old ETag matches again.
+ */
+@Slf4j
+@Component
+public class CalendarVersions {
+
+    private final AtomicLong clock = new AtomicLong(System.currentTimeMillis());
+    private final long baseVersion = clock.get();
+
+    private final Map<Long, Long> groupVersions = new ConcurrentHashMap<>();
+    private final Map<GroupDay, Long> dayVersions = new ConcurrentHashMap<>();
+    private volatile LocalDate prunedBefore = LocalDate.MIN;
+    private volatile long prunedVersion;
+
+    /**
+     * Prices or courts of a group changed: every calendar of the group is stale
+     */
+    public void groupChanged(Long courtGroupId) {
+        AfterCommit.run(() -> groupVersions.put(courtGroupId, clock.incrementAndGet()));
+    }
+
+    /**
+     * Bookings of a group on one date changed. Called after commit by SlotAvailabilityIndex.
+     */
+    public void dayChanged(Long courtGroupId, LocalDate date) {
+        dayVersions.put(new GroupDay(courtGroupId, date), clock.incrementAndGet());
+    }
+
+    public long groupVersion(Long courtGroupId) {
+        return groupVersions.getOrDefault(courtGroupId, baseVersion);
+    }
+
+    public long dayVersion(Long courtGroupId, LocalDate date) {
+        Long version = dayVersions.get(new GroupDay(courtGroupId, date));
+        if (version != null) {
+            return version;
+        }
+        return date.isBefore(prunedBefore) ? prunedVersion : baseVersion;
+    }
+
+    /**
+     * Drop day versions of dates before today
+     */
+    @Scheduled(cron = "0 5 0 * * *")
+    public void evictPastDays() {
+        LocalDate today = LocalDate.now();
+        prunedVersion = clock.incrementAndGet();
+        prunedBefore = today;
+        int before = dayVersions.size();
+        dayVersions.keySet().removeIf(key -> key.date().isBefore(today));
+        log.debug("Evicted {} past calendar day versions", before - dayVersions.size());
+    }
+
+    /**
+     * Strong ETag of a group's calendar on a date; variant separates representations of the same data
+     */
+    public String dayETag(Long courtGroupId, LocalDate date, String variant) {
+        return "\"" + variant + "-" + courtGroupId + "-" + groupVersion(courtGroupId)
+                + "-" + dayVersion(courtGroupId, date) + "\"";
+    }
+
+    /**
+     * Strong ETag of group-wide data such as prices or the court list
+     */
+    public String groupETag(Long courtGroupId, String variant) {
+        return "\"" + variant + "-" + courtGroupId + "-" + groupVersion(courtGroupId) + "\"";
+    }
+
+    private record GroupDay(Long courtGroupId, LocalDate date) {}
+}
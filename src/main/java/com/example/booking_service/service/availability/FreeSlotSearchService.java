@@ -0,0 +1,201 @@
+package com.example.booking_service.service.availability;
+
+import com.example.booking_service.dto.response.FreeSlotSearchResult;
+import com.example.booking_service.entity.Court;
+import com.example.booking_service.entity.CourtGroup;
+import com.example.booking_service.exception.AppException;
+import com.example.booking_service.exception.ErrorCode;
+import com.example.booking_service.repository.CourtGroupRepository;
+import com.example.booking_service.service.pricing.PricingEngine;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/**
+ * Finds court groups with a court free for a given duration, starting inside a time window.
+ *
+ * Occupancy comes from {@link SlotAvailabilityIndex}: the courts of every matching group are
+ * looked up at once, so a search costs at most one booking query for days not yet cached.
+ * Each court's free 30-minute slots are a bitmask; AND-ing it with itself shifted by 1..n-1
+ * leaves exactly the slots where n consecutive free slots start.
+ */
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class FreeSlotSearchService {
+
+    static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
+    static final long DAY_MASK = (1L << SlotAvailabilityIndex.SLOTS_PER_DAY) - 1;
+
+    CourtGroupRepository courtGroupRepository;
+    SlotAvailabilityIndex slotAvailabilityIndex;
+    PricingEngine pricingEngine;
+
+    /**
+     * Court groups of a type in a district with a court free for durationMinutes,
+     * starting between from and to (inclusive) on date. Ranked by price, then rating.
+     */
+    public List<FreeSlotSearchResult> search(String type, String province, String district,
+                                             LocalDate date, LocalTime from, LocalTime to, int durationMinutes) {
+        if (durationMinutes <= 0 || to.isBefore(from) || date.isBefore(LocalDate.now())) {
+            throw new AppException(ErrorCode.INVALID_KEY);
+        }
+
+        List<CourtGroup> groups = courtGroupRepository.findByTypeAndProvinceAndDistrict(type, province, district)
+                .stream()
+                // same visibility as the public listing: approved (or legacy null status) and not deleted
+                .filter(group -> !Boolean.TRUE.equals(group.getIsDeleted()))
+                .filter(group -> group.getStatus() == null || "approved".equalsIgnoreCase(group.getStatus()))
+                .toList();
+
+        Map<Long, List<Court>> courtsByGroup = new HashMap<>();
+        List<Long> courtIds = new ArrayList<>();
+        for (CourtGroup group : groups) {
+            List<Court> courts = slotAvailabilityIndex.getActiveCourts(group.getId());
+            courtsByGroup.put(group.getId(), courts);
+            courts.forEach(court -> courtIds.add(court.getId()));
+        }
+        Map<Long, SlotAvailabilityIndex.CourtDaySlots> courtDays = slotAvailabilityIndex.getCourtDays(courtIds, date);
+
+        int units = (durationMinutes + SlotAvailabilityIndex.SLOT_MINUTES - 1) / SlotAvailabilityIndex.SLOT_MINUTES;
+        long windowStarts = startWindowMask(date, from, to);
+
+        List<FreeSlotSearchResult> results = new ArrayList<>();
+        for (CourtGroup group : groups) {
+            FreeSlotSearchResult result = bestSlot(group, courtsByGroup.get(group.getId()), courtDays,
+                    date, units, durationMinutes, windowStarts);
+            if (result != null) {
+                results.add(result);
+            }
+        }
+
+        results.sort(Comparator
+                .comparing(FreeSlotSearchResult::getPrice, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(FreeSlotSearchResult::getRating, Comparator.nullsLast(Comparator.reverseOrder())));
+
+        log.debug("Free slot search {}/{}/{} on {} {}-{} ({}m): {} of {} groups",
+                type, province, district, date, from, to, durationMinutes, results.size(), groups.size());
+        return results;
+    }
+
+    private FreeSlotSearchResult bestSlot(CourtGroup group, List<Court> courts,
+                                          Map<Long, SlotAvailabilityIndex.CourtDaySlots> courtDays,
+                                          LocalDate date, int units, int durationMinutes, long windowStarts) {
+        long openMask = openMask(group.getOpenTime(), group.getCloseTime());
+
+        long[] courtStarts = new long[courts.size()];
+        long groupStarts = 0L;
+        for (int i = 0; i < courts.size(); i++) {
+            SlotAvailabilityIndex.CourtDaySlots day = courtDays.get(courts.get(i).getId());
+            long free = ~(day != null ? day.occupied() : 0L) & openMask & DAY_MASK;
+            courtStarts[i] = runStarts(free, units) & windowStarts;
+            groupStarts |= courtStarts[i];
+        }
+        if (groupStarts == 0L) {
+            return null;
+        }
+
+        // cheapest start wins, earliest on ties
+        int bestSlot = -1;
+        Double bestPrice = null;
+        List<String> startTimes = new ArrayList<>();
+        for (long bits = groupStarts; bits != 0; bits &= bits - 1) {
+            int slot = Long.numberOfTrailingZeros(bits);
+            LocalTime start = timeOf(slot);
+            startTimes.add(start.format(TIME_FORMATTER));
+            Double price = pricingEngine.priceFor(group.getId(), date, start, start.plusMinutes(durationMinutes));
+            if (bestSlot < 0 || (price != null && (bestPrice == null || price < bestPrice))) {
+                bestSlot = slot;
+                bestPrice = price;
+            }
+        }
+
+        Court court = null;
+        int availableCourts = 0;
+        for (int i = 0; i < courts.size(); i++) {
+            if ((courtStarts[i] & (1L << bestSlot)) != 0) {
+                availableCourts++;
+                if (court == null) {
+                    court = courts.get(i);
+                }
+            }
+        }
+
+        LocalTime start = timeOf(bestSlot);
+        return FreeSlotSearchResult.builder()
+                .courtGroupId(group.getId())
+                .courtGroupName(group.getName())
+                .address(group.getAddress())
+                .district(group.getDistrict())
+                .province(group.getProvince())
+                .rating(group.getRating())
+                .courtId(court.getId())
+                .courtName(court.getName())
+                .startTime(start.format(TIME_FORMATTER))
+                .endTime(start.plusMinutes(durationMinutes).format(TIME_FORMATTER))
+                .price(bestPrice)
+                .availableCourts(availableCourts)
+                .availableStartTimes(startTimes)
+                .build();
+    }
+
+    /**
+     * Slots inside opening hours; a close at or before the open time runs past midnight, so the
+     * day is open from midnight to close and from open to midnight. Unknown hours mean all day.
+     */
+    static long openMask(LocalTime open, LocalTime close) {
+        if (open == null || close == null) {
+            return DAY_MASK;
+        }
+        long sameDay = SlotAvailabilityIndex.slotMask(open, close);
+        if (sameDay != 0L) {
+            return sameDay;
+        }
+        return SlotAvailabilityIndex.slotMask(LocalTime.MIDNIGHT, close)
+                | SlotAvailabilityIndex.slotMask(open, LocalTime.MIDNIGHT);
+    }
+
+    /**
+     * Bits where `units` consecutive free slots start
+     */
+    static long runStarts(long free, int units) {
+        long starts = free;
+        for (int k = 1; k < units && starts != 0; k++) {
+            starts &= free >>> k;
+        }
+        return starts;
+    }
+
+    /**
+     * Start slots between from (rounded up to a slot) and to, skipping starts already past today
+     */
+    private static long startWindowMask(LocalDate date, LocalTime from, LocalTime to) {
+        int first = (minutes(from) + SlotAvailabilityIndex.SLOT_MINUTES - 1) / SlotAvailabilityIndex.SLOT_MINUTES;
+        if (date.equals(LocalDate.now())) {
+            int nowMinutes = minutes(LocalTime.now());
+            first = Math.max(first, (nowMinutes + SlotAvailabilityIndex.SLOT_MINUTES - 1) / SlotAvailabilityIndex.SLOT_MINUTES);
+        }
+        int last = minutes(to) / SlotAvailabilityIndex.SLOT_MINUTES;
+        if (first > last || first >= SlotAvailabilityIndex.SLOTS_PER_DAY) {
+            return 0L;
+        }
+        long upTo = (1L << (last + 1)) - 1;
+        return upTo & ~((1L << first) - 1) & DAY_MASK;
+    }
+
+    private static LocalTime timeOf(int slot) {
+        return LocalTime.MIDNIGHT.plusMinutes((long) slot * SlotAvailabilityIndex.SLOT_MINUTES);
+    }
+
+    private static int minutes(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+}
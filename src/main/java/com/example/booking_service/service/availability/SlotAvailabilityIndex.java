@@ -0,0 +1,339 @@
+package com.example.booking_service.service.availability;
+
+import com.example.booking_service.entity.Booking;
+import com.example.booking_service.entity.Court;
+import com.example.booking_service.repository.BookingRepository;
+import com.example.booking_service.repository.CourtRepository;
+import com.example.booking_service.util.AfterCommit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory availability index for the booking calendar.
+ * Keeps one 30-minute slot bitmask (plus the active bookings) per (courtId, bookingDate)
+ * inside the booking horizon, and the active courts per court group.
+ *
+ * Entries are loaded lazily on the first calendar read and then kept current by the
+ * booking write paths, which publish their changes here after the transaction commits.
+ * Every applied change also bumps the calendar version of its (court group, date) in
+ * {@link CalendarVersions} and is forwarded to {@link AvailabilityEventPublisher} for live clients.
+ */
+@Component
+@Slf4j
+public class SlotAvailabilityIndex {
+
+    public static final int SLOT_MINUTES = 30;
+    public static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+
+    private final BookingRepository bookingRepository;
+    private final CourtRepository courtRepository;
+    private final AvailabilityEventPublisher availabilityEventPublisher;
+    private final CalendarVersions calendarVersions;
+    private final int horizonDays;
+
+    private final Map<CourtDay, CourtDaySlots> days = new ConcurrentHashMap<>();
+    private final Map<Long, List<Court>> courtsByGroup = new ConcurrentHashMap<>();
+    // bumped on every change to a court, so a lazy load that raced with a write is not cached
+    private final Map<Long, Long> courtEpochs = new ConcurrentHashMap<>();
+    // a court never moves to another group, so this only grows with new courts
+    private final Map<Long, Long> courtGroupByCourt = new ConcurrentHashMap<>();
+
+    public SlotAvailabilityIndex(BookingRepository bookingRepository,
+                                 CourtRepository courtRepository,
+                                 AvailabilityEventPublisher availabilityEventPublisher,
+                                 CalendarVersions calendarVersions,
+                                 @Value("${booking.availability.horizon-days:60}") int horizonDays) {
+        this.bookingRepository = bookingRepository;
+        this.courtRepository = courtRepository;
+        this.availabilityEventPublisher = availabilityEventPublisher;
+        this.calendarVersions = calendarVersions;
+        this.horizonDays = horizonDays;
+    }
+
+    // ========== Reads ==========
+
+    /**
+     * Active (not locked) courts of a court group
+     */
+    public List<Court> getActiveCourts(Long courtGroupId) {
+        return courtsByGroup.computeIfAbsent(courtGroupId,
+                id -> List.copyOf(courtRepository.findActiveCourtsByCourtGroupId(id)));
+    }
+
+    /**
+     * Occupancy of the given courts on one date. Missing days are loaded with a single query.
+     */
+    public Map<Long, CourtDaySlots> getCourtDays(List<Long> courtIds, LocalDate date) {
+        Map<Long, CourtDaySlots> result = new HashMap<>();
+        if (courtIds.isEmpty()) {
+            return result;
+        }
+
+        boolean cacheable = isWithinHorizon(date);
+        List<Long> missing = new ArrayList<>();
+        for (Long courtId : courtIds) {
+            CourtDaySlots slots = cacheable ? days.get(new CourtDay(courtId, date)) : null;
+            if (slots != null) {
+                result.put(courtId, slots);
+            } else {
+                missing.add(courtId);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            Map<Long, Long> epochs = new HashMap<>();
+            missing.forEach(courtId -> epochs.put(courtId, courtEpochs.getOrDefault(courtId, 0L)));
+
+            Map<Long, List<Booking>> loaded = bookingRepository.findActiveBookingsByCourtIdsAndDate(missing, date)
+                    .stream()
+                    .collect(Collectors.groupingBy(Booking::getCourtId));
+
+            for (Long courtId : missing) {
+                CourtDaySlots slots = CourtDaySlots.of(loaded.getOrDefault(courtId, Collections.emptyList()));
+                result.put(courtId, slots);
+                if (cacheable) {
+                    cacheIfUnchanged(new CourtDay(courtId, date), epochs.get(courtId), slots);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Occupancy of the given courts on every date of [from, to], keyed by date then court.
+     * Days not cached yet are loaded together with a single range query.
+     */
+    public Map<LocalDate, Map<Long, CourtDaySlots>> getCourtDays(List<Long> courtIds, LocalDate from, LocalDate to) {
+        Map<LocalDate, Map<Long, CourtDaySlots>> result = new TreeMap<>();
+        List<CourtDay> missing = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            Map<Long, CourtDaySlots> byCourt = new HashMap<>();
+            result.put(date, byCourt);
+            boolean cacheable = isWithinHorizon(date);
+            for (Long courtId : courtIds) {
+                CourtDaySlots slots = cacheable ? days.get(new CourtDay(courtId, date)) : null;
+                if (slots != null) {
+                    byCourt.put(courtId, slots);
+                } else {
+                    missing.add(new CourtDay(courtId, date));
+                }
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            List<Long> missingCourts = missing.stream().map(CourtDay::courtId).distinct().toList();
+            LocalDate missingFrom = missing.stream().map(CourtDay::date).min(Comparator.naturalOrder()).orElse(from);
+            LocalDate missingTo = missing.stream().map(CourtDay::date).max(Comparator.naturalOrder()).orElse(to);
+
+            Map<Long, Long> epochs = new HashMap<>();
+            missingCourts.forEach(courtId -> epochs.put(courtId, courtEpochs.getOrDefault(courtId, 0L)));
+
+            Map<CourtDay, List<Booking>> loaded = bookingRepository
+                    .findActiveBookingsByCourtIdsAndDateBetween(missingCourts, missingFrom, missingTo)
+                    .stream()
+                    .collect(Collectors.groupingBy(b -> new CourtDay(b.getCourtId(), b.getBookingDate())));
+
+            for (CourtDay key : missing) {
+                CourtDaySlots slots = CourtDaySlots.of(loaded.getOrDefault(key, Collections.emptyList()));
+                result.get(key.date()).put(key.courtId(), slots);
+                if (isWithinHorizon(key.date())) {
+                    cacheIfUnchanged(key, epochs.get(key.courtId()), slots);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    // ========== Write notifications ==========
+
+    /**
+     * A booking was inserted or updated. CANCELLED bookings are dropped from the index.
+     */
+    public void bookingSaved(Booking booking) {
+        Booking snapshot = copyOf(booking);
+        AfterCommit.run(() -> apply(snapshot, !"CANCELLED".equals(snapshot.getStatus())));
+    }
+
+    public void bookingsSaved(Collection<Booking> bookings) {
+        bookings.forEach(this::bookingSaved);
+    }
+
+    /**
+     * A booking was hard deleted
+     */
+    public void bookingRemoved(Booking booking) {
+        Booking snapshot = copyOf(booking);
+        AfterCommit.run(() -> apply(snapshot, false));
+    }
+
+    public void bookingsRemoved(Collection<Booking> bookings) {
+        bookings.forEach(this::bookingRemoved);
+    }
+
+    /**
+     * Courts of a group were added, removed or locked
+     */
+    public void evictCourts(Long courtGroupId) {
+        AfterCommit.run(() -> courtsByGroup.remove(courtGroupId));
+        calendarVersions.groupChanged(courtGroupId);
+    }
+
+    /**
+     * Drop days that fell out of the booking horizon
+     */
+    @Scheduled(cron = "0 5 0 * * *")
+    public void evictPastDays() {
+        LocalDate today = LocalDate.now();
+        int before = days.size();
+        days.keySet().removeIf(key -> key.date().isBefore(today));
+        log.debug("Evicted {} past availability entries", before - days.size());
+    }
+
+    // ========== Slot helpers ==========
+
+    public static int slotIndex(LocalTime time) {
+        return (time.getHour() * 60 + time.getMinute()) / SLOT_MINUTES;
+    }
+
+    /**
+     * Bitmask of every 30-minute slot touched by [start, end)
+     */
+    public static long slotMask(LocalTime start, LocalTime end) {
+        if (start == null || end == null) {
+            return 0L;
+        }
+        int from = slotIndex(start);
+        int endMinutes = end.getHour() * 60 + end.getMinute();
+        // 00:00 as an end time means midnight
+        if (endMinutes == 0) {
+            endMinutes = 24 * 60;
+        }
+        int to = (endMinutes + SLOT_MINUTES - 1) / SLOT_MINUTES;
+        if (to <= from) {
+            return 0L;
+        }
+        long upper = to >= 64 ? -1L : (1L << to) - 1;
+        return upper & ~((1L << from) - 1);
+    }
+
+    // ========== Internals ==========
+
+    private boolean isWithinHorizon(LocalDate date) {
+        LocalDate today = LocalDate.now();
+        return !date.isBefore(today) && !date.isAfter(today.plusDays(horizonDays));
+    }
+
+    /**
+     * Caches a lazily loaded day unless its court changed since the load started.
+     * The check and the insert run inside compute on the court's epoch, which apply() bumps
+     * with merge on the same key, so a change cannot land between them and be lost.
+     */
+    private void cacheIfUnchanged(CourtDay key, long loadedEpoch, CourtDaySlots slots) {
+        courtEpochs.compute(key.courtId(), (courtId, epoch) -> {
+            if ((epoch == null ? 0L : epoch) == loadedEpoch) {
+                days.putIfAbsent(key, slots);
+            }
+            return epoch;
+        });
+    }
+
+    private void apply(Booking booking, boolean active) {
+        if (booking.getCourtId() == null || booking.getBookingDate() == null) {
+            return;
+        }
+        // bump first: a load already past its epoch check has inserted its day, which the update below then sees
+        courtEpochs.merge(booking.getCourtId(), 1L, Long::sum);
+        days.computeIfPresent(new CourtDay(booking.getCourtId(), booking.getBookingDate()),
+                (key, slots) -> active ? slots.with(booking) : slots.without(booking.getId()));
+
+        Long courtGroupId = courtGroupOf(booking.getCourtId());
+        if (courtGroupId != null) {
+            calendarVersions.dayChanged(courtGroupId, booking.getBookingDate());
+            availabilityEventPublisher.publish(courtGroupId, booking, active);
+        }
+    }
+
+    private Long courtGroupOf(Long courtId) {
+        Long cached = courtGroupByCourt.get(courtId);
+        if (cached != null) {
+            return cached;
+        }
+        Long courtGroupId = courtRepository.findById(courtId).map(Court::getCourtGroupId).orElse(null);
+        if (courtGroupId != null) {
+            courtGroupByCourt.put(courtId, courtGroupId);
+        }
+        return courtGroupId;
+    }
+
+    private static Booking copyOf(Booking booking) {
+        return Booking.builder()
+                .id(booking.getId())
+                .courtId(booking.getCourtId())
+                .bookingDate(booking.getBookingDate())
+                .startTime(booking.getStartTime())
+                .endTime(booking.getEndTime())
+                .status(booking.getStatus())
+                .price(booking.getPrice())
+                .build();
+    }
+
+    private record CourtDay(Long courtId, LocalDate date) {}
+
+    /**
+     * Immutable occupancy of one court on one date
+     */
+    public record CourtDaySlots(long occupied, List<BookedSlot> bookings) {
+
+        static CourtDaySlots of(List<Booking> bookings) {
+            List<BookedSlot> slots = bookings.stream()
+                    .map(BookedSlot::of)
+                    .sorted(Comparator.comparing(BookedSlot::startTime, Comparator.nullsFirst(Comparator.naturalOrder())))
+                    .toList();
+            return new CourtDaySlots(maskOf(slots), slots);
+        }
+
+        CourtDaySlots with(Booking booking) {
+            List<BookedSlot> slots = new ArrayList<>(bookings.size() + 1);
+            bookings.stream().filter(b -> !b.id().equals(booking.getId())).forEach(slots::add);
+            slots.add(BookedSlot.of(booking));
+            slots.sort(Comparator.comparing(BookedSlot::startTime, Comparator.nullsFirst(Comparator.naturalOrder())));
+            return new CourtDaySlots(maskOf(slots), List.copyOf(slots));
+        }
+
+        CourtDaySlots without(Long bookingId) {
+            List<BookedSlot> slots = bookings.stream()
+                    .filter(b -> !b.id().equals(bookingId))
+                    .toList();
+            return new CourtDaySlots(maskOf(slots), slots);
+        }
+
+        public boolean isFree(LocalTime start, LocalTime end) {
+            return (occupied & slotMask(start, end)) == 0L;
+        }
+
+        private static long maskOf(List<BookedSlot> slots) {
+            long mask = 0L;
+            for (BookedSlot slot : slots) {
+                mask |= slotMask(slot.startTime(), slot.endTime());
+            }
+            return mask;
+        }
+    }
+
+    public record BookedSlot(Long id, LocalDate bookingDate, LocalTime startTime, LocalTime endTime, Double price) {
+        static BookedSlot of(Booking booking) {
+            return new BookedSlot(booking.getId(), booking.getBookingDate(),
+                    booking.getStartTime(), booking.getEndTime(), booking.getPrice());
+        }
+    }
+}
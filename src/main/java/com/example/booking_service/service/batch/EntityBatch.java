@@ -0,0 +1,111 @@
+package com.example.booking_service.service.batch;
+
+import com.example.booking_service.entity.Court;
+import com.example.booking_service.entity.CourtGroup;
+import com.example.booking_service.entity.User;
+import com.example.booking_service.repository.CourtGroupRepository;
+import com.example.booking_service.repository.CourtRepository;
+import com.example.booking_service.repository.UserRepository;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Collects the user, court and court group IDs a page of rows refers to and resolves each
+ * type with a single findAllById, replacing one findById per row.
+ *
+ * Register IDs first, call resolve() once, then look entities up while mapping the rows.
+ * Court groups of the resolved courts are loaded too, so booking -> court -> group costs
+ * three queries per page. A batch is meant for one page and is not thread-safe.
+ */
+public class EntityBatch {
+
+    private final UserRepository userRepository;
+    private final CourtRepository courtRepository;
+    private final CourtGroupRepository courtGroupRepository;
+
+    private final Set<Long> userIds = new HashSet<>();
+    private final Set<Long> courtIds = new HashSet<>();
+    private final Set<Long> courtGroupIds = new HashSet<>();
+
+    private final Map<Long, User> users = new HashMap<>();
+    private final Map<Long, Court> courts = new HashMap<>();
+    private final Map<Long, CourtGroup> courtGroups = new HashMap<>();
+
+    EntityBatch(UserRepository userRepository,
+                CourtRepository courtRepository,
+                CourtGroupRepository courtGroupRepository) {
+        this.userRepository = userRepository;
+        this.courtRepository = courtRepository;
+        this.courtGroupRepository = courtGroupRepository;
+    }
+
+    public <T> EntityBatch users(Collection<T> rows, Function<T, Long> userId) {
+        collect(rows, userId, userIds);
+        return this;
+    }
+
+    public <T> EntityBatch courts(Collection<T> rows, Function<T, Long> courtId) {
+        collect(rows, courtId, courtIds);
+        return this;
+    }
+
+    public <T> EntityBatch courtGroups(Collection<T> rows, Function<T, Long> courtGroupId) {
+        collect(rows, courtGroupId, courtGroupIds);
+        return this;
+    }
+
+    /**
+     * Load every registered ID: users, then courts, then court groups (including the courts' groups)
+     */
+    public EntityBatch resolve() {
+        if (!userIds.isEmpty()) {
+            userRepository.findAllById(userIds).forEach(user -> users.put(user.getId(), user));
+        }
+        if (!courtIds.isEmpty()) {
+            courtRepository.findAllById(courtIds).forEach(court -> {
+                courts.put(court.getId(), court);
+                if (court.getCourtGroupId() != null) {
+                    courtGroupIds.add(court.getCourtGroupId());
+                }
+            });
+        }
+        if (!courtGroupIds.isEmpty()) {
+            courtGroupRepository.findAllById(courtGroupIds).forEach(group -> courtGroups.put(group.getId(), group));
+        }
+        return this;
+    }
+
+    public User user(Long id) {
+        return id != null ? users.get(id) : null;
+    }
+
+    public Court court(Long id) {
+        return id != null ? courts.get(id) : null;
+    }
+
+    public CourtGroup courtGroup(Long id) {
+        return id != null ? courtGroups.get(id) : null;
+    }
+
+    /**
+     * Group of the given court, or null when either is missing
+     */
+    public CourtGroup courtGroupOfCourt(Long courtId) {
+        Court court = court(courtId);
+        return court != null ? courtGroup(court.getCourtGroupId()) : null;
+    }
+
+    private static <T> void collect(Collection<T> rows, Function<T, Long> id, Set<Long> target) {
+        for (T row : rows) {
+            Long value = id.apply(row);
+            if (value != null) {
+                target.add(value);
+            }
+        }
+    }
+}
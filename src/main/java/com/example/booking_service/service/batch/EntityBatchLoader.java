@@ -0,0 +1,26 @@
+package com.example.booking_service.service.batch;
+
+import com.example.booking_service.repository.CourtGroupRepository;
+import com.example.booking_service.repository.CourtRepository;
+import com.example.booking_service.repository.UserRepository;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hands out an EntityBatch for each page or request being mapped to responses
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class EntityBatchLoader {
+
+    UserRepository userRepository;
+    CourtRepository courtRepository;
+    CourtGroupRepository courtGroupRepository;
+
+    public EntityBatch newBatch() {
+        return new EntityBatch(userRepository, courtRepository, courtGroupRepository);
+    }
+}
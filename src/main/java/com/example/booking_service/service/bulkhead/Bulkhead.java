@@ -0,0 +1,74 @@
+package com.example.booking_service.service.bulkhead;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limit of one workload. Callers over the limit wait up to maxWait for a permit
+ * and are rejected after that. Counters are kept for queueing and rejections.
+ */
+public class Bulkhead {
+
+    private final Workload workload;
+    private final int maxConcurrent;
+    private final long maxWaitMillis;
+    private final Semaphore permits;
+
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder queued = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+
+    public Bulkhead(Workload workload, int maxConcurrent, long maxWaitMillis) {
+        this.workload = workload;
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaitMillis = maxWaitMillis;
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+
+    /**
+     * @return true if a permit was acquired; the caller must then call release()
+     */
+    public boolean tryAcquire() throws InterruptedException {
+        if (permits.tryAcquire()) {
+            accepted.increment();
+            return true;
+        }
+
+        queued.increment();
+        waiting.incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            if (maxWaitMillis > 0 && permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+                accepted.increment();
+                return true;
+            }
+            rejected.increment();
+            return false;
+        } finally {
+            totalWaitNanos.add(System.nanoTime() - start);
+            waiting.decrementAndGet();
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public Workload getWorkload() {
+        return workload;
+    }
+
+    public Snapshot snapshot() {
+        long queuedCount = queued.sum();
+        return new Snapshot(workload.getKey(), maxConcurrent, maxConcurrent - permits.availablePermits(),
+                waiting.get(), accepted.sum(), queuedCount, rejected.sum(),
+                queuedCount == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.sum()) / queuedCount);
+    }
+
+    public record Snapshot(String workload, int maxConcurrent, int active, int waiting,
+                           long accepted, long queued, long rejected, long avgQueueMillis) {}
+}
@@ -0,0 +1,51 @@
+package com.example.booking_service.service.bulkhead;
+
+import com.example.booking_service.configuration.BulkheadProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One bulkhead per classified workload; DEFAULT requests are not limited
+ */
+@Component
+@Slf4j
+public class BulkheadRegistry {
+
+    private final Map<Workload, Bulkhead> bulkheads = new EnumMap<>(Workload.class);
+
+    public BulkheadRegistry(BulkheadProperties properties) {
+        for (Workload workload : Workload.values()) {
+            BulkheadProperties.Partition partition = properties.getPartitions().get(workload.getKey());
+            if (workload != Workload.DEFAULT && partition != null) {
+                bulkheads.put(workload, new Bulkhead(workload, partition.getMaxConcurrent(), partition.getMaxWaitMs()));
+            }
+        }
+    }
+
+    /**
+     * Bulkhead of a workload, or null when the workload is not limited
+     */
+    public Bulkhead get(Workload workload) {
+        return bulkheads.get(workload);
+    }
+
+    public List<Bulkhead.Snapshot> snapshots() {
+        return bulkheads.values().stream().map(Bulkhead::snapshot).toList();
+    }
+
+    @Scheduled(fixedRate = 300000)
+    public void logStats() {
+        for (Bulkhead.Snapshot snapshot : snapshots()) {
+            if (snapshot.queued() > 0 || snapshot.rejected() > 0) {
+                log.info("Bulkhead {}: active {}/{}, waiting {}, accepted {}, queued {} (avg {}ms), rejected {}",
+                        snapshot.workload(), snapshot.active(), snapshot.maxConcurrent(), snapshot.waiting(),
+                        snapshot.accepted(), snapshot.queued(), snapshot.avgQueueMillis(), snapshot.rejected());
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.booking_service.service.bulkhead;
+
+/**
+ * Request classes that get their own concurrency limit and connection pool.
+ * DEFAULT covers unclassified requests and scheduled jobs. The booking write lanes and the
+ * payment hold expiry thread run as BOOKING_WRITE.
+ */
+public enum Workload {
+    BOOKING_WRITE("booking-write"),
+    CATALOG_READ("catalog-read"),
+    DASHBOARD("dashboard"),
+    CHATBOT("chatbot"),
+    DEFAULT("default");
+
+    private final String key;
+
+    Workload(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Classify a request by method and path (relative to the context path)
+     */
+    public static Workload classify(String method, String path) {
+        boolean read = "GET".equalsIgnoreCase(method) || "HEAD".equalsIgnoreCase(method);
+
+        if (path.startsWith("/chatbot")) {
+            return CHATBOT;
+        }
+        if (path.startsWith("/admin/") || path.startsWith("/owner/dashboard")) {
+            return DASHBOARD;
+        }
+        if (path.startsWith("/bookings/export")) {
+            return DASHBOARD;
+        }
+        if (path.startsWith("/bookings") || path.startsWith("/fixed-bookings")) {
+            return read ? CATALOG_READ : BOOKING_WRITE;
+        }
+        if (read && (path.startsWith("/court-groups") || path.startsWith("/courts")
+                || path.startsWith("/court-prices") || path.startsWith("/time-slots")
+                || path.startsWith("/reviews"))) {
+            return CATALOG_READ;
+        }
+        return DEFAULT;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.booking_service.service.bulkhead;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Virtual threads for background and fan-out work, tagged with a workload so their queries
+ * use that workload's connection pool. Deliberately not an Executor bean, which would replace
+ * Spring Boot's applicationTaskExecutor.
+ */
+@Component
+public class WorkloadExecutor {
+
+    private final ExecutorService virtualThreads = Executors.newVirtualThreadPerTaskExecutor();
+
+    public Executor forWorkload(Workload workload) {
+        return task -> virtualThreads.execute(() -> {
+            WorkloadContext.set(workload);
+            try {
+                task.run();
+            } finally {
+                WorkloadContext.clear();
+            }
+        });
+    }
+
+    /**
+     * Run a task as the given workload; unlike a CompletableFuture, cancel(true) on the returned
+     * future interrupts the thread running it
+     */
+    public <T> Future<T> submit(Workload workload, Callable<T> task) {
+        return virtualThreads.submit(() -> {
+            WorkloadContext.set(workload);
+            try {
+                return task.call();
+            } finally {
+                WorkloadContext.clear();
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        virtualThreads.shutdownNow();
+    }
+}
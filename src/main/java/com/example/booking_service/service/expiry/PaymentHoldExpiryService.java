@@ -0,0 +1,245 @@
+package com.example.booking_service.service.expiry;
+
+import com.example.booking_service.entity.Booking;
+import com.example.booking_service.repository.BookingRepository;
+import com.example.booking_service.service.SlotClaimService;
+import com.example.booking_service.service.availability.SlotAvailabilityIndex;
+import com.example.booking_service.service.bulkhead.Workload;
+import com.example.booking_service.service.bulkhead.WorkloadContext;
+import com.example.booking_service.service.stats.BookingColumnStore;
+import com.example.booking_service.service.stats.BookingDailyStatsService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Releases PAYING holds when their payment window runs out.
+ *
+ * Each hold sits in a delay queue keyed by its deadline (created_at + hold window).
+ * One worker thread waits for the earliest deadline, drains every hold that is due
+ * and deletes them with a single bulk DELETE, so a hold is released about a second
+ * after it expires instead of on the next one-minute sweep.
+ *
+ * The queue is seeded from the database at startup and fed by booking creation. A batch
+ * whose release fails goes back on the queue with an exponential backoff (1s doubling up
+ * to a minute), so a database hiccup delays holds by seconds rather than until the next
+ * sweep. The scheduled sweep in BookingCleanupScheduler stays as a safety net.
+ */
+@Service
+@Slf4j
+public class PaymentHoldExpiryService {
+
+    private static final int MAX_BATCH = 500;
+    private static final long INITIAL_RETRY_MILLIS = 1_000;
+    private static final long MAX_RETRY_MILLIS = 60_000;
+
+    private final BookingRepository bookingRepository;
+    private final SlotClaimService slotClaimService;
+    private final SlotAvailabilityIndex slotAvailabilityIndex;
+    private final BookingDailyStatsService bookingDailyStatsService;
+    private final BookingColumnStore bookingColumnStore;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration holdDuration;
+
+    private final DelayQueue<Hold> queue = new DelayQueue<>();
+    private final Set<Long> scheduled = ConcurrentHashMap.newKeySet();
+
+    // release lateness (time between deadline and delete), reported in logs and stats()
+    private final LongAdder releasedCount = new LongAdder();
+    private final LongAdder failedBatches = new LongAdder();
+    private final LongAdder retriedHolds = new LongAdder();
+    private final LongAdder totalLatenessMillis = new LongAdder();
+    private final AtomicLong maxLatenessMillis = new AtomicLong();
+
+    private volatile Thread worker;
+    private volatile boolean running;
+
+    public PaymentHoldExpiryService(BookingRepository bookingRepository,
+                                    SlotClaimService slotClaimService,
+                                    SlotAvailabilityIndex slotAvailabilityIndex,
+                                    BookingDailyStatsService bookingDailyStatsService,
+                                    BookingColumnStore bookingColumnStore,
+                                    TransactionTemplate transactionTemplate,
+                                    @Value("${booking.payment.hold-minutes:5}") long holdMinutes) {
+        this.bookingRepository = bookingRepository;
+        this.slotClaimService = slotClaimService;
+        this.slotAvailabilityIndex = slotAvailabilityIndex;
+        this.bookingDailyStatsService = bookingDailyStatsService;
+        this.bookingColumnStore = bookingColumnStore;
+        this.transactionTemplate = transactionTemplate;
+        this.holdDuration = Duration.ofMinutes(holdMinutes);
+    }
+
+    public Duration getHoldDuration() {
+        return holdDuration;
+    }
+
+    /**
+     * Deadline of a PAYING hold created at the given time
+     */
+    public LocalDateTime deadlineOf(LocalDateTime createdAt) {
+        return createdAt.plus(holdDuration);
+    }
+
+    /**
+     * Track a PAYING booking so it is released when its payment window ends
+     */
+    public void schedule(Booking booking) {
+        if (booking.getId() == null || booking.getCreatedAt() == null) {
+            return;
+        }
+        if (scheduled.add(booking.getId())) {
+            long deadline = toEpochMillis(deadlineOf(booking.getCreatedAt()));
+            queue.add(new Hold(booking.getId(), deadline, deadline, 0));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        List<Booking> holds = bookingRepository.findByStatus("PAYING");
+        holds.forEach(this::schedule);
+        log.info("Payment hold expiry started with {} pending hold(s), window {} minute(s)",
+                holds.size(), holdDuration.toMinutes());
+
+        running = true;
+        worker = Thread.ofPlatform()
+                .name("payment-hold-expiry")
+                .daemon(true)
+                .start(this::run);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        Thread current = worker;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    private void run() {
+        // releasing a hold deletes bookings and their claims, so it uses the booking-write pool
+        WorkloadContext.set(Workload.BOOKING_WRITE);
+        List<Hold> batch = new ArrayList<>();
+        while (running) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, MAX_BATCH - 1);
+                release(batch);
+                batch.forEach(hold -> scheduled.remove(hold.bookingId()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                failedBatches.increment();
+                retriedHolds.add(batch.size());
+                log.error("Error releasing {} expired payment hold(s), retrying", batch.size(), e);
+                batch.forEach(hold -> queue.add(hold.retry(System.currentTimeMillis())));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void release(List<Hold> batch) {
+        List<Long> ids = batch.stream().map(Hold::bookingId).toList();
+        int deleted = expireBookings(ids);
+
+        long now = System.currentTimeMillis();
+        long batchMax = 0;
+        for (Hold hold : batch) {
+            long lateness = Math.max(0, now - hold.deadlineMillis());
+            batchMax = Math.max(batchMax, lateness);
+            totalLatenessMillis.add(lateness);
+        }
+        releasedCount.add(batch.size());
+        maxLatenessMillis.accumulateAndGet(batchMax, Math::max);
+
+        if (deleted > 0) {
+            log.info("Released {} expired payment hold(s) of {} due, lateness max={}ms (overall avg={}ms, max={}ms)",
+                    deleted, batch.size(), batchMax, averageLatenessMillis(), maxLatenessMillis.get());
+        }
+    }
+
+    /**
+     * Delete the given bookings that are still PAYING with one bulk DELETE.
+     * Rows are locked first so a concurrent payment confirmation is not lost.
+     *
+     * @return number of bookings deleted
+     */
+    public int expireBookings(Collection<Long> bookingIds) {
+        if (bookingIds.isEmpty()) {
+            return 0;
+        }
+        Integer deleted = transactionTemplate.execute(status -> {
+            List<Booking> expired = bookingRepository.findByIdInAndStatusForUpdate(bookingIds, "PAYING");
+            if (expired.isEmpty()) {
+                return 0;
+            }
+            List<Long> expiredIds = expired.stream().map(Booking::getId).toList();
+            slotClaimService.releaseAll(expiredIds);
+            int count = bookingRepository.deleteByIdIn(expiredIds);
+            bookingDailyStatsService.bookingsDeleted(expired);
+            slotAvailabilityIndex.bookingsRemoved(expired);
+            bookingColumnStore.bookingsRemoved(expired);
+            return count;
+        });
+        return deleted != null ? deleted : 0;
+    }
+
+    private long averageLatenessMillis() {
+        long count = releasedCount.sum();
+        return count == 0 ? 0 : totalLatenessMillis.sum() / count;
+    }
+
+    public Stats stats() {
+        return new Stats(queue.size(), releasedCount.sum(), averageLatenessMillis(), maxLatenessMillis.get(),
+                failedBatches.sum(), retriedHolds.sum());
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Release counters since startup; lateness is measured from each hold's payment deadline
+     */
+    public record Stats(int pendingHolds, long released, long averageLatenessMillis, long maxLatenessMillis,
+                        long failedBatches, long retriedHolds) {}
+
+    /**
+     * A hold due at releaseAtMillis; equal to its payment deadline until a failed release pushes it back
+     */
+    private record Hold(Long bookingId, long deadlineMillis, long releaseAtMillis, int attempts) implements Delayed {
+
+        Hold retry(long now) {
+            long backoff = Math.min(MAX_RETRY_MILLIS, INITIAL_RETRY_MILLIS << Math.min(attempts, 16));
+            return new Hold(bookingId, deadlineMillis, now + backoff, attempts + 1);
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(releaseAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(releaseAtMillis, ((Hold) other).releaseAtMillis);
+        }
+    }
+}
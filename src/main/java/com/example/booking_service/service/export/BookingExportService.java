@@ -0,0 +1,366 @@
+package com.example.booking_service.service.export;
+
+import com.example.booking_service.dto.response.BookingDetailResponse;
+import com.example.booking_service.entity.User;
+import com.example.booking_service.enums.ExportFormat;
+import com.example.booking_service.enums.OwnerStatus;
+import com.example.booking_service.enums.Role;
+import com.example.booking_service.exception.AppException;
+import com.example.booking_service.exception.ErrorCode;
+import com.example.booking_service.repository.BookingRepository;
+import com.example.booking_service.repository.UserRepository;
+import com.example.booking_service.repository.projection.BookingExportRow;
+import com.example.booking_service.service.bulkhead.Workload;
+import com.example.booking_service.service.bulkhead.WorkloadContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/**
+ * Streams bookings matching the booking list filters as CSV or NDJSON.
+ *
+ * Rows come from a forward-only cursor over a projection (no entities, no persistence context)
+ * and are written straight to the response through a fixed-size buffer, so memory stays flat
+ * however many bookings match. The cursor runs on the dashboard connection pool, inside a
+ * read-only transaction on the thread writing the response. Concurrent exports are capped and
+ * only exports get the long async request timeout; throughput and heap usage of every export
+ * are folded into stats().
+ */
+@Service
+@Slf4j
+public class BookingExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int HEAP_SAMPLE_ROWS = 10_000;
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+    private static final String[] CSV_COLUMNS = {
+            "id", "user_id", "user_name", "user_email", "user_phone", "court_id", "court_name",
+            "court_group_id", "court_group_name", "court_group_type", "court_group_address",
+            "booking_date", "start_time", "end_time", "status", "price", "created_at", "address", "payment_proof"
+    };
+
+    private final BookingRepository bookingRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+    private final Semaphore permits;
+    private final Duration requestTimeout;
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+    private final AtomicLong started = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong totalRows = new AtomicLong();
+    private final AtomicLong totalBytes = new AtomicLong();
+    private final AtomicLong totalMillis = new AtomicLong();
+    private final AtomicLong peakHeapGrowthBytes = new AtomicLong();
+    private final AtomicReference<ExportRun> lastRun = new AtomicReference<>();
+
+    public BookingExportService(BookingRepository bookingRepository,
+                                UserRepository userRepository,
+                                PlatformTransactionManager transactionManager,
+                                ObjectMapper objectMapper,
+                                @Value("${booking.export.max-concurrent:2}") int maxConcurrent,
+                                @Value("${booking.export.request-timeout:30m}") Duration requestTimeout) {
+        this.bookingRepository = bookingRepository;
+        this.userRepository = userRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.permits = new Semaphore(maxConcurrent);
+        this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * Reserve an export slot and return the body that streams the matching bookings. Admins may
+     * export any owner's bookings (requestedOwnerId, or all when null); an approved owner only
+     * ever gets their own. The slot is freed when the body finishes; callers must also register
+     * asyncInterceptor() on the request, for the case where the body never runs.
+     */
+    public Export export(ExportFormat format, String status, LocalDate bookingDate,
+                         String search, Long requestedOwnerId, Long courtGroupId) {
+        Long ownerId = resolveOwnerId(requestedOwnerId);
+        if (!permits.tryAcquire()) {
+            rejected.incrementAndGet();
+            throw new AppException(ErrorCode.EXPORT_BUSY);
+        }
+        log.info("Exporting bookings as {}: status={}, bookingDate={}, search={}, ownerId={}, courtGroupId={}",
+                format.getValue(), status, bookingDate, search, ownerId, courtGroupId);
+
+        return new Export(out -> {
+            started.incrementAndGet();
+            CountingOutputStream counting = new CountingOutputStream(out);
+            long startedAt = System.nanoTime();
+            long heapBefore = memory.getHeapMemoryUsage().getUsed();
+            long[] rows = {0};
+            long[] peakHeap = {heapBefore};
+
+            WorkloadContext.set(Workload.DASHBOARD);
+            try {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(counting, StandardCharsets.UTF_8), BUFFER_SIZE);
+                readOnlyTransaction.executeWithoutResult(tx -> {
+                    try (Stream<BookingExportRow> stream = bookingRepository.streamBookingsWithFilters(
+                            status, bookingDate, search, ownerId, courtGroupId)) {
+                        if (format == ExportFormat.CSV) {
+                            writeCsvHeader(writer);
+                        }
+                        stream.forEach(row -> {
+                            writeRow(writer, format, toResponse(row));
+                            if (++rows[0] % HEAP_SAMPLE_ROWS == 0) {
+                                peakHeap[0] = Math.max(peakHeap[0], memory.getHeapMemoryUsage().getUsed());
+                            }
+                        });
+                    }
+                });
+                writer.flush();
+                completed.incrementAndGet();
+            } catch (UncheckedIOException e) {
+                // usually the client went away mid-download
+                failed.incrementAndGet();
+                log.warn("Booking export aborted after {} rows: {}", rows[0], e.getCause().getMessage());
+                throw e.getCause();
+            } catch (RuntimeException | IOException e) {
+                failed.incrementAndGet();
+                log.warn("Booking export failed after {} rows: {}", rows[0], e.getMessage());
+                throw e;
+            } finally {
+                WorkloadContext.clear();
+                peakHeap[0] = Math.max(peakHeap[0], memory.getHeapMemoryUsage().getUsed());
+                record(format, rows[0], counting.count,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt),
+                        Math.max(0, peakHeap[0] - heapBefore));
+            }
+        });
+    }
+
+    private Long resolveOwnerId(Long requestedOwnerId) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new AppException(ErrorCode.UNAUTHENTICATED);
+        }
+
+        User user = userRepository.findByEmail(authentication.getName())
+                .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_EXISTED));
+
+        if (user.getRole() == Role.ADMIN) {
+            return requestedOwnerId;
+        }
+        if (user.getRole() == Role.OWNER && user.getOwnerStatus() == OwnerStatus.APPROVED) {
+            return user.getId();
+        }
+        throw new AppException(ErrorCode.UNAUTHORIZED);
+    }
+
+    public Stats stats() {
+        return new Stats(started.get(), completed.get(), failed.get(), rejected.get(),
+                permits.availablePermits(), totalRows.get(), totalBytes.get(), totalMillis.get(),
+                peakHeapGrowthBytes.get(), lastRun.get());
+    }
+
+    private void record(ExportFormat format, long rows, long bytes, long millis, long heapGrowth) {
+        totalRows.addAndGet(rows);
+        totalBytes.addAndGet(bytes);
+        totalMillis.addAndGet(millis);
+        peakHeapGrowthBytes.accumulateAndGet(heapGrowth, Math::max);
+        ExportRun run = new ExportRun(format.getValue(), rows, bytes, millis,
+                millis > 0 ? rows * 1000 / millis : rows, heapGrowth);
+        lastRun.set(run);
+        log.info("Booking export {}: {} rows, {} bytes in {} ms ({} rows/s), heap grew at most {} bytes",
+                run.format(), rows, bytes, millis, run.rowsPerSecond(), heapGrowth);
+    }
+
+    // ========== Formatting ==========
+
+    private BookingDetailResponse toResponse(BookingExportRow row) {
+        return BookingDetailResponse.builder()
+                .id(row.getId())
+                .userId(row.getUserId())
+                .userName(row.getUserName())
+                .userEmail(row.getUserEmail())
+                .userPhone(row.getUserPhone())
+                .courtId(row.getCourtId())
+                .courtName(row.getCourtName())
+                .courtGroupId(row.getCourtGroupId())
+                .courtGroupName(row.getCourtGroupName())
+                .courtGroupType(row.getCourtGroupType())
+                .courtGroupAddress(String.format("%s, %s, %s",
+                        row.getCourtGroupStreet(), row.getCourtGroupDistrict(), row.getCourtGroupProvince()))
+                .bookingDate(row.getBookingDate() != null ? row.getBookingDate().format(DATE_FORMATTER) : null)
+                .startTime(row.getStartTime() != null ? row.getStartTime().format(TIME_FORMATTER) + ":00" : null)
+                .endTime(row.getEndTime() != null ? row.getEndTime().format(TIME_FORMATTER) + ":00" : null)
+                .status(row.getStatus())
+                .price(row.getPrice())
+                .createdAt(row.getCreatedAt() != null ? row.getCreatedAt().format(DATETIME_FORMATTER) : null)
+                .address(row.getAddress())
+                .paymentProof(row.getPaymentProof())
+                .build();
+    }
+
+    private void writeCsvHeader(Writer writer) {
+        try {
+            // BOM so spreadsheet apps read the Vietnamese text as UTF-8
+            writer.write('\uFEFF');
+            writer.write(String.join(",", CSV_COLUMNS));
+            writer.write("\r\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeRow(Writer writer, ExportFormat format, BookingDetailResponse booking) {
+        try {
+            if (format == ExportFormat.NDJSON) {
+                writer.write(objectMapper.writeValueAsString(booking));
+                writer.write('\n');
+                return;
+            }
+            Object[] values = {
+                    booking.getId(), booking.getUserId(), booking.getUserName(), booking.getUserEmail(),
+                    booking.getUserPhone(), booking.getCourtId(), booking.getCourtName(), booking.getCourtGroupId(),
+                    booking.getCourtGroupName(), booking.getCourtGroupType(), booking.getCourtGroupAddress(),
+                    booking.getBookingDate(), booking.getStartTime(), booking.getEndTime(), booking.getStatus(),
+                    booking.getPrice() != null ? BigDecimal.valueOf(booking.getPrice()).toPlainString() : null,
+                    booking.getCreatedAt(), booking.getAddress(), booking.getPaymentProof()
+            };
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                if (values[i] != null) {
+                    writer.write(values[i] instanceof String text ? csvText(text) : values[i].toString());
+                }
+            }
+            writer.write("\r\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Quote text per RFC 4180 and neutralize leading formula characters for spreadsheet apps
+     */
+    static String csvText(String value) {
+        String text = !value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0 ? "'" + value : value;
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * An export body holding one concurrency permit, given back exactly once by whichever of
+     * the body or release() gets there first
+     */
+    public final class Export implements StreamingResponseBody {
+
+        private final StreamingResponseBody body;
+        private final AtomicBoolean held = new AtomicBoolean(true);
+
+        private Export(StreamingResponseBody body) {
+            this.body = body;
+        }
+
+        @Override
+        public void writeTo(OutputStream out) throws IOException {
+            if (!held.get()) {
+                // the request already completed without us, e.g. it timed out while queued
+                return;
+            }
+            try {
+                body.writeTo(out);
+            } finally {
+                release();
+            }
+        }
+
+        public void release() {
+            if (held.compareAndSet(true, false)) {
+                permits.release();
+            }
+        }
+
+        /**
+         * Gives this export's async request the export timeout instead of the default one, and
+         * frees the slot once the request completes even if the body never ran (async timeout,
+         * rejected task, client gone)
+         */
+        public CallableProcessingInterceptor asyncInterceptor() {
+            return new CallableProcessingInterceptor() {
+                @Override
+                public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+                    // runs before the servlet async context is started, which applies this timeout
+                    if (request instanceof AsyncWebRequest asyncRequest) {
+                        asyncRequest.setTimeout(requestTimeout.toMillis());
+                    }
+                }
+
+                @Override
+                public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+                    release();
+                }
+            };
+        }
+    }
+
+    /**
+     * Aggregate counters since startup plus the most recent export
+     */
+    public record Stats(long started, long completed, long failed, long rejected, int availableSlots,
+                        long rows, long bytes, long millis, long peakHeapGrowthBytes, ExportRun lastExport) {}
+
+    /**
+     * One finished export; heapGrowthBytes is the largest rise in JVM heap use sampled while it ran
+     */
+    public record ExportRun(String format, long rows, long bytes, long millis, long rowsPerSecond,
+                            long heapGrowthBytes) {}
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
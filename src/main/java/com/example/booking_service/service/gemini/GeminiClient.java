@@ -9,6 +9,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
@@ -24,13 +25,23 @@ public class GeminiClient {
     private static final Logger log = LoggerFactory.getLogger(GeminiClient.class);
 
     private final GeminiProperties properties;
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final RestTemplate restTemplate = createRestTemplate();
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     public GeminiClient(GeminiProperties properties) {
         this.properties = properties;
     }
 
+    /**
+     * Bounded timeouts so a stuck Gemini call frees its chatbot bulkhead slot
+     */
+    private static RestTemplate createRestTemplate() {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(5000);
+        requestFactory.setReadTimeout(20000);
+        return new RestTemplate(requestFactory);
+    }
+
     public GeminiResult detectIntent(ChatbotRequest request) {
         // If API key is not configured, fall back to a naive rule-based intent
         if (properties.getApiKey() == null || properties.getApiKey().isBlank()) {
@@ -0,0 +1,139 @@
+package com.example.booking_service.service.idempotency;
+
+import com.example.booking_service.exception.AppException;
+import com.example.booking_service.exception.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key support for retried write requests.
+ *
+ * Keys are scoped to the authenticated principal, so one user can never replay another's
+ * response. The first request with a key runs the action and its response is kept for the TTL;
+ * retries with the same key get that response back without running the action again, and
+ * concurrent duplicates wait for the first execution. A failed execution is forgotten so it can
+ * be retried. The store is bounded: past max-entries the oldest finished keys are dropped first;
+ * keys still executing are never dropped, so a duplicate cannot slip past a running request.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    private final long ttlMillis;
+    private final long waitMillis;
+    private final int maxEntries;
+
+    private final Map<StoreKey, Entry> entries;
+
+    public IdempotencyService(@Value("${booking.idempotency.ttl-minutes:1440}") long ttlMinutes,
+                              @Value("${booking.idempotency.wait-ms:30000}") long waitMillis,
+                              @Value("${booking.idempotency.max-entries:10000}") int maxEntries) {
+        this.ttlMillis = Duration.ofMinutes(ttlMinutes).toMillis();
+        this.waitMillis = waitMillis;
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>();
+    }
+
+    /**
+     * Run the action once per (principal, operation, key).
+     *
+     * @param fingerprint identifies the request behind the key; reusing a key for a
+     *                    different request is rejected with IDEMPOTENCY_KEY_REUSED
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String operation, String idempotencyKey, Object fingerprint, Supplier<T> action) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+
+        StoreKey storeKey = new StoreKey(currentPrincipal(), operation, idempotencyKey);
+        Entry mine = new Entry(fingerprint, System.currentTimeMillis() + ttlMillis);
+        Entry existing;
+        synchronized (entries) {
+            existing = entries.get(storeKey);
+            if (existing != null && existing.expiresAt() < System.currentTimeMillis()) {
+                entries.remove(storeKey);
+                existing = null;
+            }
+            if (existing == null) {
+                entries.put(storeKey, mine);
+                evictOverflow();
+            }
+        }
+
+        if (existing == null) {
+            try {
+                T result = action.get();
+                mine.result().complete(result);
+                return result;
+            } catch (RuntimeException | Error e) {
+                synchronized (entries) {
+                    entries.remove(storeKey, mine);
+                }
+                mine.result().completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        if (!Objects.equals(existing.fingerprint(), fingerprint)) {
+            throw new AppException(ErrorCode.IDEMPOTENCY_KEY_REUSED);
+        }
+
+        log.info("Replaying {} for Idempotency-Key {}", operation, idempotencyKey);
+        try {
+            return (T) existing.result().get(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new AppException(ErrorCode.IDEMPOTENCY_IN_PROGRESS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AppException(ErrorCode.IDEMPOTENCY_IN_PROGRESS);
+        }
+    }
+
+    /**
+     * Drop the oldest finished entries until the store is back under max-entries; caller holds the lock
+     */
+    private void evictOverflow() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (entries.size() > maxEntries && iterator.hasNext()) {
+            if (iterator.next().result().isDone()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static String currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : "";
+    }
+
+    private record StoreKey(String principal, String operation, String idempotencyKey) {}
+
+    private record Entry(Object fingerprint, long expiresAt, CompletableFuture<Object> result) {
+        Entry(Object fingerprint, long expiresAt) {
+            this(fingerprint, expiresAt, new CompletableFuture<>());
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package com.example.booking_service.service.lanes;
+
+import com.example.booking_service.dto.request.CreateBookingRequest;
+import com.example.booking_service.dto.response.CreateBookingResponse;
+import com.example.booking_service.entity.Booking;
+import com.example.booking_service.exception.AppException;
+import com.example.booking_service.exception.ErrorCode;
+import com.example.booking_service.repository.BookingBatchWriter;
+import com.example.booking_service.service.BookingService;
+import com.example.booking_service.service.SlotClaimService;
+import com.example.booking_service.service.availability.SlotAvailabilityIndex;
+import com.example.booking_service.service.bulkhead.Workload;
+import com.example.booking_service.service.bulkhead.WorkloadContext;
+import com.example.booking_service.service.stats.BookingColumnStore;
+import com.example.booking_service.service.stats.BookingDailyStatsService;
+import com.example.booking_service.service.expiry.PaymentHoldExpiryService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Optional single-writer pipeline for booking creation (booking.write-lanes.enabled).
+ *
+ * Requests are routed by courtId hash to a fixed set of lanes, each a bounded queue drained
+ * by one virtual thread. A lane takes whatever is queued (up to batch-size), decides conflicts
+ * in order against the availability index plus the slots it accepted earlier in the batch,
+ * and commits all accepted bookings in one transaction. Since every write for a court goes
+ * through the same lane, competing requests are settled in memory instead of on row locks.
+ * Slot claims stay as the last guard against writers outside the lanes (e.g. fixed bookings):
+ * if a group commit fails on them, the batch is retried one booking at a time.
+ */
+@Service
+@Slf4j
+public class BookingWriteLanes {
+
+    private final BookingService bookingService;
+    private final BookingBatchWriter bookingBatchWriter;
+    private final SlotClaimService slotClaimService;
+    private final SlotAvailabilityIndex slotAvailabilityIndex;
+    private final BookingDailyStatsService bookingDailyStatsService;
+    private final BookingColumnStore bookingColumnStore;
+    private final PaymentHoldExpiryService paymentHoldExpiryService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final int laneCount;
+    private final int queueCapacity;
+    private final int batchSize;
+    private final long timeoutMillis;
+
+    private final List<BlockingQueue<Command>> queues = new ArrayList<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    public BookingWriteLanes(BookingService bookingService,
+                             BookingBatchWriter bookingBatchWriter,
+                             SlotClaimService slotClaimService,
+                             SlotAvailabilityIndex slotAvailabilityIndex,
+                             BookingDailyStatsService bookingDailyStatsService,
+                             BookingColumnStore bookingColumnStore,
+                             PaymentHoldExpiryService paymentHoldExpiryService,
+                             TransactionTemplate transactionTemplate,
+                             @Value("${booking.write-lanes.enabled:false}") boolean enabled,
+                             @Value("${booking.write-lanes.lanes:8}") int laneCount,
+                             @Value("${booking.write-lanes.queue-capacity:256}") int queueCapacity,
+                             @Value("${booking.write-lanes.batch-size:32}") int batchSize,
+                             @Value("${booking.write-lanes.timeout-ms:10000}") long timeoutMillis) {
+        this.bookingService = bookingService;
+        this.bookingBatchWriter = bookingBatchWriter;
+        this.slotClaimService = slotClaimService;
+        this.slotAvailabilityIndex = slotAvailabilityIndex;
+        this.bookingDailyStatsService = bookingDailyStatsService;
+        this.bookingColumnStore = bookingColumnStore;
+        this.paymentHoldExpiryService = paymentHoldExpiryService;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.laneCount = laneCount;
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        for (int i = 0; i < laneCount; i++) {
+            BlockingQueue<Command> queue = new ArrayBlockingQueue<>(queueCapacity);
+            queues.add(queue);
+            workers.add(Thread.ofVirtual().name("booking-lane-" + i).start(() -> runLane(queue)));
+        }
+        log.info("Booking write lanes started: {} lanes, queue {}, batch {}", laneCount, queueCapacity, batchSize);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+    }
+
+    /**
+     * Queue a booking request on its court's lane and wait for the decision
+     */
+    public CreateBookingResponse submit(CreateBookingRequest request) {
+        Command command = new Command(request);
+        BlockingQueue<Command> queue = queues.get(Math.floorMod(Objects.hashCode(request.getCourtId()), laneCount));
+        if (!queue.offer(command)) {
+            throw new AppException(ErrorCode.BOOKING_BUSY);
+        }
+
+        try {
+            return command.result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (TimeoutException | InterruptedException e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            // a command still queued is dropped by its lane; one already claimed is committed, so report that outcome
+            if (command.cancel()) {
+                throw new AppException(ErrorCode.BOOKING_BUSY);
+            }
+            return awaitClaimed(command);
+        }
+    }
+
+    private CreateBookingResponse awaitClaimed(Command command) {
+        try {
+            return command.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static RuntimeException unwrap(ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        return new IllegalStateException(e.getCause());
+    }
+
+    private void runLane(BlockingQueue<Command> queue) {
+        // lane transactions are booking writes, so they draw from that workload's pool, not the default one
+        WorkloadContext.set(Workload.BOOKING_WRITE);
+        List<Command> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, batchSize - 1);
+                process(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Booking lane failed on a batch of {}", batch.size(), e);
+                batch.forEach(command -> command.result.completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void process(List<Command> batch) {
+        List<Command> accepted = new ArrayList<>(batch.size());
+        // occupancy of each court-day as seen by this batch, including bookings accepted above
+        Map<CourtDay, Long> occupied = new HashMap<>();
+
+        for (Command command : batch) {
+            if (command.isCancelled()) {
+                continue;
+            }
+            Booking booking;
+            try {
+                booking = bookingService.prepareBooking(command.request);
+            } catch (RuntimeException e) {
+                command.result.completeExceptionally(e);
+                continue;
+            }
+
+            CourtDay key = new CourtDay(booking.getCourtId(), booking.getBookingDate());
+            long current = occupied.computeIfAbsent(key, k -> slotAvailabilityIndex
+                    .getCourtDays(List.of(k.courtId()), k.date())
+                    .get(k.courtId())
+                    .occupied());
+            long mask = SlotAvailabilityIndex.slotMask(booking.getStartTime(), booking.getEndTime());
+            if ((current & mask) != 0) {
+                command.result.completeExceptionally(new AppException(ErrorCode.BOOKING_CONFLICT));
+                continue;
+            }
+            // from here the caller can no longer cancel; a caller that timed out meanwhile is skipped
+            if (!command.claim()) {
+                continue;
+            }
+            occupied.put(key, current | mask);
+            command.booking = booking;
+            accepted.add(command);
+        }
+
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        try {
+            commit(accepted);
+        } catch (RuntimeException e) {
+            log.warn("Group commit of {} booking(s) failed, retrying one by one", accepted.size(), e);
+            for (Command command : accepted) {
+                try {
+                    commit(List.of(command));
+                } catch (RuntimeException single) {
+                    command.result.completeExceptionally(single);
+                }
+            }
+        }
+        log.debug("Booking lane batch: {} requested, {} accepted", batch.size(), accepted.size());
+    }
+
+    private void commit(List<Command> commands) {
+        List<Booking> bookings = commands.stream().map(command -> command.booking).toList();
+        transactionTemplate.executeWithoutResult(status -> {
+            bookingBatchWriter.insertBookings(bookings);
+            slotClaimService.claimAll(bookings);
+            bookingDailyStatsService.bookingsCreated(bookings);
+            slotAvailabilityIndex.bookingsSaved(bookings);
+            bookingColumnStore.bookingsSaved(bookings);
+        });
+        for (Command command : commands) {
+            paymentHoldExpiryService.schedule(command.booking);
+            command.result.complete(bookingService.toCreateBookingResponse(command.booking));
+        }
+    }
+
+    private record CourtDay(Long courtId, LocalDate date) {}
+
+    /**
+     * A queued booking request. Its state moves once, either from QUEUED to CLAIMED (the lane will
+     * commit it) or from QUEUED to CANCELLED (the caller gave up), so a booking the caller was told
+     * failed is never inserted.
+     */
+    private static final class Command {
+        private static final int QUEUED = 0;
+        private static final int CLAIMED = 1;
+        private static final int CANCELLED = 2;
+
+        final CreateBookingRequest request;
+        final CompletableFuture<CreateBookingResponse> result = new CompletableFuture<>();
+        final AtomicInteger state = new AtomicInteger(QUEUED);
+        Booking booking;
+
+        Command(CreateBookingRequest request) {
+            this.request = request;
+        }
+
+        boolean claim() {
+            return state.compareAndSet(QUEUED, CLAIMED);
+        }
+
+        boolean cancel() {
+            return state.compareAndSet(QUEUED, CANCELLED);
+        }
+
+        boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+    }
+}
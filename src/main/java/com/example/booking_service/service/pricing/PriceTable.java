@@ -0,0 +1,77 @@
+package com.example.booking_service.service.pricing;
+
+import com.example.booking_service.entity.CourtPrice;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Immutable price lookup for one court group, compiled from all of its court_prices rows.
+ * Each (dayType, timeSlotId) keeps its versions sorted by effective date, so the price in
+ * force on a date is one binary search away.
+ */
+final class PriceTable {
+
+    private final Map<PriceKey, Versions> versions;
+
+    private PriceTable(Map<PriceKey, Versions> versions) {
+        this.versions = versions;
+    }
+
+    static PriceTable compile(List<CourtPrice> rows) {
+        Map<PriceKey, List<CourtPrice>> grouped = new HashMap<>();
+        for (CourtPrice row : rows) {
+            if (row.getTimeSlotId() == null || row.getPrice() == null) {
+                continue;
+            }
+            String dayType = row.getDayType() != null ? row.getDayType() : "WEEKDAY";
+            grouped.computeIfAbsent(new PriceKey(dayType, row.getTimeSlotId()), k -> new ArrayList<>()).add(row);
+        }
+
+        Map<PriceKey, Versions> compiled = new HashMap<>(grouped.size() * 2);
+        grouped.forEach((key, list) -> compiled.put(key, Versions.of(list)));
+        return new PriceTable(compiled);
+    }
+
+    /**
+     * Price per 30 minutes in force on the date, picked by {@link PriceVersions}. Null if the
+     * slot has no price at all.
+     */
+    Double lookup(String dayType, Long timeSlotId, LocalDate date) {
+        Versions v = versions.get(new PriceKey(dayType, timeSlotId));
+        return v == null ? null : v.at(date);
+    }
+
+    boolean isEmpty() {
+        return versions.isEmpty();
+    }
+
+    private record PriceKey(String dayType, Long timeSlotId) {}
+
+    private static final class Versions {
+        // epochDay of effective_date; NULL effective dates sort first as "always effective"
+        private final long[] effectiveDays;
+        private final double[] prices;
+
+        private Versions(long[] effectiveDays, double[] prices) {
+            this.effectiveDays = effectiveDays;
+            this.prices = prices;
+        }
+
+        static Versions of(List<CourtPrice> rows) {
+            List<CourtPrice> sorted = new ArrayList<>(rows);
+            sorted.sort(PriceVersions.ORDER);
+            long[] days = new long[sorted.size()];
+            double[] prices = new double[sorted.size()];
+            for (int i = 0; i < sorted.size(); i++) {
+                days[i] = PriceVersions.epochDay(sorted.get(i).getEffectiveDate());
+                prices[i] = sorted.get(i).getPrice();
+            }
+            return new Versions(days, prices);
+        }
+
+        double at(LocalDate date) {
+            return prices[PriceVersions.indexInForce(effectiveDays, date.toEpochDay())];
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.booking_service.service.pricing;
+
+import com.example.booking_service.entity.CourtPrice;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The one rule for which price version of a (time slot, day type) is in force on a date:
+ * the latest version effective on or before the date, or the earliest upcoming version when
+ * none is effective yet. Same-day versions resolve to the most recently created row.
+ *
+ * Shared by the price lookup that charges bookings and the price list shown to users,
+ * so both always agree.
+ */
+public final class PriceVersions {
+
+    /** Effective date ascending, NULL first as "always effective", then id ascending */
+    static final Comparator<CourtPrice> ORDER = Comparator
+            .comparing(CourtPrice::getEffectiveDate, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(CourtPrice::getId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private PriceVersions() {
+    }
+
+    /**
+     * The version in force on the date among versions of one (time slot, day type); null if empty
+     */
+    public static CourtPrice inForce(List<CourtPrice> versions, LocalDate date) {
+        if (versions.isEmpty()) {
+            return null;
+        }
+        List<CourtPrice> sorted = new ArrayList<>(versions);
+        sorted.sort(ORDER);
+        long[] days = new long[sorted.size()];
+        for (int i = 0; i < sorted.size(); i++) {
+            days[i] = epochDay(sorted.get(i).getEffectiveDate());
+        }
+        return sorted.get(indexInForce(days, date.toEpochDay()));
+    }
+
+    static long epochDay(LocalDate effectiveDate) {
+        return effectiveDate != null ? effectiveDate.toEpochDay() : Long.MIN_VALUE;
+    }
+
+    /**
+     * Index of the version in force on day, given effective days sorted ascending (non-empty)
+     */
+    static int indexInForce(long[] effectiveDays, long day) {
+        // last version with effectiveDay <= day
+        int lo = 0;
+        int hi = effectiveDays.length - 1;
+        int found = -1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (effectiveDays[mid] <= day) {
+                found = mid;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        if (found >= 0) {
+            return found;
+        }
+        // nothing effective yet: the earliest upcoming version, last created among same-day rows
+        int earliest = 0;
+        while (earliest + 1 < effectiveDays.length && effectiveDays[earliest + 1] == effectiveDays[0]) {
+            earliest++;
+        }
+        return earliest;
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.booking_service.service.pricing;
+
+import com.example.booking_service.entity.TimeSlot;
+import com.example.booking_service.repository.CourtPriceRepository;
+import com.example.booking_service.repository.TimeSlotRepository;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves court prices from compiled per-court-group price tables.
+ * Tables are compiled on first use and rebuilt whenever a price of the group is written,
+ * so lookups never hit the database. Prices in court_prices are per 30 minutes.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class PricingEngine {
+
+    static final int UNIT_MINUTES = 30;
+
+    CourtPriceRepository courtPriceRepository;
+    TimeSlotRepository timeSlotRepository;
+
+    Map<Long, PriceTable> tables = new ConcurrentHashMap<>();
+    // time_slots is reference data with no write path, so it is loaded once
+    @NonFinal
+    volatile TimeSlot[] sortedTimeSlots;
+
+    /**
+     * WEEKEND for Saturday and Sunday, WEEKDAY otherwise
+     */
+    public static String dayTypeOf(LocalDate date) {
+        DayOfWeek dayOfWeek = date.getDayOfWeek();
+        return (dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY) ? "WEEKEND" : "WEEKDAY";
+    }
+
+    /**
+     * Price per 30 minutes of a time slot on a date, or null if the slot has no price
+     */
+    public Double unitPrice(Long courtGroupId, Long timeSlotId, LocalDate date) {
+        return table(courtGroupId).lookup(dayTypeOf(date), timeSlotId, date);
+    }
+
+    /**
+     * Total price of [start, end) on a date. Each 30-minute unit is priced by the time slot it
+     * falls in, and a partial unit is charged pro rata. Null if any part of the range has no price.
+     */
+    public Double priceFor(Long courtGroupId, LocalDate date, LocalTime start, LocalTime end) {
+        if (start == null || end == null) {
+            return null;
+        }
+        PriceTable table = table(courtGroupId);
+        String dayType = dayTypeOf(date);
+        int from = minutes(start);
+        int to = end.equals(LocalTime.MIDNIGHT) ? 24 * 60 : minutes(end);
+        if (to <= from) {
+            return null;
+        }
+
+        double total = 0.0;
+        for (int m = from; m < to; m += UNIT_MINUTES) {
+            TimeSlot slot = slotAt(m);
+            if (slot == null) {
+                return null;
+            }
+            Double unit = table.lookup(dayType, slot.getId(), date);
+            if (unit == null) {
+                return null;
+            }
+            total += unit * Math.min(UNIT_MINUTES, to - m) / UNIT_MINUTES;
+        }
+        return total;
+    }
+
+    /**
+     * Price per 30 minutes of every time slot on a date, in time slot order
+     */
+    public List<SlotPrice> slotPrices(Long courtGroupId, LocalDate date) {
+        return slotPrices(courtGroupId, dayTypeOf(date), date);
+    }
+
+    /**
+     * Price per 30 minutes of every time slot for a day type, as in force on the given date
+     */
+    public List<SlotPrice> slotPrices(Long courtGroupId, String dayType, LocalDate date) {
+        PriceTable table = table(courtGroupId);
+        List<SlotPrice> result = new ArrayList<>();
+        for (TimeSlot slot : timeSlots()) {
+            Double price = table.lookup(dayType, slot.getId(), date);
+            if (price != null) {
+                result.add(new SlotPrice(slot.getId(), slot.getStartTime(), slot.getEndTime(), price));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * All time slots, sorted by start time
+     */
+    public List<TimeSlot> getTimeSlots() {
+        return List.of(timeSlots());
+    }
+
+    /**
+     * Recompile the table of a court group after one of its prices changed
+     */
+    public void rebuild(Long courtGroupId) {
+        tables.compute(courtGroupId, (id, old) -> compile(id));
+        log.info("Rebuilt price table for court group {}", courtGroupId);
+    }
+
+    private PriceTable table(Long courtGroupId) {
+        return tables.computeIfAbsent(courtGroupId, this::compile);
+    }
+
+    private PriceTable compile(Long courtGroupId) {
+        return PriceTable.compile(courtPriceRepository.findByCourtGroupId(courtGroupId));
+    }
+
+    private TimeSlot[] timeSlots() {
+        TimeSlot[] slots = sortedTimeSlots;
+        if (slots == null) {
+            slots = timeSlotRepository.findAll().stream()
+                    .filter(ts -> ts.getStartTime() != null && ts.getEndTime() != null)
+                    .sorted(Comparator.comparing(TimeSlot::getStartTime))
+                    .toArray(TimeSlot[]::new);
+            sortedTimeSlots = slots;
+        }
+        return slots;
+    }
+
+    /**
+     * Time slot containing the minute of day, by binary search over start times
+     */
+    private TimeSlot slotAt(int minuteOfDay) {
+        TimeSlot[] slots = timeSlots();
+        int lo = 0;
+        int hi = slots.length - 1;
+        int found = -1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (minutes(slots[mid].getStartTime()) <= minuteOfDay) {
+                found = mid;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        if (found < 0) {
+            return null;
+        }
+        TimeSlot slot = slots[found];
+        int slotEnd = slot.getEndTime().equals(LocalTime.MIDNIGHT) ? 24 * 60 : minutes(slot.getEndTime());
+        return minuteOfDay < slotEnd ? slot : null;
+    }
+
+    private static int minutes(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    public record SlotPrice(Long timeSlotId, LocalTime startTime, LocalTime endTime, Double price) {}
+}
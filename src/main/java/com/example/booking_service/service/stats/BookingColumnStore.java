@@ -0,0 +1,730 @@
+package com.example.booking_service.service.stats;
+
+import com.example.booking_service.entity.Booking;
+import com.example.booking_service.entity.Court;
+import com.example.booking_service.entity.TimeSlot;
+import com.example.booking_service.repository.BookingRepository;
+import com.example.booking_service.repository.CourtRepository;
+import com.example.booking_service.repository.projection.BookingColumnRow;
+import com.example.booking_service.util.AfterCommit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * In-memory columnar copy of the bookings table for the admin statistics page.
+ *
+ * Each booking is one row across parallel primitive arrays (epoch day, court, court group, time
+ * slot, minute of day, status code, price), so a statistics query is one loop over a few arrays
+ * instead of a GROUP BY over bookings. The arrays are loaded from a single streamed query at
+ * startup and reloaded nightly; in between, booking write paths report their changes here and
+ * they are applied after commit. Changes that arrive while a load is running are queued and
+ * replayed onto the new arrays before they are published.
+ *
+ * Rows stay in booking id order so an update finds its row by binary search; a deleted booking
+ * leaves a tombstone until the next reload compacts the arrays.
+ *
+ * Alongside the arrays, a Fenwick tree over epoch days per (court group, status), plus one per
+ * status across all groups, answers count and revenue for any date window in O(log days). Every
+ * row change moves its old values out of the trees and its new values in, so the trees follow
+ * status transitions exactly; dashboards use them for a window and its comparison window.
+ */
+@Component
+@Slf4j
+public class BookingColumnStore {
+
+    /** timeSlotTotals key for bookings no time slot covers */
+    public static final long UNASSIGNED_TIME_SLOT = -1L;
+
+    private static final byte TOMBSTONE = -1;
+    private static final int NONE = -1;
+    private static final int INITIAL_CAPACITY = 1 << 12;
+    private static final long ALL_GROUPS = Long.MIN_VALUE;
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final DateTimeFormatter DAY_LABEL = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter MONTH_LABEL = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    private final BookingRepository bookingRepository;
+    private final CourtRepository courtRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long loadWaitMs;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private final CountDownLatch loaded = new CountDownLatch(1);
+    private final Map<Long, Long> courtGroupByCourt = new ConcurrentHashMap<>();
+    private final Map<String, Byte> statusCodes = new ConcurrentHashMap<>();
+    private final List<String> statusNames = new CopyOnWriteArrayList<>();
+    private final byte confirmed;
+
+    // guarded by lock
+    private Columns columns = new Columns(INITIAL_CAPACITY);
+    private List<Row> pending;
+
+    private volatile Instant loadedAt;
+    private volatile long lastLoadMillis;
+
+    public BookingColumnStore(BookingRepository bookingRepository,
+                              CourtRepository courtRepository,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${booking.analytics-store.load-wait-ms:3000}") long loadWaitMs) {
+        this.bookingRepository = bookingRepository;
+        this.courtRepository = courtRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.loadWaitMs = loadWaitMs;
+        List.of("PAYING", "PENDING", "CONFIRMED", "CANCELLED", "COMPLETED").forEach(this::statusCode);
+        this.confirmed = statusCode("CONFIRMED");
+    }
+
+    // ========== Write notifications ==========
+
+    /**
+     * A booking was inserted or its status changed
+     */
+    public void bookingSaved(Booking booking) {
+        Row row = toRow(booking, false);
+        if (row != null) {
+            AfterCommit.run(() -> apply(row));
+        }
+    }
+
+    public void bookingsSaved(Collection<Booking> bookings) {
+        bookings.forEach(this::bookingSaved);
+    }
+
+    /**
+     * A booking was hard deleted
+     */
+    public void bookingRemoved(Booking booking) {
+        Row row = toRow(booking, true);
+        if (row != null) {
+            AfterCommit.run(() -> apply(row));
+        }
+    }
+
+    public void bookingsRemoved(Collection<Booking> bookings) {
+        bookings.forEach(this::bookingRemoved);
+    }
+
+    private void apply(Row row) {
+        lock.writeLock().lock();
+        try {
+            columns.apply(row);
+            if (pending != null) {
+                pending.add(row);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ========== Loading ==========
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        Thread.ofVirtual().name("booking-column-store-load").start(this::scheduledReload);
+    }
+
+    @Scheduled(cron = "${booking.analytics-store.reload-cron:0 45 3 * * *}")
+    public void scheduledReload() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.error("Booking column store load failed", e);
+        }
+    }
+
+    /**
+     * Rebuild the arrays from the bookings table and swap them in; returns the number of bookings loaded
+     */
+    public int reload() {
+        reloadLock.lock();
+        try {
+            lock.writeLock().lock();
+            try {
+                pending = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            long started = System.nanoTime();
+            Columns fresh;
+            try {
+                fresh = transactionTemplate.execute(status -> {
+                    Columns loading = new Columns(INITIAL_CAPACITY);
+                    try (Stream<BookingColumnRow> rows = bookingRepository.streamColumnRows()) {
+                        rows.forEach(r -> {
+                            Row row = toRow(r);
+                            if (row != null) {
+                                loading.apply(row);
+                            }
+                        });
+                    }
+                    return loading;
+                });
+            } catch (RuntimeException e) {
+                lock.writeLock().lock();
+                try {
+                    pending = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                throw e;
+            }
+
+            int live;
+            lock.writeLock().lock();
+            try {
+                // writes committed during the scan may or may not be in it; replaying is idempotent
+                pending.forEach(fresh::apply);
+                pending = null;
+                columns = fresh;
+                live = fresh.live();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            lastLoadMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            loadedAt = Instant.now();
+            loaded.countDown();
+            log.info("Loaded {} bookings into the column store in {} ms", live, lastLoadMillis);
+            return live;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    // ========== Queries ==========
+
+    /**
+     * Booking count and revenue per status for bookings dated in [startDate, endDate]
+     */
+    public StatusTotals totals(LocalDate startDate, LocalDate endDate) {
+        int from = (int) startDate.toEpochDay();
+        int to = (int) endDate.toEpochDay();
+        return read(c -> {
+            int statuses = statusNames.size();
+            long[] counts = new long[statuses];
+            double[] revenues = new double[statuses];
+            for (int i = 0; i < c.size; i++) {
+                byte status = c.statuses[i];
+                int day = c.epochDays[i];
+                if (status < 0 || day < from || day > to) {
+                    continue;
+                }
+                counts[status]++;
+                revenues[status] += c.prices[i];
+            }
+
+            Map<String, Long> countMap = new HashMap<>();
+            Map<String, Double> revenueMap = new HashMap<>();
+            for (int s = 0; s < statuses; s++) {
+                if (counts[s] > 0) {
+                    countMap.put(statusNames.get(s), counts[s]);
+                    revenueMap.put(statusNames.get(s), revenues[s]);
+                }
+            }
+            return new StatusTotals(countMap, revenueMap);
+        });
+    }
+
+    /**
+     * CONFIRMED revenue and booking count per day, week (numbered like MySQL YEARWEEK) or month,
+     * in chronological order; periods without confirmed bookings are left out
+     */
+    public List<SeriesPoint> confirmedRevenueSeries(String period, LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            return List.of();
+        }
+        int from = (int) startDate.toEpochDay();
+        int to = (int) endDate.toEpochDay();
+        long[] bookings = new long[to - from + 1];
+        double[] revenue = new double[to - from + 1];
+        read(c -> {
+            for (int i = 0; i < c.size; i++) {
+                int day = c.epochDays[i];
+                if (c.statuses[i] != confirmed || day < from || day > to) {
+                    continue;
+                }
+                bookings[day - from]++;
+                revenue[day - from] += c.prices[i];
+            }
+            return null;
+        });
+
+        // labels grow with the date, so equal labels are always adjacent
+        List<SeriesPoint> points = new ArrayList<>();
+        for (int d = 0; d < bookings.length; d++) {
+            if (bookings[d] == 0) {
+                continue;
+            }
+            String label = label(period, LocalDate.ofEpochDay(from + d));
+            SeriesPoint last = points.isEmpty() ? null : points.get(points.size() - 1);
+            if (last != null && last.label().equals(label)) {
+                points.set(points.size() - 1,
+                        new SeriesPoint(label, last.revenue() + revenue[d], last.bookings() + bookings[d]));
+            } else {
+                points.add(new SeriesPoint(label, revenue[d], bookings[d]));
+            }
+        }
+        return points;
+    }
+
+    /**
+     * Bookings of every status and CONFIRMED revenue per time slot. A booking without a time slot
+     * (or with one not in timeSlots) counts towards the slot whose [start, end) holds its start
+     * time, a slot ending at or before its start running past midnight; bookings no slot covers
+     * are reported under UNASSIGNED_TIME_SLOT.
+     */
+    public Map<Long, Tally> timeSlotTotals(LocalDate startDate, LocalDate endDate, List<TimeSlot> timeSlots) {
+        int from = (int) startDate.toEpochDay();
+        int to = (int) endDate.toEpochDay();
+        int slots = timeSlots.size();
+        long[] slotIds = new long[slots];
+        // dense slot index per minute of day, NONE where no slot covers that minute
+        int[] slotByMinute = new int[MINUTES_PER_DAY];
+        Arrays.fill(slotByMinute, NONE);
+        for (int s = 0; s < slots; s++) {
+            TimeSlot slot = timeSlots.get(s);
+            slotIds[s] = slot.getId();
+            if (slot.getStartTime() == null || slot.getEndTime() == null) {
+                continue;
+            }
+            int start = slot.getStartTime().toSecondOfDay() / 60;
+            int end = slot.getEndTime().equals(LocalTime.MIDNIGHT) ? MINUTES_PER_DAY : slot.getEndTime().toSecondOfDay() / 60;
+            int length = end > start ? end - start : end + MINUTES_PER_DAY - start;
+            for (int k = 0; k < length; k++) {
+                int minute = (start + k) % MINUTES_PER_DAY;
+                if (slotByMinute[minute] == NONE) {
+                    slotByMinute[minute] = s;
+                }
+            }
+        }
+        return read(c -> {
+            // the last index collects unassigned bookings
+            long[] counts = new long[slots + 1];
+            double[] revenues = new double[slots + 1];
+            for (int i = 0; i < c.size; i++) {
+                byte status = c.statuses[i];
+                int day = c.epochDays[i];
+                if (status < 0 || day < from || day > to) {
+                    continue;
+                }
+                int slot = indexOf(slotIds, c.timeSlotIds[i]);
+                if (slot == NONE && c.minutes[i] != NONE) {
+                    slot = slotByMinute[c.minutes[i]];
+                }
+                if (slot == NONE) {
+                    slot = slots;
+                }
+                counts[slot]++;
+                if (status == confirmed) {
+                    revenues[slot] += c.prices[i];
+                }
+            }
+            Map<Long, Tally> result = new HashMap<>();
+            for (int s = 0; s <= slots; s++) {
+                if (counts[s] > 0) {
+                    result.put(s < slots ? slotIds[s] : UNASSIGNED_TIME_SLOT, new Tally(counts[s], revenues[s]));
+                }
+            }
+            return result;
+        });
+    }
+
+    /**
+     * CONFIRMED booking count and revenue per court group
+     */
+    public Map<Long, Tally> courtGroupTotals(LocalDate startDate, LocalDate endDate) {
+        int from = (int) startDate.toEpochDay();
+        int to = (int) endDate.toEpochDay();
+        return read(c -> {
+            long[] counts = new long[c.groupCount];
+            double[] revenues = new double[c.groupCount];
+            for (int i = 0; i < c.size; i++) {
+                int day = c.epochDays[i];
+                int group = c.groupCodes[i];
+                if (c.statuses[i] != confirmed || group == NONE || day < from || day > to) {
+                    continue;
+                }
+                counts[group]++;
+                revenues[group] += c.prices[i];
+            }
+            Map<Long, Tally> result = new HashMap<>();
+            for (int g = 0; g < counts.length; g++) {
+                if (counts[g] > 0) {
+                    result.put(c.groupIds[g], new Tally(counts[g], revenues[g]));
+                }
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Count and revenue per status for bookings of the given court groups (every group when null)
+     * dated in [startDate, endDate], read from the day trees without scanning rows
+     */
+    public StatusTotals rangeTotals(Collection<Long> courtGroupIds, LocalDate startDate, LocalDate endDate) {
+        int from = (int) startDate.toEpochDay();
+        int to = (int) endDate.toEpochDay();
+        return read(c -> {
+            int statuses = statusNames.size();
+            long[] counts = new long[statuses];
+            double[] revenues = new double[statuses];
+            if (courtGroupIds == null) {
+                c.ranges.sum(ALL_GROUPS, from, to, counts, revenues);
+            } else {
+                courtGroupIds.forEach(group -> c.ranges.sum(group, from, to, counts, revenues));
+            }
+
+            Map<String, Long> countMap = new HashMap<>();
+            Map<String, Double> revenueMap = new HashMap<>();
+            for (int s = 0; s < statuses; s++) {
+                if (counts[s] > 0) {
+                    countMap.put(statusNames.get(s), counts[s]);
+                    revenueMap.put(statusNames.get(s), revenues[s]);
+                }
+            }
+            return new StatusTotals(countMap, revenueMap);
+        });
+    }
+
+    public Stats stats() {
+        lock.readLock().lock();
+        try {
+            return new Stats(columns.live(), columns.tombstones, columns.ids.length, columns.approxBytes(),
+                    columns.ranges.trees, columns.ranges.approxBytes(), loadedAt, lastLoadMillis, pending != null);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private <T> T read(Function<Columns, T> query) {
+        awaitLoaded();
+        lock.readLock().lock();
+        try {
+            return query.apply(columns);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void awaitLoaded() {
+        try {
+            if (!loaded.await(loadWaitMs, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Booking column store is still loading");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the booking column store", e);
+        }
+    }
+
+    private static int indexOf(long[] values, long value) {
+        for (int k = 0; k < values.length; k++) {
+            if (values[k] == value) {
+                return k;
+            }
+        }
+        return NONE;
+    }
+
+    private static String label(String period, LocalDate date) {
+        return switch (period) {
+            case "week" -> yearWeek(date);
+            case "month" -> date.format(MONTH_LABEL);
+            default -> date.format(DAY_LABEL);
+        };
+    }
+
+    /**
+     * MySQL YEARWEEK(date) in its default mode: weeks start on Sunday and week 1 is the first
+     * week with a Sunday in the year, so early January days can belong to last year's week
+     */
+    static String yearWeek(LocalDate date) {
+        LocalDate sunday = date.minusDays(date.getDayOfWeek().getValue() % 7);
+        return String.format("%d%02d", sunday.getYear(), (sunday.getDayOfYear() - 1) / 7 + 1);
+    }
+
+    // ========== Row conversion ==========
+
+    private Row toRow(Booking booking, boolean removed) {
+        if (booking.getId() == null) {
+            return null;
+        }
+        if (removed || booking.getBookingDate() == null || booking.getStatus() == null) {
+            return Row.removed(booking.getId());
+        }
+        return new Row(booking.getId(),
+                booking.getCourtId() != null ? booking.getCourtId() : NONE,
+                courtGroupOf(booking.getCourtId()),
+                booking.getTimeSlotId() != null ? Math.toIntExact(booking.getTimeSlotId()) : NONE,
+                (int) booking.getBookingDate().toEpochDay(),
+                minuteOf(booking.getStartTime()),
+                statusCode(booking.getStatus()),
+                booking.getPrice() != null ? booking.getPrice() : 0.0);
+    }
+
+    private Row toRow(BookingColumnRow r) {
+        if (r.getBookingDate() == null || r.getStatus() == null) {
+            return null;
+        }
+        if (r.getCourtId() != null && r.getCourtGroupId() != null) {
+            courtGroupByCourt.put(r.getCourtId(), r.getCourtGroupId());
+        }
+        return new Row(r.getId(),
+                r.getCourtId() != null ? r.getCourtId() : NONE,
+                r.getCourtGroupId() != null ? r.getCourtGroupId() : NONE,
+                r.getTimeSlotId() != null ? Math.toIntExact(r.getTimeSlotId()) : NONE,
+                (int) r.getBookingDate().toEpochDay(),
+                minuteOf(r.getStartTime()),
+                statusCode(r.getStatus()),
+                r.getPrice() != null ? r.getPrice() : 0.0);
+    }
+
+    private long courtGroupOf(Long courtId) {
+        if (courtId == null) {
+            return NONE;
+        }
+        Long courtGroupId = courtGroupByCourt.get(courtId);
+        if (courtGroupId == null) {
+            courtGroupId = courtRepository.findById(courtId).map(Court::getCourtGroupId).orElse(null);
+            if (courtGroupId == null) {
+                return NONE;
+            }
+            courtGroupByCourt.put(courtId, courtGroupId);
+        }
+        return courtGroupId;
+    }
+
+    private byte statusCode(String status) {
+        return statusCodes.computeIfAbsent(status, s -> {
+            synchronized (statusNames) {
+                statusNames.add(s);
+                return (byte) (statusNames.size() - 1);
+            }
+        });
+    }
+
+    private static short minuteOf(LocalTime time) {
+        return time != null ? (short) (time.toSecondOfDay() / 60) : NONE;
+    }
+
+    /**
+     * Confirmed revenue and bookings of one chart period
+     */
+    public record SeriesPoint(String label, double revenue, long bookings) {}
+
+    public record Tally(long bookings, double revenue) {}
+
+    public record Stats(int bookings, int tombstones, int capacity, long approxBytes,
+                        int rangeTrees, long rangeTreeBytes,
+                        Instant loadedAt, long lastLoadMillis, boolean loading) {}
+
+    /**
+     * One booking flattened to primitives; a TOMBSTONE status removes the booking
+     */
+    private record Row(long id, long courtId, long courtGroupId, int timeSlotId,
+                       int epochDay, short minuteOfDay, byte status, double price) {
+
+        static Row removed(long id) {
+            return new Row(id, NONE, NONE, NONE, 0, (short) NONE, TOMBSTONE, 0.0);
+        }
+    }
+
+    /**
+     * Parallel arrays sorted by booking id; the first size entries are in use
+     */
+    private static final class Columns {
+
+        private static final int BYTES_PER_ROW = 8 + 8 + 4 + 4 + 4 + 2 + 1 + 8;
+
+        long[] ids;
+        long[] courtIds;
+        // court group as a dense code into groupIds, NONE when unknown
+        int[] groupCodes;
+        int[] timeSlotIds;
+        int[] epochDays;
+        short[] minutes;
+        byte[] statuses;
+        double[] prices;
+        int size;
+        int tombstones;
+        long[] groupIds = new long[16];
+        int groupCount;
+        final Map<Long, Integer> groupCodeById = new HashMap<>();
+        final RangeIndex ranges = new RangeIndex();
+
+        Columns(int capacity) {
+            ids = new long[capacity];
+            courtIds = new long[capacity];
+            groupCodes = new int[capacity];
+            timeSlotIds = new int[capacity];
+            epochDays = new int[capacity];
+            minutes = new short[capacity];
+            statuses = new byte[capacity];
+            prices = new double[capacity];
+        }
+
+        void apply(Row row) {
+            int index = Arrays.binarySearch(ids, 0, size, row.id());
+            if (index >= 0) {
+                boolean wasRemoved = statuses[index] == TOMBSTONE;
+                boolean isRemoved = row.status() == TOMBSTONE;
+                if (wasRemoved != isRemoved) {
+                    tombstones += isRemoved ? 1 : -1;
+                }
+                if (!wasRemoved) {
+                    ranges.add(courtGroupId(index), statuses[index], epochDays[index], -1, -prices[index]);
+                }
+                if (isRemoved) {
+                    statuses[index] = TOMBSTONE;
+                } else {
+                    set(index, row);
+                }
+            } else if (row.status() != TOMBSTONE) {
+                insert(-index - 1, row);
+            }
+            if (row.status() != TOMBSTONE) {
+                ranges.add(row.courtGroupId(), row.status(), row.epochDay(), 1, row.price());
+            }
+        }
+
+        int live() {
+            return size - tombstones;
+        }
+
+        long approxBytes() {
+            return (long) ids.length * BYTES_PER_ROW + (long) groupIds.length * Long.BYTES;
+        }
+
+        long courtGroupId(int index) {
+            int code = groupCodes[index];
+            return code == NONE ? NONE : groupIds[code];
+        }
+
+        private int groupCode(long courtGroupId) {
+            if (courtGroupId == NONE) {
+                return NONE;
+            }
+            return groupCodeById.computeIfAbsent(courtGroupId, id -> {
+                if (groupCount == groupIds.length) {
+                    groupIds = Arrays.copyOf(groupIds, groupCount * 2);
+                }
+                groupIds[groupCount] = id;
+                return groupCount++;
+            });
+        }
+
+        private void insert(int index, Row row) {
+            if (size == ids.length) {
+                grow();
+            }
+            // ids mostly arrive in increasing order, so this is nearly always an append
+            if (index < size) {
+                int tail = size - index;
+                System.arraycopy(ids, index, ids, index + 1, tail);
+                System.arraycopy(courtIds, index, courtIds, index + 1, tail);
+                System.arraycopy(groupCodes, index, groupCodes, index + 1, tail);
+                System.arraycopy(timeSlotIds, index, timeSlotIds, index + 1, tail);
+                System.arraycopy(epochDays, index, epochDays, index + 1, tail);
+                System.arraycopy(minutes, index, minutes, index + 1, tail);
+                System.arraycopy(statuses, index, statuses, index + 1, tail);
+                System.arraycopy(prices, index, prices, index + 1, tail);
+            }
+            size++;
+            set(index, row);
+        }
+
+        private void set(int index, Row row) {
+            ids[index] = row.id();
+            courtIds[index] = row.courtId();
+            groupCodes[index] = groupCode(row.courtGroupId());
+            timeSlotIds[index] = row.timeSlotId();
+            epochDays[index] = row.epochDay();
+            minutes[index] = row.minuteOfDay();
+            statuses[index] = row.status();
+            prices[index] = row.price();
+        }
+
+        private void grow() {
+            int capacity = Math.max(INITIAL_CAPACITY, ids.length * 2);
+            ids = Arrays.copyOf(ids, capacity);
+            courtIds = Arrays.copyOf(courtIds, capacity);
+            groupCodes = Arrays.copyOf(groupCodes, capacity);
+            timeSlotIds = Arrays.copyOf(timeSlotIds, capacity);
+            epochDays = Arrays.copyOf(epochDays, capacity);
+            minutes = Arrays.copyOf(minutes, capacity);
+            statuses = Arrays.copyOf(statuses, capacity);
+            prices = Arrays.copyOf(prices, capacity);
+        }
+    }
+
+    /**
+     * Day trees keyed by court group, one per status code, plus the ALL_GROUPS totals
+     */
+    private static final class RangeIndex {
+
+        final Map<Long, DayFenwickTree[]> treesByGroup = new HashMap<>();
+        int trees;
+
+        void add(long courtGroupId, byte status, int day, int count, double revenue) {
+            tree(courtGroupId, status, day).add(day, count, revenue);
+            tree(ALL_GROUPS, status, day).add(day, count, revenue);
+        }
+
+        void sum(long courtGroupId, int fromDay, int toDay, long[] counts, double[] revenues) {
+            DayFenwickTree[] byStatus = treesByGroup.get(courtGroupId);
+            if (byStatus == null) {
+                return;
+            }
+            for (int s = 0; s < byStatus.length && s < counts.length; s++) {
+                if (byStatus[s] != null) {
+                    counts[s] += byStatus[s].count(fromDay, toDay);
+                    revenues[s] += byStatus[s].revenue(fromDay, toDay);
+                }
+            }
+        }
+
+        long approxBytes() {
+            long bytes = 0;
+            for (DayFenwickTree[] byStatus : treesByGroup.values()) {
+                for (DayFenwickTree tree : byStatus) {
+                    bytes += tree != null ? tree.approxBytes() : 0;
+                }
+            }
+            return bytes;
+        }
+
+        private DayFenwickTree tree(long courtGroupId, byte status, int day) {
+            DayFenwickTree[] byStatus = treesByGroup.get(courtGroupId);
+            if (byStatus == null || byStatus.length <= status) {
+                byStatus = byStatus == null ? new DayFenwickTree[status + 1] : Arrays.copyOf(byStatus, status + 1);
+                treesByGroup.put(courtGroupId, byStatus);
+            }
+            if (byStatus[status] == null) {
+                byStatus[status] = new DayFenwickTree(day);
+                trees++;
+            }
+            return byStatus[status];
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.example.booking_service.service.stats;
+
+import com.example.booking_service.entity.Booking;
+import com.example.booking_service.entity.BookingStatDelta;
+import com.example.booking_service.repository.BookingDailyStatRepository;
+import com.example.booking_service.repository.BookingStatDeltaRepository;
+import com.example.booking_service.util.AfterCommit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Maintains the booking_daily_stats rollup (court, date, status) -> count, revenue, booked minutes.
+ *
+ * Every booking write path reports its change here from inside its own transaction, which inserts
+ * the deltas into booking_stat_deltas. That table is append-only, so booking transactions never
+ * lock rollup rows, and a committed delta survives a restart. A single flusher folds the oldest
+ * deltas into the rollup and deletes them in one transaction, so the rollup trails the bookings
+ * table by about one flush interval. A nightly job rebuilds a window around today from the
+ * bookings table to repair drift (manual SQL edits, float rounding), and an empty table is
+ * backfilled in full at startup.
+ *
+ * The admin dashboard charts read their daily counts and revenue from here instead of scanning
+ * bookings.
+ */
+@Service
+@Slf4j
+public class BookingDailyStatsService {
+
+    private static final int BACKFILL_CHUNK_DAYS = 31;
+    private static final int FLUSH_BATCH_SIZE = 1000;
+
+    private final BookingDailyStatRepository statRepository;
+    private final BookingStatDeltaRepository deltaRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate snapshotTemplate;
+    private final int rebuildPastDays;
+    private final int rebuildFutureDays;
+    // set when a delta commits (and at startup, for deltas left by the previous run) so idle flushes skip the query
+    private final AtomicBoolean dirty = new AtomicBoolean(true);
+    // serializes flushes and rebuilds, the only writers of the rollup table
+    private final Object writeLock = new Object();
+
+    public BookingDailyStatsService(BookingDailyStatRepository statRepository,
+                                    BookingStatDeltaRepository deltaRepository,
+                                    TransactionTemplate transactionTemplate,
+                                    @Value("${booking.stats.rebuild-past-days:7}") int rebuildPastDays,
+                                    @Value("${booking.stats.rebuild-future-days:60}") int rebuildFutureDays) {
+        this.statRepository = statRepository;
+        this.deltaRepository = deltaRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.snapshotTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.rebuildPastDays = rebuildPastDays;
+        this.rebuildFutureDays = rebuildFutureDays;
+    }
+
+    // ---- incremental maintenance ----
+
+    public void bookingCreated(Booking booking) {
+        bookingsCreated(List.of(booking));
+    }
+
+    public void bookingsCreated(Collection<Booking> bookings) {
+        Map<Key, Delta> deltas = new TreeMap<>();
+        bookings.forEach(b -> add(deltas, b, b.getStatus(), 1));
+        record(deltas);
+    }
+
+    /**
+     * Move a booking from its previous status to its current one
+     */
+    public void statusChanged(Booking booking, String previousStatus) {
+        if (Objects.equals(previousStatus, booking.getStatus())) {
+            return;
+        }
+        Map<Key, Delta> deltas = new TreeMap<>();
+        add(deltas, booking, previousStatus, -1);
+        add(deltas, booking, booking.getStatus(), 1);
+        record(deltas);
+    }
+
+    public void bookingDeleted(Booking booking) {
+        bookingsDeleted(List.of(booking));
+    }
+
+    public void bookingsDeleted(Collection<Booking> bookings) {
+        Map<Key, Delta> deltas = new TreeMap<>();
+        bookings.forEach(b -> add(deltas, b, b.getStatus(), -1));
+        record(deltas);
+    }
+
+    private void add(Map<Key, Delta> deltas, Booking booking, String status, int sign) {
+        if (booking.getCourtId() == null || booking.getBookingDate() == null || status == null) {
+            return;
+        }
+        Key key = new Key(booking.getCourtId(), booking.getBookingDate(), status);
+        double price = booking.getPrice() != null ? booking.getPrice() : 0.0;
+        deltas.merge(key, new Delta(sign, sign * price, sign * bookedMinutes(booking)), Delta::plus);
+    }
+
+    /**
+     * Insert the deltas in the caller's transaction, so they commit or roll back with the booking change
+     */
+    private void record(Map<Key, Delta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<BookingStatDelta> rows = new ArrayList<>(deltas.size());
+        deltas.forEach((key, delta) -> rows.add(BookingStatDelta.builder()
+                .courtId(key.courtId())
+                .statDate(key.date())
+                .status(key.status())
+                .bookingCount(delta.count())
+                .revenue(delta.revenue())
+                .bookedMinutes(delta.minutes())
+                .build()));
+        deltaRepository.saveAll(rows);
+        AfterCommit.run(() -> dirty.set(true));
+    }
+
+    /**
+     * Fold the oldest recorded deltas into the rollup and delete them, one transaction per batch.
+     * A failed batch stays in booking_stat_deltas and is retried on the next flush.
+     */
+    @Scheduled(fixedDelayString = "${booking.stats.flush-interval-ms:1000}")
+    public void flush() {
+        synchronized (writeLock) {
+            if (!dirty.getAndSet(false)) {
+                return;
+            }
+            try {
+                Integer folded;
+                do {
+                    folded = transactionTemplate.execute(status -> foldOldest());
+                } while (folded != null && folded == FLUSH_BATCH_SIZE);
+            } catch (Exception e) {
+                dirty.set(true);
+                log.warn("Flushing booking daily stat deltas failed, retrying on next flush: {}", e.getMessage());
+            }
+        }
+    }
+
+    private int foldOldest() {
+        List<BookingStatDelta> rows = deltaRepository.findOldest(PageRequest.of(0, FLUSH_BATCH_SIZE));
+        Map<Key, Delta> batch = new TreeMap<>();
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (BookingStatDelta row : rows) {
+            batch.merge(new Key(row.getCourtId(), row.getStatDate(), row.getStatus()),
+                    new Delta(row.getBookingCount(), row.getRevenue(), row.getBookedMinutes()), Delta::plus);
+            ids.add(row.getId());
+        }
+        write(batch);
+        deltaRepository.deleteAllByIdInBatch(ids);
+        return rows.size();
+    }
+
+    private void write(Map<Key, Delta> deltas) {
+        // keys are applied in sorted order so rollup rows are always locked in the same order
+        deltas.forEach((key, delta) -> {
+            if (delta.count() != 0 || delta.revenue() != 0 || delta.minutes() != 0) {
+                statRepository.addDelta(key.courtId(), key.date(), key.status(),
+                        delta.count(), delta.revenue(), delta.minutes());
+            }
+        });
+    }
+
+    static long bookedMinutes(Booking booking) {
+        LocalTime start = booking.getStartTime();
+        LocalTime end = booking.getEndTime();
+        if (start == null || end == null) {
+            return 0;
+        }
+        long endMinute = end.equals(LocalTime.MIDNIGHT) ? 24 * 60 : end.toSecondOfDay() / 60;
+        return Math.max(0, endMinute - start.toSecondOfDay() / 60);
+    }
+
+    // ---- rebuild ----
+
+    /**
+     * Recompute the rollup for [startDate, endDate] from the bookings table in one transaction.
+     * The unflushed deltas of the range and the bookings are read from the same repeatable-read
+     * snapshot; a booking and its deltas commit together, so exactly the deltas visible there are
+     * already counted and get deleted. Deltas committed later stay queued for the flusher.
+     */
+    public int rebuild(LocalDate startDate, LocalDate endDate) {
+        Integer rows;
+        synchronized (writeLock) {
+            rows = snapshotTemplate.execute(status -> {
+                List<Long> counted = deltaRepository.findIdsByStatDateBetween(startDate, endDate);
+                List<Object[]> aggregates = statRepository.aggregateBookings(startDate, endDate);
+                statRepository.deleteByStatDateBetween(startDate, endDate);
+                for (Object[] row : aggregates) {
+                    statRepository.addDelta(((Number) row[0]).longValue(), toLocalDate(row[1]), (String) row[2],
+                            ((Number) row[3]).longValue(), ((Number) row[4]).doubleValue(), ((Number) row[5]).longValue());
+                }
+                deltaRepository.deleteAllByIdInBatch(counted);
+                return aggregates.size();
+            });
+        }
+        log.info("Rebuilt booking daily stats {} -> {}: {} rows", startDate, endDate, rows);
+        return rows != null ? rows : 0;
+    }
+
+    /**
+     * Recompute the rollup for every booking date, one month-sized transaction at a time
+     */
+    public int rebuildAll() {
+        List<Object[]> range = statRepository.findBookingDateRange();
+        if (range.isEmpty() || range.get(0)[0] == null) {
+            return 0;
+        }
+        LocalDate first = toLocalDate(range.get(0)[0]);
+        LocalDate last = toLocalDate(range.get(0)[1]);
+        int rows = 0;
+        for (LocalDate from = first; !from.isAfter(last); from = from.plusDays(BACKFILL_CHUNK_DAYS)) {
+            LocalDate to = from.plusDays(BACKFILL_CHUNK_DAYS - 1);
+            rows += rebuild(from, to.isAfter(last) ? last : to);
+        }
+        return rows;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        try {
+            if (statRepository.count() == 0) {
+                log.info("Booking daily stats table is empty, backfilling from bookings");
+                rebuildAll();
+            }
+        } catch (Exception e) {
+            log.error("Booking daily stats backfill failed", e);
+        }
+    }
+
+    @Scheduled(cron = "${booking.stats.rebuild-cron:0 30 3 * * *}")
+    public void scheduledRebuild() {
+        LocalDate today = LocalDate.now();
+        try {
+            rebuild(today.minusDays(rebuildPastDays), today.plusDays(rebuildFutureDays));
+        } catch (Exception e) {
+            log.error("Scheduled booking daily stats rebuild failed", e);
+        }
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        return value instanceof java.sql.Date date ? date.toLocalDate() : (LocalDate) value;
+    }
+
+    // ---- reads ----
+
+    @Transactional(readOnly = true)
+    public StatusTotals totals(LocalDate startDate, LocalDate endDate) {
+        return fold(statRepository.sumByStatus(startDate, endDate));
+    }
+
+    @Transactional(readOnly = true)
+    public Map<LocalDate, StatusTotals> dailyTotals(LocalDate startDate, LocalDate endDate) {
+        return foldBy(statRepository.sumByDateAndStatus(startDate, endDate));
+    }
+
+    private static StatusTotals fold(List<Object[]> rows) {
+        StatusTotals totals = null;
+        for (Object[] row : rows) {
+            totals = StatusTotals.accumulate(totals, row, 0);
+        }
+        return totals != null ? totals : StatusTotals.EMPTY;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K> Map<K, StatusTotals> foldBy(List<Object[]> rows) {
+        Map<K, StatusTotals> result = new HashMap<>();
+        for (Object[] row : rows) {
+            K key = (K) row[0];
+            result.put(key, StatusTotals.accumulate(result.get(key), row, 1));
+        }
+        return result;
+    }
+
+    private record Key(Long courtId, LocalDate date, String status) implements Comparable<Key> {
+        private static final Comparator<Key> ORDER = Comparator.comparing(Key::courtId)
+                .thenComparing(Key::date)
+                .thenComparing(Key::status);
+
+        @Override
+        public int compareTo(Key other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    private record Delta(long count, double revenue, long minutes) {
+        Delta plus(Delta other) {
+            return new Delta(count + other.count, revenue + other.revenue, minutes + other.minutes);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.booking_service.service.stats;
+
+/**
+ * Binary indexed (Fenwick) tree over epoch days holding a booking count and a revenue per day.
+ *
+ * Point updates and range sums over any [fromDay, toDay] are O(log days). The covered day span
+ * grows on demand in either direction: per-day values are recovered in place, shifted and the
+ * tree rebuilt in linear time, with capacity doubling so growth is amortized.
+ *
+ * Not thread-safe; BookingColumnStore guards it with its lock.
+ */
+final class DayFenwickTree {
+
+    private static final int MIN_CAPACITY = 64;
+
+    // epoch day stored at tree index 1
+    private int baseDay;
+    // 1-based; index 0 unused
+    private int[] counts;
+    private double[] revenues;
+
+    DayFenwickTree(int firstDay) {
+        this.baseDay = firstDay - MIN_CAPACITY / 4;
+        this.counts = new int[MIN_CAPACITY + 1];
+        this.revenues = new double[MIN_CAPACITY + 1];
+    }
+
+    void add(int day, int count, double revenue) {
+        ensureCovers(day);
+        for (int i = day - baseDay + 1; i < counts.length; i += i & -i) {
+            counts[i] += count;
+            revenues[i] += revenue;
+        }
+    }
+
+    long count(int fromDay, int toDay) {
+        return fromDay > toDay ? 0 : countPrefix(toDay) - countPrefix(fromDay - 1);
+    }
+
+    double revenue(int fromDay, int toDay) {
+        return fromDay > toDay ? 0.0 : revenuePrefix(toDay) - revenuePrefix(fromDay - 1);
+    }
+
+    long approxBytes() {
+        return (long) counts.length * (Integer.BYTES + Double.BYTES);
+    }
+
+    private long countPrefix(int day) {
+        long sum = 0;
+        for (int i = Math.min(day - baseDay + 1, counts.length - 1); i > 0; i -= i & -i) {
+            sum += counts[i];
+        }
+        return sum;
+    }
+
+    private double revenuePrefix(int day) {
+        double sum = 0;
+        for (int i = Math.min(day - baseDay + 1, revenues.length - 1); i > 0; i -= i & -i) {
+            sum += revenues[i];
+        }
+        return sum;
+    }
+
+    private void ensureCovers(int day) {
+        int capacity = counts.length - 1;
+        if (day >= baseDay && day < baseDay + capacity) {
+            return;
+        }
+        int low = Math.min(baseDay, day);
+        int high = Math.max(baseDay + capacity, day + 1);
+        int newCapacity = capacity;
+        while (newCapacity < high - low) {
+            newCapacity *= 2;
+        }
+        // leave the headroom on the side we grew towards
+        int newBase = day < baseDay ? high - newCapacity : low;
+        rebuild(newBase, newCapacity);
+    }
+
+    private void rebuild(int newBase, int newCapacity) {
+        int capacity = counts.length - 1;
+        // undo the linear-time construction to get back per-day values
+        for (int i = capacity; i > 0; i--) {
+            int parent = i + (i & -i);
+            if (parent <= capacity) {
+                counts[parent] -= counts[i];
+                revenues[parent] -= revenues[i];
+            }
+        }
+
+        int[] newCounts = new int[newCapacity + 1];
+        double[] newRevenues = new double[newCapacity + 1];
+        int shift = baseDay - newBase;
+        System.arraycopy(counts, 1, newCounts, 1 + shift, capacity);
+        System.arraycopy(revenues, 1, newRevenues, 1 + shift, capacity);
+
+        for (int i = 1; i <= newCapacity; i++) {
+            int parent = i + (i & -i);
+            if (parent <= newCapacity) {
+                newCounts[parent] += newCounts[i];
+                newRevenues[parent] += newRevenues[i];
+            }
+        }
+        baseDay = newBase;
+        counts = newCounts;
+        revenues = newRevenues;
+    }
+}
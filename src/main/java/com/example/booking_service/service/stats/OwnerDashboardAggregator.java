@@ -0,0 +1,127 @@
+package com.example.booking_service.service.stats;
+
+import com.example.booking_service.repository.projection.BookingAggregateRow;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+
+/**
+ * One-pass accumulator for the owner dashboard.
+ *
+ * The owner's bookings for the union of the current and trend windows are fed in once;
+ * every section (overview, trends, status distribution and per-group totals) is folded into primitive counters indexed by day offset and group position, so
+ * memory depends on the window and the number of groups, never on the number of bookings.
+ * Utilization is swept from the same stream by UtilizationEngine. The previous period used for
+ * growth is read from BookingColumnStore's day trees instead of being streamed.
+ */
+@Getter
+public class OwnerDashboardAggregator {
+
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final LocalDate trendStartDate;
+    @Getter(AccessLevel.NONE)
+    private final Map<Long, Integer> groupIndexByCourt;
+
+    // current period
+    private long totalBookings;
+    private long pendingBookings;
+    private long confirmedBookings;
+    private long cancelledBookings;
+    private double confirmedRevenue;
+
+    // trend window, indexed by days since trendStartDate
+    @Getter(AccessLevel.NONE)
+    private final int[] trendBookings;
+    @Getter(AccessLevel.NONE)
+    private final double[] trendRevenue;
+
+    // current period per court group, indexed like the groups passed in
+    @Getter(AccessLevel.NONE)
+    private final int[] groupBookings;
+    @Getter(AccessLevel.NONE)
+    private final double[] groupRevenue;
+
+    /**
+     * @param groupIndexByCourt court id -> position of its group in the caller's group list
+     */
+    public OwnerDashboardAggregator(LocalDate startDate, LocalDate endDate, LocalDate trendStartDate,
+                                    Map<Long, Integer> groupIndexByCourt, int groupCount) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.trendStartDate = trendStartDate;
+        this.groupIndexByCourt = groupIndexByCourt;
+        this.trendBookings = new int[(int) ChronoUnit.DAYS.between(trendStartDate, endDate) + 1];
+        this.trendRevenue = new double[trendBookings.length];
+        this.groupBookings = new int[groupCount];
+        this.groupRevenue = new double[groupCount];
+    }
+
+    /**
+     * First date any section needs; stream bookings from here to the end date
+     */
+    public LocalDate windowStart() {
+        return startDate.isBefore(trendStartDate) ? startDate : trendStartDate;
+    }
+
+    public LocalDate windowEnd() {
+        return endDate;
+    }
+
+    public void accept(BookingAggregateRow row) {
+        LocalDate date = row.getBookingDate();
+        if (date == null || date.isAfter(endDate)) {
+            return;
+        }
+        String status = row.getStatus();
+        boolean confirmed = "CONFIRMED".equals(status);
+        double price = confirmed && row.getPrice() != null ? row.getPrice() : 0.0;
+
+        if (!date.isBefore(startDate)) {
+            totalBookings++;
+            confirmedRevenue += price;
+            if ("PENDING".equals(status)) {
+                pendingBookings++;
+            } else if (confirmed) {
+                confirmedBookings++;
+            } else if ("CANCELLED".equals(status)) {
+                cancelledBookings++;
+            }
+
+            Integer group = groupIndexByCourt.get(row.getCourtId());
+            if (group != null) {
+                groupBookings[group]++;
+                groupRevenue[group] += price;
+            }
+        }
+
+        if (!date.isBefore(trendStartDate)) {
+            int day = (int) ChronoUnit.DAYS.between(trendStartDate, date);
+            trendBookings[day]++;
+            trendRevenue[day] += price;
+        }
+    }
+
+    public int trendDays() {
+        return trendBookings.length;
+    }
+
+    public int trendBookings(int day) {
+        return trendBookings[day];
+    }
+
+    public double trendRevenue(int day) {
+        return trendRevenue[day];
+    }
+
+    public int groupBookings(int group) {
+        return groupBookings[group];
+    }
+
+    public double groupRevenue(int group) {
+        return groupRevenue[group];
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.booking_service.service.stats;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Booking count and revenue per status for one slice of the daily rollup
+ */
+public record StatusTotals(Map<String, Long> counts, Map<String, Double> revenues) {
+
+    public static final StatusTotals EMPTY = new StatusTotals(Collections.emptyMap(), Collections.emptyMap());
+
+    public long count(String... statuses) {
+        long total = 0;
+        for (String status : statuses) {
+            total += counts.getOrDefault(status, 0L);
+        }
+        return total;
+    }
+
+    public long totalCount() {
+        return counts.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public double revenue(String... statuses) {
+        double total = 0;
+        for (String status : statuses) {
+            total += revenues.getOrDefault(status, 0.0);
+        }
+        return total;
+    }
+
+    /**
+     * Fold rows of (..., status, count, revenue) starting at the given column
+     */
+    static StatusTotals accumulate(StatusTotals totals, Object[] row, int statusColumn) {
+        Map<String, Long> counts = totals == null ? new HashMap<>() : totals.counts();
+        Map<String, Double> revenues = totals == null ? new HashMap<>() : totals.revenues();
+        String status = (String) row[statusColumn];
+        counts.merge(status, ((Number) row[statusColumn + 1]).longValue(), Long::sum);
+        revenues.merge(status, row[statusColumn + 2] != null ? ((Number) row[statusColumn + 2]).doubleValue() : 0.0,
+                Double::sum);
+        return totals == null ? new StatusTotals(counts, revenues) : totals;
+    }
+}
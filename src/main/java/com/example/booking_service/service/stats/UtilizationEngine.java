@@ -0,0 +1,208 @@
+package com.example.booking_service.service.stats;
+
+import com.example.booking_service.entity.Court;
+import com.example.booking_service.entity.CourtGroup;
+import com.example.booking_service.entity.TimeSlot;
+import com.example.booking_service.repository.BookingRepository;
+import com.example.booking_service.repository.projection.BookingAggregateRow;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Minute-accurate utilization by sweeping booking intervals.
+ *
+ * Rows must arrive ordered by (court, date, start). For each court and day the sweep merges
+ * overlapping intervals into occupied runs, clips them to the group's opening hours and
+ * spreads the minutes over a (court x hour-of-week) matrix, plus one bucket per time slot
+ * band. Open minutes are derived from the opening hours and the number of each weekday in
+ * the range, so memory is courts x 168 regardless of how many bookings are swept.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class UtilizationEngine {
+
+    public static final int HOURS_PER_WEEK = 7 * 24;
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    BookingRepository bookingRepository;
+    TransactionTemplate transactionTemplate;
+
+    /**
+     * Start a sweep to be fed by the caller's own ordered stream
+     */
+    public Sweep start(List<Court> courts, Map<Long, CourtGroup> groupsById,
+                       LocalDate startDate, LocalDate endDate, List<TimeSlot> bands) {
+        return new Sweep(courts, groupsById, startDate, endDate, bands);
+    }
+
+    /**
+     * Sweep every booking of the given courts in the range with one streamed query
+     */
+    public UtilizationHeatmap compute(List<Court> courts, Map<Long, CourtGroup> groupsById,
+                                      LocalDate startDate, LocalDate endDate, List<TimeSlot> bands) {
+        Sweep sweep = start(courts, groupsById, startDate, endDate, bands);
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<BookingAggregateRow> rows = bookingRepository.streamOrderedAggregateRows(startDate, endDate)) {
+                rows.forEach(sweep::accept);
+            }
+        });
+        return sweep.finish();
+    }
+
+    public static final class Sweep {
+
+        private final List<Court> courts;
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+        private final Map<Long, Integer> courtIndex = new HashMap<>();
+        private final int[][][] openWindows; // per court: {startMinute, endMinute}
+        private final int[][] bands;         // per band: {startMinute, endMinute}
+        private final long[] booked;         // court * 168 + hourOfWeek
+        private final long[] bandBooked;
+
+        // current merged run
+        private int runCourt = -1;
+        private LocalDate runDate;
+        private int runStart;
+        private int runEnd;
+
+        private Sweep(List<Court> courts, Map<Long, CourtGroup> groupsById,
+                      LocalDate startDate, LocalDate endDate, List<TimeSlot> timeSlots) {
+            this.courts = courts;
+            this.startDate = startDate;
+            this.endDate = endDate;
+            this.openWindows = new int[courts.size()][][];
+            for (int i = 0; i < courts.size(); i++) {
+                Court court = courts.get(i);
+                courtIndex.put(court.getId(), i);
+                openWindows[i] = openWindowsOf(groupsById.get(court.getCourtGroupId()));
+            }
+            this.bands = new int[timeSlots.size()][];
+            for (int b = 0; b < timeSlots.size(); b++) {
+                TimeSlot slot = timeSlots.get(b);
+                bands[b] = new int[]{minuteOf(slot.getStartTime(), false), minuteOf(slot.getEndTime(), true)};
+            }
+            this.booked = new long[courts.size() * HOURS_PER_WEEK];
+            this.bandBooked = new long[bands.length];
+        }
+
+        /**
+         * Feed one booking; CANCELLED bookings and bookings outside the range or courts are skipped
+         */
+        public void accept(BookingAggregateRow row) {
+            Integer court = courtIndex.get(row.getCourtId());
+            LocalDate date = row.getBookingDate();
+            if (court == null || date == null || date.isBefore(startDate) || date.isAfter(endDate)
+                    || "CANCELLED".equals(row.getStatus())
+                    || row.getStartTime() == null || row.getEndTime() == null) {
+                return;
+            }
+            int start = minuteOf(row.getStartTime(), false);
+            int end = minuteOf(row.getEndTime(), true);
+            if (end <= start) {
+                return;
+            }
+            if (court == runCourt && date.equals(runDate) && start <= runEnd) {
+                runEnd = Math.max(runEnd, end);
+                return;
+            }
+            flush();
+            runCourt = court;
+            runDate = date;
+            runStart = start;
+            runEnd = end;
+        }
+
+        public UtilizationHeatmap finish() {
+            flush();
+            runCourt = -1;
+
+            // open minutes: opening hours times the number of each weekday in the range
+            long[] weekdays = new long[7];
+            long days = ChronoUnit.DAYS.between(startDate, endDate) + 1;
+            for (long d = 0; d < Math.min(days, 7); d++) {
+                int dow = startDate.plusDays(d).getDayOfWeek().getValue() - 1;
+                weekdays[dow] = (days - d + 6) / 7;
+            }
+            long[] open = new long[booked.length];
+            long[] bandOpen = new long[bands.length];
+            for (int c = 0; c < courts.size(); c++) {
+                for (int[] window : openWindows[c]) {
+                    for (int dow = 0; dow < 7; dow++) {
+                        if (weekdays[dow] > 0) {
+                            spread(open, c, dow, window[0], window[1], weekdays[dow]);
+                            spreadBands(bandOpen, window[0], window[1], weekdays[dow]);
+                        }
+                    }
+                }
+            }
+            return new UtilizationHeatmap(courts, booked, open, bandBooked, bandOpen);
+        }
+
+        private void flush() {
+            if (runCourt < 0) {
+                return;
+            }
+            int dow = runDate.getDayOfWeek().getValue() - 1;
+            for (int[] window : openWindows[runCourt]) {
+                int from = Math.max(runStart, window[0]);
+                int to = Math.min(runEnd, window[1]);
+                if (from < to) {
+                    spread(booked, runCourt, dow, from, to, 1);
+                    spreadBands(bandBooked, from, to, 1);
+                }
+            }
+        }
+
+        private void spread(long[] matrix, int court, int dow, int from, int to, long weight) {
+            int base = court * HOURS_PER_WEEK + dow * 24;
+            for (int hour = from / 60; hour * 60 < to; hour++) {
+                int minutes = Math.min(to, (hour + 1) * 60) - Math.max(from, hour * 60);
+                matrix[base + hour] += minutes * weight;
+            }
+        }
+
+        private void spreadBands(long[] totals, int from, int to, long weight) {
+            for (int b = 0; b < bands.length; b++) {
+                int overlap = Math.min(to, bands[b][1]) - Math.max(from, bands[b][0]);
+                if (overlap > 0) {
+                    totals[b] += overlap * weight;
+                }
+            }
+        }
+
+        /**
+         * Opening hours as minute windows; a close at or before the open time runs past midnight
+         */
+        private static int[][] openWindowsOf(CourtGroup group) {
+            if (group == null || group.getOpenTime() == null || group.getCloseTime() == null) {
+                return new int[][]{{0, MINUTES_PER_DAY}};
+            }
+            int open = minuteOf(group.getOpenTime(), false);
+            int close = minuteOf(group.getCloseTime(), true);
+            if (close > open) {
+                return new int[][]{{open, close}};
+            }
+            return new int[][]{{0, close % MINUTES_PER_DAY}, {open, MINUTES_PER_DAY}};
+        }
+
+        private static int minuteOf(LocalTime time, boolean end) {
+            if (end && time.equals(LocalTime.MIDNIGHT)) {
+                return MINUTES_PER_DAY;
+            }
+            return time.toSecondOfDay() / 60;
+        }
+    }
+}
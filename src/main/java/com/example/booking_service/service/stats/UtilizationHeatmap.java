@@ -0,0 +1,104 @@
+package com.example.booking_service.service.stats;
+
+import com.example.booking_service.dto.response.UtilizationHeatmapResponse;
+import com.example.booking_service.entity.Court;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static com.example.booking_service.service.stats.UtilizationEngine.HOURS_PER_WEEK;
+
+/**
+ * Result of a utilization sweep: booked and open minutes per (court, hour of week) and per time slot band
+ */
+public class UtilizationHeatmap {
+
+    private static final int PEAK_HOURS = 5;
+
+    private final List<Court> courts;
+    private final long[] booked;
+    private final long[] open;
+    private final long[] bandBooked;
+    private final long[] bandOpen;
+
+    UtilizationHeatmap(List<Court> courts, long[] booked, long[] open, long[] bandBooked, long[] bandOpen) {
+        this.courts = courts;
+        this.booked = booked;
+        this.open = open;
+        this.bandBooked = bandBooked;
+        this.bandOpen = bandOpen;
+    }
+
+    /**
+     * Utilization percentage of the band at the given position, within opening hours
+     */
+    public double bandUtilization(int band) {
+        return percent(bandBooked[band], bandOpen[band]);
+    }
+
+    public UtilizationHeatmapResponse toResponse(boolean includeCourts) {
+        long[] hourBooked = new long[HOURS_PER_WEEK];
+        long[] hourOpen = new long[HOURS_PER_WEEK];
+        for (int i = 0; i < booked.length; i++) {
+            hourBooked[i % HOURS_PER_WEEK] += booked[i];
+            hourOpen[i % HOURS_PER_WEEK] += open[i];
+        }
+
+        long totalBooked = 0;
+        long totalOpen = 0;
+        List<UtilizationHeatmapResponse.HourCell> hours = new ArrayList<>(HOURS_PER_WEEK);
+        for (int h = 0; h < HOURS_PER_WEEK; h++) {
+            totalBooked += hourBooked[h];
+            totalOpen += hourOpen[h];
+            hours.add(UtilizationHeatmapResponse.HourCell.builder()
+                    .dayOfWeek(h / 24 + 1)
+                    .hour(h % 24)
+                    .bookedMinutes(hourBooked[h])
+                    .openMinutes(hourOpen[h])
+                    .utilization(percent(hourBooked[h], hourOpen[h]))
+                    .build());
+        }
+
+        List<UtilizationHeatmapResponse.HourCell> peakHours = hours.stream()
+                .filter(cell -> cell.getOpenMinutes() > 0 && cell.getBookedMinutes() > 0)
+                .sorted(Comparator.comparing(UtilizationHeatmapResponse.HourCell::getUtilization).reversed())
+                .limit(PEAK_HOURS)
+                .toList();
+
+        return UtilizationHeatmapResponse.builder()
+                .utilization(percent(totalBooked, totalOpen))
+                .bookedMinutes(totalBooked)
+                .openMinutes(totalOpen)
+                .hours(hours)
+                .peakHours(peakHours)
+                .courts(includeCourts ? courtRows() : null)
+                .build();
+    }
+
+    private List<UtilizationHeatmapResponse.CourtRow> courtRows() {
+        List<UtilizationHeatmapResponse.CourtRow> rows = new ArrayList<>(courts.size());
+        for (int c = 0; c < courts.size(); c++) {
+            long courtBooked = 0;
+            long courtOpen = 0;
+            List<Double> hourly = new ArrayList<>(HOURS_PER_WEEK);
+            for (int h = 0; h < HOURS_PER_WEEK; h++) {
+                int i = c * HOURS_PER_WEEK + h;
+                courtBooked += booked[i];
+                courtOpen += open[i];
+                hourly.add(open[i] == 0 ? null : percent(booked[i], open[i]));
+            }
+            rows.add(UtilizationHeatmapResponse.CourtRow.builder()
+                    .courtId(courts.get(c).getId())
+                    .courtName(courts.get(c).getName())
+                    .utilization(percent(courtBooked, courtOpen))
+                    .hourly(hourly)
+                    .build());
+        }
+        return rows;
+    }
+
+    private static double percent(long part, long whole) {
+        return whole == 0 ? 0.0 : Math.round(part * 1000.0 / whole) / 10.0;
+    }
+}
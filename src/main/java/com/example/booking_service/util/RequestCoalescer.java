@@ -0,0 +1,125 @@
+package com.example.booking_service.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight coalescing for hot reads.
+ * Concurrent callers asking for the same (name, key) share one in-flight computation:
+ * the first caller runs the loader, the others wait for its result (or its exception).
+ * A follower that waits longer than the timeout stops waiting and runs the loader itself,
+ * so one stuck computation cannot hold every reader of a key.
+ * Per-name counters since startup are served by stats() and logged every five minutes.
+ */
+@Component
+@Slf4j
+public class RequestCoalescer {
+
+    private final long timeoutMillis;
+    private final Map<FlightKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+    public RequestCoalescer(@Value("${booking.coalescing.timeout-ms:3000}") long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Run the loader for (name, key), or join a computation for the same key that is already running
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String name, Object key, Supplier<T> loader) {
+        FlightKey flightKey = new FlightKey(name, key);
+        Counters counters = this.counters.computeIfAbsent(name, n -> new Counters());
+        counters.calls.increment();
+
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, mine);
+        if (existing == null) {
+            try {
+                T value = loader.get();
+                mine.complete(value);
+                return value;
+            } catch (RuntimeException | Error e) {
+                mine.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(flightKey, mine);
+            }
+        }
+
+        counters.shared.increment();
+        try {
+            return (T) existing.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            counters.timeouts.increment();
+            // let the next caller start a fresh flight instead of joining the slow one
+            inFlight.remove(flightKey, existing);
+            log.warn("Coalesced read {} for key {} exceeded {}ms, loading directly", name, key, timeoutMillis);
+            return loader.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + name, e);
+        }
+    }
+
+    /**
+     * Calls, shared results and timeouts per name since startup
+     */
+    public Map<String, Stats> stats() {
+        Map<String, Stats> result = new TreeMap<>();
+        counters.forEach((name, c) -> result.put(name, Stats.of(c.calls.sum(), c.shared.sum(), c.timeouts.sum())));
+        return result;
+    }
+
+    /**
+     * Log the counters of the last five minutes, leaving the totals served by stats() untouched
+     */
+    @Scheduled(fixedRate = 300000)
+    public void logStats() {
+        counters.forEach((name, c) -> {
+            Stats total = Stats.of(c.calls.sum(), c.shared.sum(), c.timeouts.sum());
+            Stats window = Stats.of(total.calls() - c.logged.calls(), total.shared() - c.logged.shared(),
+                    total.timeouts() - c.logged.timeouts());
+            c.logged = total;
+            if (window.calls() > 0) {
+                log.info("Coalescing {}: {} calls, {} shared ({}%), {} timeouts",
+                        name, window.calls(), window.shared(), window.shared() * 100 / window.calls(), window.timeouts());
+            }
+        });
+    }
+
+    /**
+     * Counters of one name; coalescingRatio is the share of calls served by another caller's computation
+     */
+    public record Stats(long calls, long shared, long timeouts, double coalescingRatio) {
+        static Stats of(long calls, long shared, long timeouts) {
+            return new Stats(calls, shared, timeouts, calls == 0 ? 0.0 : (double) shared / calls);
+        }
+    }
+
+    private record FlightKey(String name, Object key) {}
+
+    private static final class Counters {
+        final LongAdder calls = new LongAdder();
+        final LongAdder shared = new LongAdder();
+        final LongAdder timeouts = new LongAdder();
+        // totals at the last log line, only touched by logStats
+        Stats logged = Stats.of(0, 0, 0);
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.booking_service.util;
+
+import com.example.booking_service.service.bulkhead.Workload;
+import com.example.booking_service.service.bulkhead.WorkloadExecutor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Runs the independent sections of a dashboard concurrently on virtual threads.
+ *
+ * Each section gets its own deadline (booking.dashboard-sections.timeouts.&lt;name&gt;, falling
+ * back to booking.dashboard-sections.timeout-ms). A section that fails or misses its deadline
+ * is answered with its fallback and reported in partialSections(), so the response takes as
+ * long as the slowest section within its deadline instead of the sum of all sections.
+ *
+ * A late section is not left running on its dashboard connection: its thread is interrupted,
+ * and each section runs in a read-only transaction whose timeout is the section deadline, so
+ * its queries are also cut off by the database driver if the interrupt is not noticed.
+ */
+@Component
+@Slf4j
+public class SectionFanOut {
+
+    private static final String TIMEOUT_PREFIX = "booking.dashboard-sections.timeouts.";
+
+    private final WorkloadExecutor workloadExecutor;
+    private final PlatformTransactionManager transactionManager;
+    private final Environment environment;
+    private final long defaultTimeoutMillis;
+
+    public SectionFanOut(WorkloadExecutor workloadExecutor,
+                         PlatformTransactionManager transactionManager,
+                         Environment environment,
+                         @Value("${booking.dashboard-sections.timeout-ms:5000}") long defaultTimeoutMillis) {
+        this.workloadExecutor = workloadExecutor;
+        this.transactionManager = transactionManager;
+        this.environment = environment;
+        this.defaultTimeoutMillis = defaultTimeoutMillis;
+    }
+
+    /**
+     * Open a scope for one dashboard request; closing it interrupts any section still running
+     */
+    public Scope open(String dashboard) {
+        return new Scope(dashboard);
+    }
+
+    public final class Scope implements AutoCloseable {
+
+        private final String dashboard;
+        private final long startedAt = System.nanoTime();
+        private final List<Section<?>> sections = new ArrayList<>();
+        private final List<String> partialSections = new ArrayList<>();
+        private boolean joined;
+
+        private Scope(String dashboard) {
+            this.dashboard = dashboard;
+        }
+
+        public <T> Section<T> fork(String name, Supplier<T> task, T fallback) {
+            long timeoutMillis = environment.getProperty(TIMEOUT_PREFIX + name, Long.class, defaultTimeoutMillis);
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.setReadOnly(true);
+            // applied by Spring to every query of the section; whole seconds, rounded up
+            transaction.setTimeout((int) Math.max(1, (timeoutMillis + 999) / 1000));
+            Future<T> future = workloadExecutor.submit(Workload.DASHBOARD, () -> transaction.execute(status -> task.get()));
+            Section<T> section = new Section<>(name, future,
+                    startedAt + TimeUnit.MILLISECONDS.toNanos(timeoutMillis), fallback);
+            sections.add(section);
+            return section;
+        }
+
+        /**
+         * Wait for every section until its own deadline
+         */
+        public Scope join() {
+            for (Section<?> section : sections) {
+                if (!section.settle(dashboard)) {
+                    partialSections.add(section.name);
+                }
+            }
+            joined = true;
+            return this;
+        }
+
+        /**
+         * Sections answered with their fallback; empty when the response is complete
+         */
+        public List<String> partialSections() {
+            if (!joined) {
+                throw new IllegalStateException("join() must be called first");
+            }
+            return List.copyOf(partialSections);
+        }
+
+        @Override
+        public void close() {
+            sections.forEach(section -> section.future.cancel(true));
+        }
+    }
+
+    public static final class Section<T> {
+
+        private final String name;
+        private final Future<T> future;
+        private final long deadlineNanos;
+        private final T fallback;
+        private T value;
+        private boolean settled;
+
+        private Section(String name, Future<T> future, long deadlineNanos, T fallback) {
+            this.name = name;
+            this.future = future;
+            this.deadlineNanos = deadlineNanos;
+            this.fallback = fallback;
+        }
+
+        /**
+         * Value of the section, or its fallback if it failed or ran out of time
+         */
+        public T get() {
+            if (!settled) {
+                throw new IllegalStateException("Section " + name + " read before join()");
+            }
+            return value;
+        }
+
+        private boolean settle(String dashboard) {
+            settled = true;
+            try {
+                long remaining = Math.max(0, deadlineNanos - System.nanoTime());
+                value = future.get(remaining, TimeUnit.NANOSECONDS);
+                return true;
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                log.warn("Dashboard {} section {} missed its deadline, returning partial result", dashboard, name);
+            } catch (CancellationException e) {
+                log.warn("Dashboard {} section {} was cancelled, returning partial result", dashboard, name);
+            } catch (ExecutionException e) {
+                log.error("Dashboard {} section {} failed, returning partial result", dashboard, name, e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+            }
+            value = fallback;
+            return false;
+        }
+    }
+}
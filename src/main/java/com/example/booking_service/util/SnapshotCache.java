@@ -0,0 +1,152 @@
+package com.example.booking_service.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Stale-while-revalidate cache of computed snapshots.
+ *
+ * A snapshot younger than refreshAfter is served as is. An older one is still served
+ * immediately, and one background refresh per key is started on the executor; callers that
+ * arrive while it runs keep getting the stale snapshot. Only a missing snapshot, or one older
+ * than expireAfter, is computed on the caller's thread, and concurrent callers for the same
+ * key share that computation. A failed background refresh keeps the previous snapshot.
+ *
+ * Only values the cacheable predicate accepts are stored; a partial result (say, a dashboard
+ * with a section past its deadline) is returned to its caller but never served to anyone else,
+ * and a partial background refresh keeps the previous snapshot like a failed one.
+ */
+@Slf4j
+public class SnapshotCache<K, V> {
+
+    private final String name;
+    private final long refreshAfterMillis;
+    private final long expireAfterMillis;
+    private final int maxEntries;
+    private final Executor refreshExecutor;
+    private final Predicate<V> cacheable;
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final Map<K, CompletableFuture<V>> loading = new ConcurrentHashMap<>();
+
+    private final LongAdder freshHits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder refreshFailures = new LongAdder();
+    private final LongAdder uncached = new LongAdder();
+
+    public SnapshotCache(String name, Duration refreshAfter, Duration expireAfter,
+                         int maxEntries, Executor refreshExecutor, Predicate<V> cacheable) {
+        this.name = name;
+        this.refreshAfterMillis = refreshAfter.toMillis();
+        this.expireAfterMillis = Math.max(expireAfter.toMillis(), refreshAfterMillis);
+        this.maxEntries = maxEntries;
+        this.refreshExecutor = refreshExecutor;
+        this.cacheable = cacheable;
+    }
+
+    public V get(K key, Supplier<V> loader) {
+        long now = System.currentTimeMillis();
+        Entry<V> entry = entries.get(key);
+        if (entry != null && now - entry.loadedAt < expireAfterMillis) {
+            entry.lastAccess = now;
+            if (now - entry.loadedAt < refreshAfterMillis) {
+                freshHits.increment();
+            } else {
+                staleHits.increment();
+                if (entry.refreshing.compareAndSet(false, true)) {
+                    refreshExecutor.execute(() -> refresh(key, entry, loader));
+                }
+            }
+            return entry.value;
+        }
+        misses.increment();
+        return load(key, loader);
+    }
+
+    public Stats stats() {
+        return new Stats(name, entries.size(), freshHits.sum(), staleHits.sum(), misses.sum(),
+                refreshes.sum(), refreshFailures.sum(), uncached.sum());
+    }
+
+    private V load(K key, Supplier<V> loader) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> existing = loading.putIfAbsent(key, mine);
+        if (existing != null) {
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        try {
+            V value = loader.get();
+            store(key, value);
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, mine);
+        }
+    }
+
+    private void refresh(K key, Entry<V> entry, Supplier<V> loader) {
+        try {
+            if (store(key, loader.get())) {
+                refreshes.increment();
+            } else {
+                log.warn("Snapshot refresh for {} {} was partial, keeping the previous snapshot", name, key);
+            }
+        } catch (RuntimeException e) {
+            refreshFailures.increment();
+            log.warn("Snapshot refresh failed for {} {}, keeping the previous snapshot", name, key, e);
+        } finally {
+            entry.refreshing.set(false);
+        }
+    }
+
+    private boolean store(K key, V value) {
+        if (!cacheable.test(value)) {
+            uncached.increment();
+            return false;
+        }
+        entries.put(key, new Entry<>(value, System.currentTimeMillis()));
+        if (entries.size() > maxEntries) {
+            // evict the snapshot nobody has asked for the longest
+            entries.entrySet().stream()
+                    .min(Comparator.comparingLong(e -> e.getValue().lastAccess))
+                    .ifPresent(oldest -> entries.remove(oldest.getKey(), oldest.getValue()));
+        }
+        return true;
+    }
+
+    private static final class Entry<V> {
+        final V value;
+        final long loadedAt;
+        final AtomicBoolean refreshing = new AtomicBoolean();
+        volatile long lastAccess;
+
+        Entry(V value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+            this.lastAccess = loadedAt;
+        }
+    }
+
+    public record Stats(String name, int entries, long freshHits, long staleHits, long misses,
+                        long refreshes, long refreshFailures, long uncached) {}
+}
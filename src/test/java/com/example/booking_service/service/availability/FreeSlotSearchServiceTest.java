@@ -0,0 +1,58 @@
+package com.example.booking_service.service.availability;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FreeSlotSearchServiceTest {
+
+    @Test
+    void runStartsKeepsSlotsWhereEnoughFreeSlotsFollow() {
+        long free = slots(1, 2, 4, 5, 6);
+
+        assertEquals(free, FreeSlotSearchService.runStarts(free, 1));
+        assertEquals(slots(1, 4, 5), FreeSlotSearchService.runStarts(free, 2));
+        assertEquals(slots(4), FreeSlotSearchService.runStarts(free, 3));
+        assertEquals(0L, FreeSlotSearchService.runStarts(free, 4));
+    }
+
+    @Test
+    void runStartsDoesNotRunPastTheEndOfTheDay() {
+        long starts = FreeSlotSearchService.runStarts(FreeSlotSearchService.DAY_MASK, 4);
+
+        assertEquals((1L << (SlotAvailabilityIndex.SLOTS_PER_DAY - 3)) - 1, starts);
+    }
+
+    @Test
+    void openMaskCoversSameDayHours() {
+        assertEquals(range(12, 44), FreeSlotSearchService.openMask(LocalTime.of(6, 0), LocalTime.of(22, 0)));
+        assertEquals(range(44, 48), FreeSlotSearchService.openMask(LocalTime.of(22, 0), LocalTime.MIDNIGHT));
+    }
+
+    @Test
+    void openMaskSplitsHoursPastMidnight() {
+        long mask = FreeSlotSearchService.openMask(LocalTime.of(18, 0), LocalTime.of(2, 0));
+
+        assertEquals(range(0, 4) | range(36, 48), mask);
+    }
+
+    @Test
+    void openMaskIsAllDayWithoutHours() {
+        assertEquals(FreeSlotSearchService.DAY_MASK, FreeSlotSearchService.openMask(null, null));
+        assertEquals(FreeSlotSearchService.DAY_MASK, FreeSlotSearchService.openMask(LocalTime.MIDNIGHT, LocalTime.MIDNIGHT));
+    }
+
+    private static long slots(int... indexes) {
+        long mask = 0L;
+        for (int index : indexes) {
+            mask |= 1L << index;
+        }
+        return mask;
+    }
+
+    private static long range(int from, int to) {
+        return ((1L << to) - 1) & ~((1L << from) - 1);
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.booking_service.service.export;
+
+import com.example.booking_service.entity.User;
+import com.example.booking_service.enums.ExportFormat;
+import com.example.booking_service.enums.OwnerStatus;
+import com.example.booking_service.enums.Role;
+import com.example.booking_service.exception.AppException;
+import com.example.booking_service.exception.ErrorCode;
+import com.example.booking_service.repository.BookingRepository;
+import com.example.booking_service.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BookingExportServiceTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final BookingExportService service = new BookingExportService(mock(BookingRepository.class),
+            userRepository, mock(PlatformTransactionManager.class), new ObjectMapper(), 1, Duration.ofMinutes(30));
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void exportRequestGetsTheExportTimeout() throws Exception {
+        signIn(User.builder().id(1L).email("admin@example.com").role(Role.ADMIN).build());
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAsyncSupported(true);
+        WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(request);
+        asyncManager.setAsyncWebRequest(new StandardServletAsyncWebRequest(request, new MockHttpServletResponse()));
+
+        BookingExportService.Export body = service.export(ExportFormat.CSV, null, null, null, null, null);
+        asyncManager.registerCallableInterceptor(body, body.asyncInterceptor());
+        asyncManager.startCallableProcessing(() -> null);
+
+        assertEquals(Duration.ofMinutes(30).toMillis(), request.getAsyncContext().getTimeout());
+    }
+
+    @Test
+    void unapprovedOwnerCannotExport() {
+        signIn(User.builder().id(2L).email("owner@example.com").role(Role.OWNER).ownerStatus(OwnerStatus.PENDING).build());
+
+        AppException e = assertThrows(AppException.class,
+                () -> service.export(ExportFormat.CSV, null, null, null, 5L, null));
+        assertEquals(ErrorCode.UNAUTHORIZED, e.getErrorCode());
+        // the permit was never taken, so the single slot is still free
+        assertEquals(1, service.stats().availableSlots());
+    }
+
+    private void signIn(User user) {
+        when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user.getEmail(), null, List.of()));
+    }
+
+    @Test
+    void plainTextIsWrittenAsIs() {
+        assertEquals("Sân Cầu Lông", BookingExportService.csvText("Sân Cầu Lông"));
+        assertEquals("", BookingExportService.csvText(""));
+    }
+
+    @Test
+    void delimitersQuotesAndLineBreaksAreQuoted() {
+        assertEquals("\"12 Lê Lợi, Quận 1\"", BookingExportService.csvText("12 Lê Lợi, Quận 1"));
+        assertEquals("\"Sân \"\"VIP\"\"\"", BookingExportService.csvText("Sân \"VIP\""));
+        assertEquals("\"dòng 1\ndòng 2\"", BookingExportService.csvText("dòng 1\ndòng 2"));
+        assertEquals("\"a\r\nb\"", BookingExportService.csvText("a\r\nb"));
+    }
+
+    @Test
+    void leadingFormulaCharactersAreNeutralized() {
+        assertEquals("'=SUM(A1)", BookingExportService.csvText("=SUM(A1)"));
+        assertEquals("'+84901234567", BookingExportService.csvText("+84901234567"));
+        assertEquals("'-1", BookingExportService.csvText("-1"));
+        assertEquals("'@SUM(A1)", BookingExportService.csvText("@SUM(A1)"));
+        assertEquals("'\tx", BookingExportService.csvText("\tx"));
+    }
+
+    @Test
+    void neutralizedFormulaIsStillQuotedWhenNeeded() {
+        assertEquals("\"'=1,2\"", BookingExportService.csvText("=1,2"));
+        assertEquals("\"'=\"\"a\"\"\"", BookingExportService.csvText("=\"a\""));
+        assertEquals("\"'\r\"", BookingExportService.csvText("\r"));
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.booking_service.service.pricing;
+
+import com.example.booking_service.entity.CourtPrice;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PriceTableTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 19);
+
+    @Test
+    void onlyUpcomingVersionsChargeTheEarliestOne() {
+        List<CourtPrice> rows = List.of(
+                price(1L, 200_000.0, TODAY.plusDays(20)),
+                price(2L, 100_000.0, TODAY.plusDays(10)));
+        PriceTable table = PriceTable.compile(rows);
+
+        assertEquals(100_000.0, table.lookup("WEEKDAY", 5L, TODAY));
+        assertEquals(100_000.0, table.lookup("WEEKDAY", 5L, TODAY.plusDays(15)));
+        assertEquals(200_000.0, table.lookup("WEEKDAY", 5L, TODAY.plusDays(20)));
+    }
+
+    @Test
+    void displayedVersionMatchesTheChargedPrice() {
+        List<CourtPrice> rows = List.of(
+                price(1L, 200_000.0, TODAY.plusDays(20)),
+                price(2L, 100_000.0, TODAY.plusDays(10)));
+        PriceTable table = PriceTable.compile(rows);
+
+        for (LocalDate date : List.of(TODAY, TODAY.plusDays(12), TODAY.plusDays(30))) {
+            assertEquals(table.lookup("WEEKDAY", 5L, date), PriceVersions.inForce(rows, date).getPrice());
+        }
+    }
+
+    @Test
+    void latestEffectiveVersionWinsAndSameDayTiesGoToTheNewestRow() {
+        List<CourtPrice> rows = List.of(
+                price(1L, 80_000.0, null),
+                price(2L, 90_000.0, TODAY.minusDays(5)),
+                price(3L, 95_000.0, TODAY.minusDays(5)),
+                price(4L, 120_000.0, TODAY.plusDays(3)));
+        PriceTable table = PriceTable.compile(rows);
+
+        assertEquals(95_000.0, table.lookup("WEEKDAY", 5L, TODAY));
+        assertEquals(3L, PriceVersions.inForce(rows, TODAY).getId());
+        assertEquals(80_000.0, table.lookup("WEEKDAY", 5L, TODAY.minusDays(6)));
+        assertEquals(120_000.0, table.lookup("WEEKDAY", 5L, TODAY.plusDays(3)));
+        assertNull(table.lookup("WEEKEND", 5L, TODAY));
+    }
+
+    private static CourtPrice price(Long id, double price, LocalDate effectiveDate) {
+        return CourtPrice.builder()
+                .id(id)
+                .courtGroupId(1L)
+                .timeSlotId(5L)
+                .dayType("WEEKDAY")
+                .price(price)
+                .effectiveDate(effectiveDate)
+                .build();
+    }
+}
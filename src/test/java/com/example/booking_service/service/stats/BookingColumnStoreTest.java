@@ -0,0 +1,162 @@
+package com.example.booking_service.service.stats;
+
+import com.example.booking_service.entity.Booking;
+import com.example.booking_service.entity.Court;
+import com.example.booking_service.repository.BookingRepository;
+import com.example.booking_service.repository.CourtRepository;
+import com.example.booking_service.repository.projection.BookingColumnRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BookingColumnStoreTest {
+
+    private static final double EPSILON = 1e-6;
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 10);
+
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final CourtRepository courtRepository = mock(CourtRepository.class);
+    private final BookingColumnStore store = new BookingColumnStore(bookingRepository, courtRepository,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)), 0);
+
+    @BeforeEach
+    void courts() {
+        // court n belongs to group n / 10
+        when(courtRepository.findById(anyLong())).thenAnswer(invocation -> {
+            Long courtId = invocation.getArgument(0);
+            return Optional.of(Court.builder().id(courtId).courtGroupId(courtId / 10).build());
+        });
+    }
+
+    @Test
+    void throwsUntilTheFirstLoad() {
+        assertThrows(IllegalStateException.class, () -> store.rangeTotals(null, DAY, DAY));
+    }
+
+    @Test
+    void statusChangesMoveBetweenTrees() {
+        load(row(1, 11, DAY, "CONFIRMED", 100.0), row(2, 21, DAY.plusDays(1), "CONFIRMED", 50.0));
+
+        store.bookingSaved(booking(1, 11, DAY, "CANCELLED", 100.0));
+
+        StatusTotals all = store.rangeTotals(null, DAY, DAY.plusDays(1));
+        assertEquals(1, all.count("CONFIRMED"));
+        assertEquals(50.0, all.revenue("CONFIRMED"), EPSILON);
+        assertEquals(1, all.count("CANCELLED"));
+        assertEquals(100.0, all.revenue("CANCELLED"), EPSILON);
+
+        StatusTotals group1 = store.rangeTotals(List.of(1L), DAY, DAY.plusDays(1));
+        assertEquals(0, group1.count("CONFIRMED"));
+        assertEquals(1, group1.count("CANCELLED"));
+
+        store.bookingRemoved(booking(2, 21, DAY.plusDays(1), "CONFIRMED", 50.0));
+        assertEquals(0, store.rangeTotals(List.of(2L), DAY, DAY.plusDays(1)).totalCount());
+        assertEquals(1, store.rangeTotals(null, DAY, DAY.plusDays(1)).totalCount());
+    }
+
+    @Test
+    void changesDuringReloadAreReplayed() {
+        load(row(1, 11, DAY, "PAYING", 80.0));
+
+        when(bookingRepository.streamColumnRows()).thenAnswer(invocation -> {
+            // the scan already read booking 1 as CONFIRMED and booking 2 as PAYING when these commit
+            store.bookingSaved(booking(1, 11, DAY, "CANCELLED", 80.0));
+            store.bookingSaved(booking(3, 12, DAY, "CONFIRMED", 40.0));
+            store.bookingRemoved(booking(2, 11, DAY, "PAYING", 60.0));
+            return Stream.of(row(1, 11, DAY, "CONFIRMED", 80.0), row(2, 11, DAY, "PAYING", 60.0));
+        });
+        assertEquals(2, store.reload());
+
+        StatusTotals totals = store.rangeTotals(null, DAY, DAY);
+        assertEquals(1, totals.count("CANCELLED"));
+        assertEquals(1, totals.count("CONFIRMED"));
+        assertEquals(40.0, totals.revenue("CONFIRMED"), EPSILON);
+        assertEquals(0, totals.count("PAYING"));
+        assertEquals(totals, store.totals(DAY, DAY));
+        assertFalse(store.stats().loading());
+    }
+
+    @Test
+    void treesMatchScansAfterRandomWrites() {
+        Random random = new Random(7);
+        String[] statuses = {"PAYING", "PENDING", "CONFIRMED", "CANCELLED", "COMPLETED"};
+        List<BookingColumnRow> initial = new ArrayList<>();
+        for (long id = 1; id <= 200; id++) {
+            initial.add(row(id, 10 + random.nextInt(30), DAY.plusDays(random.nextInt(60) - 30),
+                    statuses[random.nextInt(statuses.length)], random.nextInt(20) * 10.0));
+        }
+        load(initial.toArray(BookingColumnRow[]::new));
+
+        for (int i = 0; i < 500; i++) {
+            long id = 1 + random.nextInt(260);
+            Booking booking = booking(id, 10 + random.nextInt(30), DAY.plusDays(random.nextInt(90) - 45),
+                    statuses[random.nextInt(statuses.length)], random.nextInt(20) * 10.0);
+            if (random.nextInt(5) == 0) {
+                store.bookingRemoved(booking);
+            } else {
+                store.bookingSaved(booking);
+            }
+        }
+
+        for (int i = 0; i < 50; i++) {
+            LocalDate from = DAY.plusDays(random.nextInt(100) - 50);
+            LocalDate to = from.plusDays(random.nextInt(40));
+            StatusTotals scanned = store.totals(from, to);
+            StatusTotals fromTrees = store.rangeTotals(null, from, to);
+            assertEquals(scanned.counts(), fromTrees.counts());
+            for (String status : statuses) {
+                assertEquals(scanned.revenue(status), fromTrees.revenue(status), EPSILON);
+            }
+
+            long group = 1 + random.nextInt(3);
+            StatusTotals groupTotals = store.rangeTotals(List.of(group), from, to);
+            StatusTotals otherTotals = store.rangeTotals(
+                    List.of(1L, 2L, 3L).stream().filter(g -> g != group).toList(), from, to);
+            assertEquals(scanned.totalCount(), groupTotals.totalCount() + otherTotals.totalCount());
+        }
+    }
+
+    private void load(BookingColumnRow... rows) {
+        when(bookingRepository.streamColumnRows()).thenAnswer(invocation -> Stream.of(rows));
+        store.reload();
+    }
+
+    private static BookingColumnRow row(long id, long courtId, LocalDate date, String status, double price) {
+        return new Row(id, courtId, courtId / 10, null, date, LocalTime.of(18, 0), status, price);
+    }
+
+    private static Booking booking(long id, long courtId, LocalDate date, String status, double price) {
+        return Booking.builder()
+                .id(id)
+                .courtId(courtId)
+                .bookingDate(date)
+                .startTime(LocalTime.of(18, 0))
+                .endTime(LocalTime.of(19, 0))
+                .status(status)
+                .price(price)
+                .build();
+    }
+
+    private record Row(Long id, Long courtId, Long courtGroupId, Long timeSlotId, LocalDate bookingDate,
+                       LocalTime startTime, String status, Double price) implements BookingColumnRow {
+        public Long getId() { return id; }
+        public Long getCourtId() { return courtId; }
+        public Long getCourtGroupId() { return courtGroupId; }
+        public Long getTimeSlotId() { return timeSlotId; }
+        public LocalDate getBookingDate() { return bookingDate; }
+        public LocalTime getStartTime() { return startTime; }
+        public String getStatus() { return status; }
+        public Double getPrice() { return price; }
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.booking_service.service.stats;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DayFenwickTreeTest {
+
+    private static final double EPSILON = 1e-6;
+
+    @Test
+    void growsTowardsLaterDays() {
+        DayFenwickTree tree = new DayFenwickTree(1000);
+        tree.add(1000, 1, 10.0);
+        tree.add(1010, 1, 5.0);
+        tree.add(1500, 2, 20.0);
+
+        assertEquals(1, tree.count(1000, 1000));
+        assertEquals(2, tree.count(1000, 1499));
+        assertEquals(4, tree.count(1000, 1500));
+        assertEquals(35.0, tree.revenue(900, 2000), EPSILON);
+        assertEquals(0, tree.count(1011, 1499));
+    }
+
+    @Test
+    void growsTowardsEarlierDays() {
+        DayFenwickTree tree = new DayFenwickTree(1000);
+        tree.add(1000, 1, 10.0);
+        tree.add(990, 1, 7.0);
+        tree.add(200, 3, 30.0);
+
+        assertEquals(3, tree.count(200, 200));
+        assertEquals(4, tree.count(200, 990));
+        assertEquals(5, tree.count(0, 5000));
+        assertEquals(47.0, tree.revenue(200, 1000), EPSILON);
+        assertEquals(0, tree.count(201, 989));
+    }
+
+    @Test
+    void emptyAndUncoveredRangesSumToZero() {
+        DayFenwickTree tree = new DayFenwickTree(1000);
+        tree.add(1000, 1, 10.0);
+
+        assertEquals(0, tree.count(1001, 1000));
+        assertEquals(0, tree.count(0, 500));
+        assertEquals(0, tree.count(5000, 6000));
+        assertEquals(0.0, tree.revenue(5000, 6000), EPSILON);
+    }
+
+    @Test
+    void matchesNaiveSumsAcrossRepeatedGrowth() {
+        int span = 4000;
+        long[] counts = new long[span];
+        double[] revenues = new double[span];
+        Random random = new Random(42);
+        DayFenwickTree tree = new DayFenwickTree(span / 2);
+
+        for (int op = 0; op < 5000; op++) {
+            // widen the touched span over time so the tree grows on both sides repeatedly
+            int reach = Math.min(span / 2 - 1, 10 + op);
+            int day = span / 2 + random.nextInt(2 * reach) - reach;
+            int count = random.nextBoolean() ? 1 : -1;
+            double revenue = count * random.nextInt(500) * 1000.0;
+            tree.add(day, count, revenue);
+            counts[day] += count;
+            revenues[day] += revenue;
+
+            if (op % 50 == 0) {
+                int from = random.nextInt(span);
+                int to = from + random.nextInt(span - from);
+                long expectedCount = 0;
+                double expectedRevenue = 0;
+                for (int d = from; d <= to; d++) {
+                    expectedCount += counts[d];
+                    expectedRevenue += revenues[d];
+                }
+                assertEquals(expectedCount, tree.count(from, to));
+                assertEquals(expectedRevenue, tree.revenue(from, to), EPSILON);
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.booking_service.service.stats;
+
+import com.example.booking_service.dto.response.UtilizationHeatmapResponse;
+import com.example.booking_service.entity.Court;
+import com.example.booking_service.entity.CourtGroup;
+import com.example.booking_service.entity.TimeSlot;
+import com.example.booking_service.repository.projection.BookingAggregateRow;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class UtilizationEngineTest {
+
+    // a Monday
+    private static final LocalDate DAY = LocalDate.of(2026, 10, 19);
+
+    private final UtilizationEngine engine = new UtilizationEngine(null, null);
+
+    @Test
+    void overnightGroupIsOpenBeforeCloseAndAfterOpen() {
+        UtilizationEngine.Sweep sweep = overnightSweep();
+        // rows arrive ordered by start, as the streamed query returns them
+        sweep.accept(row(DAY, "01:00", "03:00", "CONFIRMED"));  // clipped at 02:00 close
+        sweep.accept(row(DAY, "10:00", "12:00", "CONFIRMED"));  // closed
+        sweep.accept(row(DAY, "23:00", "00:00", "CONFIRMED"));  // runs to midnight
+
+        UtilizationHeatmap heatmap = sweep.finish();
+        UtilizationHeatmapResponse response = heatmap.toResponse(false);
+
+        // open 00:00-02:00 and 18:00-24:00
+        assertEquals(480L, response.getOpenMinutes());
+        assertEquals(120L, response.getBookedMinutes());
+        assertEquals(60L, hour(response, 1).getBookedMinutes());
+        assertEquals(0L, hour(response, 2).getOpenMinutes());
+        assertEquals(60L, hour(response, 23).getBookedMinutes());
+        assertEquals(0L, hour(response, 10).getBookedMinutes());
+
+        // band 00:00-12:00 has 120 open minutes, band 12:00-24:00 has 360
+        assertEquals(50.0, heatmap.bandUtilization(0));
+        assertEquals(16.7, heatmap.bandUtilization(1));
+    }
+
+    @Test
+    void overlappingBookingsAreMergedAndCancelledOnesSkipped() {
+        UtilizationEngine.Sweep sweep = overnightSweep();
+        sweep.accept(row(DAY, "18:00", "19:30", "CONFIRMED"));
+        sweep.accept(row(DAY, "19:00", "20:00", "PENDING"));
+        sweep.accept(row(DAY, "21:00", "22:00", "CANCELLED"));
+
+        UtilizationHeatmapResponse response = sweep.finish().toResponse(false);
+
+        assertEquals(120L, response.getBookedMinutes());
+        assertEquals(0L, hour(response, 21).getBookedMinutes());
+    }
+
+    private UtilizationEngine.Sweep overnightSweep() {
+        CourtGroup group = CourtGroup.builder()
+                .id(1L)
+                .openTime(LocalTime.of(18, 0))
+                .closeTime(LocalTime.of(2, 0))
+                .build();
+        Court court = Court.builder().id(10L).courtGroupId(1L).name("Sân 1").build();
+        List<TimeSlot> bands = List.of(
+                TimeSlot.builder().id(1L).startTime(LocalTime.MIDNIGHT).endTime(LocalTime.NOON).build(),
+                TimeSlot.builder().id(2L).startTime(LocalTime.NOON).endTime(LocalTime.MIDNIGHT).build());
+        return engine.start(List.of(court), Map.of(1L, group), DAY, DAY, bands);
+    }
+
+    private static UtilizationHeatmapResponse.HourCell hour(UtilizationHeatmapResponse response, int hour) {
+        // Monday is the first day of the week
+        return response.getHours().get(hour);
+    }
+
+    private static BookingAggregateRow row(LocalDate date, String start, String end, String status) {
+        return new Row(10L, date, LocalTime.parse(start), LocalTime.parse(end), status);
+    }
+
+    private record Row(Long courtId, LocalDate bookingDate, LocalTime startTime, LocalTime endTime,
+                       String status) implements BookingAggregateRow {
+
+        @Override
+        public Long getCourtId() {
+            return courtId;
+        }
+
+        @Override
+        public Long getTimeSlotId() {
+            return null;
+        }
+
+        @Override
+        public LocalDate getBookingDate() {
+            return bookingDate;
+        }
+
+        @Override
+        public LocalTime getStartTime() {
+            return startTime;
+        }
+
+        @Override
+        public LocalTime getEndTime() {
+            return endTime;
+        }
+
+        @Override
+        public String getStatus() {
+            return status;
+        }
+
+        @Override
+        public Double getPrice() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.booking_service.util;
+
+import com.example.booking_service.service.bulkhead.Workload;
+import com.example.booking_service.service.bulkhead.WorkloadContext;
+import com.example.booking_service.service.bulkhead.WorkloadExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SectionFanOutTest {
+
+    private final WorkloadExecutor workloadExecutor = new WorkloadExecutor();
+    private final RecordingTransactionManager transactionManager = new RecordingTransactionManager();
+    private final MockEnvironment environment = new MockEnvironment()
+            .withProperty("booking.dashboard-sections.timeouts.slow", "2500");
+    private final SectionFanOut fanOut = new SectionFanOut(workloadExecutor, transactionManager, environment, 200);
+
+    @AfterEach
+    void shutdown() {
+        workloadExecutor.shutdown();
+    }
+
+    @Test
+    void lateSectionFallsBackAndIsInterrupted() throws InterruptedException {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        try (SectionFanOut.Scope scope = fanOut.open("test")) {
+            var fast = scope.fork("fast", () -> 1, 0);
+            var late = scope.fork("late", () -> sleepUntilInterrupted(interrupted), -1);
+
+            scope.join();
+
+            assertEquals(1, fast.get());
+            assertEquals(-1, late.get());
+            assertEquals(List.of("late"), scope.partialSections());
+        }
+        assertTrue(interrupted.await(2, TimeUnit.SECONDS), "late section should be interrupted");
+    }
+
+    @Test
+    void failedSectionFallsBack() {
+        try (SectionFanOut.Scope scope = fanOut.open("test")) {
+            var failed = scope.fork("failed", () -> {
+                throw new IllegalStateException("boom");
+            }, "fallback");
+
+            scope.join();
+
+            assertEquals("fallback", failed.get());
+            assertEquals(List.of("failed"), scope.partialSections());
+        }
+    }
+
+    @Test
+    void closingTheScopeInterruptsSectionsStillRunning() throws InterruptedException {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        try (SectionFanOut.Scope scope = fanOut.open("test")) {
+            scope.fork("slow", () -> sleepUntilInterrupted(interrupted), -1);
+        }
+        assertTrue(interrupted.await(2, TimeUnit.SECONDS), "section should be interrupted on close");
+    }
+
+    @Test
+    void sectionsRunAsDashboardInReadOnlyTransactionsBoundByTheirDeadline() {
+        try (SectionFanOut.Scope scope = fanOut.open("test")) {
+            var workload = scope.fork("slow", WorkloadContext::current, null);
+            scope.fork("fast", () -> 1, 0);
+            scope.join();
+
+            assertEquals(Workload.DASHBOARD, workload.get());
+        }
+        // 2500 ms rounds up to 3 s, the 200 ms default to 1 s
+        assertEquals(Set.of(3, 1), transactionManager.timeouts);
+        assertTrue(transactionManager.readOnly);
+    }
+
+    @Test
+    void readingBeforeJoinFails() {
+        try (SectionFanOut.Scope scope = fanOut.open("test")) {
+            var section = scope.fork("fast", () -> 1, 0);
+
+            assertThrows(IllegalStateException.class, section::get);
+            assertThrows(IllegalStateException.class, scope::partialSections);
+        }
+    }
+
+    private static int sleepUntilInterrupted(CountDownLatch interrupted) {
+        try {
+            Thread.sleep(10_000);
+        } catch (InterruptedException e) {
+            interrupted.countDown();
+        }
+        return 42;
+    }
+
+    /**
+     * Records the timeout of every transaction it opens, without touching a database
+     */
+    private static final class RecordingTransactionManager implements PlatformTransactionManager {
+
+        final Set<Integer> timeouts = ConcurrentHashMap.newKeySet();
+        volatile boolean readOnly = true;
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            timeouts.add(definition.getTimeout());
+            readOnly &= definition.isReadOnly();
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.booking_service.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotCacheTest {
+
+    private static final Duration REFRESH_AFTER = Duration.ofMillis(100);
+    private static final Duration EXPIRE_AFTER = Duration.ofMillis(400);
+
+    // refreshes run inline so their effect is visible to the next get
+    private final SnapshotCache<String, String> cache = new SnapshotCache<>("test",
+            REFRESH_AFTER, EXPIRE_AFTER, 2, Runnable::run, value -> !value.startsWith("partial"));
+
+    @Test
+    void freshSnapshotIsServedWithoutLoading() {
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<String> loader = () -> "v" + loads.incrementAndGet();
+
+        assertEquals("v1", cache.get("k", loader));
+        assertEquals("v1", cache.get("k", loader));
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.stats().freshHits());
+        assertEquals(1, cache.stats().misses());
+    }
+
+    @Test
+    void staleSnapshotIsServedWhileOneRefreshRuns() throws InterruptedException {
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<String> loader = () -> "v" + loads.incrementAndGet();
+        cache.get("k", loader);
+        Thread.sleep(REFRESH_AFTER.toMillis() + 20);
+
+        assertEquals("v1", cache.get("k", loader));
+        assertEquals("v2", cache.get("k", loader));
+        assertEquals(1, cache.stats().refreshes());
+    }
+
+    @Test
+    void expiredSnapshotIsLoadedOnTheCallerThread() throws InterruptedException {
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<String> loader = () -> "v" + loads.incrementAndGet();
+        cache.get("k", loader);
+        Thread.sleep(EXPIRE_AFTER.toMillis() + 20);
+
+        assertEquals("v2", cache.get("k", loader));
+        assertEquals(2, cache.stats().misses());
+    }
+
+    @Test
+    void partialResultIsReturnedButNotCached() {
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<String> loader = () -> loads.incrementAndGet() == 1 ? "partial" : "complete";
+
+        assertEquals("partial", cache.get("k", loader));
+        assertEquals("complete", cache.get("k", loader));
+        assertEquals("complete", cache.get("k", loader));
+        assertEquals(2, loads.get());
+        assertEquals(1, cache.stats().uncached());
+    }
+
+    @Test
+    void partialOrFailedRefreshKeepsThePreviousSnapshot() throws InterruptedException {
+        cache.get("k", () -> "complete");
+        Thread.sleep(REFRESH_AFTER.toMillis() + 20);
+
+        assertEquals("complete", cache.get("k", () -> "partial"));
+        assertEquals("complete", cache.get("k", () -> {
+            throw new IllegalStateException("boom");
+        }));
+        assertEquals("complete", cache.get("k", () -> "unused"));
+        assertEquals(1, cache.stats().refreshFailures());
+        assertEquals(1, cache.stats().uncached());
+    }
+
+    @Test
+    void leastRecentlyUsedSnapshotIsEvictedPastMaxEntries() throws InterruptedException {
+        cache.get("a", () -> "a1");
+        Thread.sleep(5);
+        cache.get("b", () -> "b1");
+        Thread.sleep(5);
+        cache.get("a", () -> "unused");
+        Thread.sleep(5);
+        cache.get("c", () -> "c1");
+
+        assertEquals(2, cache.stats().entries());
+        assertEquals("a1", cache.get("a", () -> "a2"));
+        assertEquals("b2", cache.get("b", () -> "b2"));
+    }
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<String> loader = () -> {
+            loads.incrementAndGet();
+            try {
+                release.await(2, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "v";
+        };
+        ExecutorService threads = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> first = threads.submit(() -> cache.get("k", loader));
+            while (loads.get() == 0) {
+                Thread.onSpinWait();
+            }
+            Future<String> second = threads.submit(() -> cache.get("k", loader));
+            Thread.sleep(50);
+            release.countDown();
+
+            assertEquals("v", first.get(2, TimeUnit.SECONDS));
+            assertEquals("v", second.get(2, TimeUnit.SECONDS));
+            assertEquals(1, loads.get());
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+}